@@ -0,0 +1,231 @@
+package io.github.jiashunx.sdk.sqlite3.core;
+
+import io.github.jiashunx.sdk.sqlite3.core.exception.SQLite3Exception;
+import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3PreparedStatement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * SQLite3 组提交写队列（并发写请求排队至单个写线程，按提交窗口合并为一个事务提交，每个请求独立返回结果或异常）
+ * @author jiashunx
+ */
+public class SQLite3GroupCommitter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SQLite3GroupCommitter.class);
+
+    /**
+     * 写线程空闲时单次等待时长（毫秒），用于及时感知关闭
+     */
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    /**
+     * 提交窗口（毫秒）：写线程获取到首个请求后，最多等待该时长收集后续请求
+     */
+    private final long windowMillis;
+
+    /**
+     * 单次提交最大请求数量
+     */
+    private final int maxBatchSize;
+
+    /**
+     * 批量写请求处理（在同一事务内逐个执行请求并设置各请求结果）
+     */
+    private final Consumer<List<Request>> flusher;
+
+    /**
+     * 写请求队列
+     */
+    private final BlockingQueue<Request> requestQueue = new LinkedBlockingQueue<>();
+
+    /**
+     * 提交与关闭互斥锁（关闭后不再接收新请求，保证已入队请求均被处理）
+     */
+    private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock();
+
+    /**
+     * 写线程
+     */
+    private final Thread writerThread;
+
+    /**
+     * 是否已关闭
+     */
+    private volatile boolean closed;
+
+    /**
+     * 构造方法
+     * @param name 组提交名称（用于写线程命名）
+     * @param windowMillis 提交窗口（毫秒），小于等于零则仅合并已排队请求
+     * @param maxBatchSize 单次提交最大请求数量（需大于零）
+     * @param flusher 批量写请求处理
+     */
+    public SQLite3GroupCommitter(String name, long windowMillis, int maxBatchSize, Consumer<List<Request>> flusher) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException(String.format("invalid group commit max batch size: %d", maxBatchSize));
+        }
+        this.windowMillis = Math.max(0, windowMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.flusher = Objects.requireNonNull(flusher);
+        this.writerThread = new Thread(this::runWriter, "sqlite3-group-commit-" + name);
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * 提交写请求
+     * @param sql 待执行sql语句（占位）
+     * @param consumer sql语句预编译处理（在写线程中执行）
+     * @return 写请求结果（已关闭则返回null，由调用方自行同步执行）
+     */
+    public CompletableFuture<Integer> submit(String sql, Consumer<SQLite3PreparedStatement> consumer) {
+        Request request = new Request(Objects.requireNonNull(sql), consumer);
+        stateLock.readLock().lock();
+        try {
+            if (closed) {
+                return null;
+            }
+            requestQueue.add(request);
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        return request.getFuture();
+    }
+
+    /**
+     * 关闭组提交（不再接收新请求，等待已排队请求处理完成）
+     * @throws InterruptedException 中断异常
+     */
+    public void close() throws InterruptedException {
+        stateLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+        if (Thread.currentThread() != writerThread) {
+            writerThread.join();
+        }
+    }
+
+    /**
+     * 是否已关闭
+     * @return true-已关闭，false-未关闭
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 写线程处理：按提交窗口收集请求并批量提交
+     */
+    private void runWriter() {
+        while (true) {
+            Request first;
+            try {
+                first = requestQueue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException exception) {
+                first = requestQueue.poll();
+            }
+            if (first == null) {
+                if (closed && requestQueue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            List<Request> batch = new ArrayList<>(Math.min(maxBatchSize, 64));
+            batch.add(first);
+            requestQueue.drainTo(batch, maxBatchSize - 1);
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMillis);
+            while (batch.size() < maxBatchSize && !closed) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                Request request;
+                try {
+                    request = requestQueue.poll(remaining, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException exception) {
+                    break;
+                }
+                if (request == null) {
+                    break;
+                }
+                batch.add(request);
+                requestQueue.drainTo(batch, maxBatchSize - batch.size());
+            }
+            flush(batch);
+        }
+    }
+
+    /**
+     * 批量提交写请求（处理异常时未完成的请求均以该异常结束）
+     * @param batch 写请求列表
+     */
+    private void flush(List<Request> batch) {
+        try {
+            flusher.accept(batch);
+        } catch (Throwable throwable) {
+            logger.error("group commit flush failed, batch size: {}", batch.size(), throwable);
+            SQLite3Exception exception = throwable instanceof SQLite3Exception
+                    ? (SQLite3Exception) throwable : new SQLite3Exception("group commit flush failed", throwable);
+            batch.forEach(request -> request.getFuture().completeExceptionally(exception));
+        } finally {
+            // 处理过程遗漏设置结果的请求（不应出现）
+            batch.forEach(request -> {
+                if (!request.getFuture().isDone()) {
+                    request.getFuture().completeExceptionally(new SQLite3Exception("group commit request not completed"));
+                }
+            });
+        }
+    }
+
+    /**
+     * 组提交写请求
+     */
+    public static final class Request {
+
+        /**
+         * 待执行sql语句（占位）
+         */
+        private final String sql;
+
+        /**
+         * sql语句预编译处理
+         */
+        private final Consumer<SQLite3PreparedStatement> consumer;
+
+        /**
+         * 写请求结果（更新条数）
+         */
+        private final CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        private Request(String sql, Consumer<SQLite3PreparedStatement> consumer) {
+            this.sql = sql;
+            this.consumer = consumer;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public Consumer<SQLite3PreparedStatement> getConsumer() {
+            return consumer;
+        }
+
+        public CompletableFuture<Integer> getFuture() {
+            return future;
+        }
+    }
+
+}
@@ -1,11 +1,16 @@
 package io.github.jiashunx.sdk.sqlite3.core;
 
 import io.github.jiashunx.sdk.sqlite3.core.exception.SQLite3Exception;
+import io.github.jiashunx.sdk.sqlite3.core.function.ColumnExtractor;
+import io.github.jiashunx.sdk.sqlite3.core.function.RowCallback;
+import io.github.jiashunx.sdk.sqlite3.core.function.RowMapper;
 import io.github.jiashunx.sdk.sqlite3.core.function.VoidFunc;
 import io.github.jiashunx.sdk.sqlite3.core.pool.SQLite3ConnectionPool;
 import io.github.jiashunx.sdk.sqlite3.core.pool.SQLite3ConnectionPoolManager;
 import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3Connection;
+import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3Cursor;
 import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3PreparedStatement;
+import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3ResultSetMetadata;
 import io.github.jiashunx.sdk.sqlite3.core.util.SQLite3Utils;
 import io.github.jiashunx.sdk.sqlite3.metadata.ColumnMetadata;
 import io.github.jiashunx.sdk.sqlite3.metadata.QueryResult;
@@ -14,14 +19,23 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * 封装SQLite3 JDBC操作模型
@@ -46,6 +60,11 @@ public class SQLite3JdbcTemplate {
      */
     private static final ThreadLocal<SQLite3Connection> TX_CONNECTION = new ThreadLocal<>();
 
+    /**
+     * 上下文-事务内是否变更数据库结构
+     */
+    private static final ThreadLocal<Boolean> TX_SCHEMA_CHANGED = new ThreadLocal<>();
+
     /**
      * 从上下文获取当前是否事务模式
      * @return 上下文-事务标志
@@ -83,6 +102,7 @@ public class SQLite3JdbcTemplate {
         logger.debug("==>>重置上下文事务模式及数据库连接");
         TX_CONNECTION.remove();
         TX_MODE.remove();
+        TX_SCHEMA_CHANGED.remove();
     }
 
     /**
@@ -90,6 +110,16 @@ public class SQLite3JdbcTemplate {
      */
     private SQLite3ConnectionPool connectionPool;
 
+    /**
+     * 组提交写队列（未开启组提交时为null）
+     */
+    private volatile SQLite3GroupCommitter groupCommitter;
+
+    /**
+     * SQLite3引擎版本（首次获取时查询）
+     */
+    private volatile String sqliteVersion;
+
     /**
      * 构造方法
      * @param fileName SQLite3数据库地址
@@ -112,17 +142,61 @@ public class SQLite3JdbcTemplate {
      */
     private SQLite3JdbcTemplate() {}
 
+    /**
+     * 获取SQLite3数据库连接池
+     * @return SQLite3数据库连接池
+     */
+    public SQLite3ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    /**
+     * 获取SQLite3引擎版本（首次获取时查询并缓存）
+     * @return SQLite3引擎版本，如：3.18.0
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public String getSQLiteVersion() throws SQLite3Exception {
+        String version = sqliteVersion;
+        if (version == null) {
+            version = queryForString("SELECT sqlite_version()");
+            sqliteVersion = version;
+        }
+        return version;
+    }
+
+    /**
+     * 判断SQLite3引擎版本是否不低于指定版本
+     * @param version 指定版本，如：3.24.0
+     * @return true-不低于指定版本，false-低于指定版本
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public boolean isSQLiteVersionAtLeast(String version) throws SQLite3Exception {
+        return SQLite3Utils.compareVersion(getSQLiteVersion(), version) >= 0;
+    }
+
     /**
      * 获取SQLite3写连接
      * @return SQLite3写连接
+     * @throws SQLite3Exception 当前线程持有未关闭的游标或Stream（非WAL模式）
      */
-    public SQLite3Connection fetchWriteConnection() {
+    public SQLite3Connection fetchWriteConnection() throws SQLite3Exception {
+        checkWriteAllowed();
         if (isInTxMode()) {
             return fetchTxConnection();
         }
         return connectionPool.fetchWriteConnection();
     }
 
+    /**
+     * 校验当前线程是否允许写处理（非WAL模式下当前线程持有未关闭的游标或Stream时，写锁无法获取，直接失败避免永久阻塞）
+     * @throws SQLite3Exception 当前线程持有未关闭的游标或Stream
+     */
+    private void checkWriteAllowed() throws SQLite3Exception {
+        if (connectionPool.isReadLockHeldByCurrentThread()) {
+            throw new SQLite3Exception("current thread holds an open cursor or stream, can not write until it is closed (use WAL mode to write while reading).");
+        }
+    }
+
     /**
      * 写处理
      * @param consumer 写处理消费
@@ -281,7 +355,7 @@ public class SQLite3JdbcTemplate {
      * @throws SQLite3Exception SQLite3Exception
      */
     public byte queryForByte(String sql, Consumer<SQLite3PreparedStatement> consumer) throws SQLite3Exception {
-        return Byte.parseByte(queryForString(sql, consumer));
+        return (Byte) queryForPrimitive(sql, consumer, ResultSet::getByte);
     }
 
     /**
@@ -302,7 +376,7 @@ public class SQLite3JdbcTemplate {
      * @throws SQLite3Exception SQLite3Exception
      */
     public short queryForShort(String sql, Consumer<SQLite3PreparedStatement> consumer) throws SQLite3Exception {
-        return Short.parseShort(queryForString(sql, consumer));
+        return (Short) queryForPrimitive(sql, consumer, ResultSet::getShort);
     }
 
     /**
@@ -323,7 +397,28 @@ public class SQLite3JdbcTemplate {
      * @throws SQLite3Exception SQLite3Exception
      */
     public int queryForInt(String sql, Consumer<SQLite3PreparedStatement> consumer) throws SQLite3Exception {
-        return Integer.parseInt(queryForString(sql, consumer));
+        return (Integer) queryForPrimitive(sql, consumer, ResultSet::getInt);
+    }
+
+    /**
+     * 查询并返回long值
+     * @param sql 待执行sql语句
+     * @return long值
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public long queryForLong(String sql) throws SQLite3Exception {
+        return queryForLong(sql, s -> {});
+    }
+
+    /**
+     * 查询并返回long值
+     * @param sql 待执行sql语句（占位）
+     * @param consumer sql语句预编译处理
+     * @return long值
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public long queryForLong(String sql, Consumer<SQLite3PreparedStatement> consumer) throws SQLite3Exception {
+        return (Long) queryForPrimitive(sql, consumer, ResultSet::getLong);
     }
 
     /**
@@ -344,7 +439,7 @@ public class SQLite3JdbcTemplate {
      * @throws SQLite3Exception SQLite3Exception
      */
     public float queryForFloat(String sql, Consumer<SQLite3PreparedStatement> consumer) throws SQLite3Exception {
-        return Float.parseFloat(queryForString(sql, consumer));
+        return (Float) queryForPrimitive(sql, consumer, ResultSet::getFloat);
     }
 
     /**
@@ -365,7 +460,7 @@ public class SQLite3JdbcTemplate {
      * @throws SQLite3Exception SQLite3Exception
      */
     public double queryForDouble(String sql, Consumer<SQLite3PreparedStatement> consumer) throws SQLite3Exception {
-        return Double.parseDouble(queryForString(sql, consumer));
+        return (Double) queryForPrimitive(sql, consumer, ResultSet::getDouble);
     }
 
     /**
@@ -386,7 +481,8 @@ public class SQLite3JdbcTemplate {
      * @throws SQLite3Exception SQLite3Exception
      */
     public String queryForString(String sql, Consumer<SQLite3PreparedStatement> consumer) throws SQLite3Exception {
-        return queryForOneValue(sql, consumer).toString();
+        Object value = queryForOneValue(sql, consumer);
+        return value == null ? null : value.toString();
     }
 
     /**
@@ -407,14 +503,93 @@ public class SQLite3JdbcTemplate {
      * @throws SQLite3Exception SQLite3Exception
      */
     public Object queryForOneValue(String sql, Consumer<SQLite3PreparedStatement> consumer) throws SQLite3Exception {
-        Map<String, Object> resultMap = queryForMap(sql, consumer);
-        if (resultMap == null || resultMap.isEmpty()) {
+        return queryForScalar(sql, consumer, null);
+    }
+
+    /**
+     * 查询并返回单个字段值（按指定方式读取列值，适用于聚合函数等无声明类型的结果列）
+     * @param sql 待执行sql语句（占位）
+     * @param consumer sql语句预编译处理
+     * @param extractor 列值读取方式
+     * @return 单个字段值（字段值为NULL则返回null）
+     * @throws NullPointerException extractor为null
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public Object queryForOneValue(String sql, Consumer<SQLite3PreparedStatement> consumer, ColumnExtractor extractor)
+            throws NullPointerException, SQLite3Exception {
+        Objects.requireNonNull(extractor);
+        return queryForScalar(sql, consumer, (resultSet, columnIndex) -> {
+            Object columnValue = extractor.extract(resultSet, columnIndex);
+            return resultSet.wasNull() ? null : columnValue;
+        });
+    }
+
+    /**
+     * 查询并返回单个基本类型字段值（字段值为NULL则抛出异常）
+     * @param sql 待执行sql语句（占位）
+     * @param consumer sql语句预编译处理
+     * @param extractor 列值读取方式
+     * @return 单个字段值
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    private Object queryForPrimitive(String sql, Consumer<SQLite3PreparedStatement> consumer, ColumnExtractor extractor)
+            throws SQLite3Exception {
+        Object value = queryForScalar(sql, consumer, (resultSet, columnIndex) -> {
+            Object columnValue = extractor.extract(resultSet, columnIndex);
+            return resultSet.wasNull() ? null : columnValue;
+        });
+        if (value == null) {
             throw new SQLite3Exception(String.format("query result is null, sql: %s", sql));
         }
-        if (resultMap.size() > 1) {
-            throw new SQLite3Exception(String.format("query result contains more than one column, sql: %s", sql));
-        }
-        return resultMap.get(resultMap.keySet().toArray(new String[0])[0]);
+        return value;
+    }
+
+    /**
+     * 查询并返回单个字段值（直接读取首行首列，不解析列元数据及构造查询结果）
+     * @param sql 待执行sql语句（占位）
+     * @param consumer sql语句预编译处理
+     * @param extractor 列值读取方式（为null则按列类型解析）
+     * @return 单个字段值
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    private Object queryForScalar(String sql, Consumer<SQLite3PreparedStatement> consumer, ColumnExtractor extractor)
+            throws SQLite3Exception {
+        SQLite3Connection sqLite3Connection = fetchReadConnection();
+        return read(sqLite3Connection, connection -> {
+            SQLite3PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                logger.debug("==>>查询并返回单个字段值，执行sql：{}", sql);
+                statement = sqLite3Connection.prepareStatement(sql);
+                if (consumer != null) {
+                    consumer.accept(statement);
+                }
+                resultSet = statement.executeQuery();
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                if (metaData.getColumnCount() > 1) {
+                    throw new SQLite3Exception(String.format("query result contains more than one column, sql: %s", sql));
+                }
+                if (!resultSet.next()) {
+                    throw new SQLite3Exception(String.format("query result is null, sql: %s", sql));
+                }
+                ColumnExtractor $extractor = extractor;
+                if ($extractor == null) {
+                    $extractor = SQLite3Utils.getColumnExtractor(metaData.getColumnTypeName(1));
+                }
+                Object value = $extractor.extract(resultSet, 1);
+                if (resultSet.next()) {
+                    throw new SQLite3Exception(String.format("query result contains more than one row, sql: %s", sql));
+                }
+                return value;
+            } catch (SQLite3Exception exception) {
+                throw exception;
+            } catch (Throwable exception) {
+                throw new SQLite3Exception(String.format("execute query failed, sql: %s", sql), exception);
+            } finally {
+                SQLite3Utils.close(resultSet);
+                SQLite3Utils.close(statement);
+            }
+        });
     }
 
     /**
@@ -467,6 +642,45 @@ public class SQLite3JdbcTemplate {
         return queryForResult(sql, consumer).getRetMapList();
     }
 
+    /**
+     * 查询并逐行映射为对象列表（单次遍历结果集，不缓存中间查询结果）
+     * @param sql 待执行sql语句（占位）
+     * @param consumer sql语句预编译处理
+     * @param mapperFactory 行映射创建（入参为查询结果元数据，查询结果元数据按sql缓存时为同一实例，可据此复用映射计划）
+     * @param <R> 映射对象类型
+     * @return 映射对象列表
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public <R> List<R> queryForMappedList(String sql, Consumer<SQLite3PreparedStatement> consumer
+            , Function<SQLite3ResultSetMetadata, RowMapper<R>> mapperFactory) throws SQLite3Exception {
+        Objects.requireNonNull(mapperFactory);
+        SQLite3Connection sqLite3Connection = fetchReadConnection();
+        return read(sqLite3Connection, connection -> {
+            SQLite3PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                logger.debug("==>>查询并逐行映射为对象列表，执行sql：{}", sql);
+                statement = sqLite3Connection.prepareStatement(sql);
+                if (consumer != null) {
+                    consumer.accept(statement);
+                }
+                resultSet = statement.executeQuery();
+                RowMapper<R> rowMapper = mapperFactory.apply(fetchResultSetMetadata(sql, resultSet));
+                List<R> retList = new ArrayList<>();
+                int rowNum = 0;
+                while (resultSet.next()) {
+                    retList.add(rowMapper.mapRow(resultSet, rowNum++));
+                }
+                return retList;
+            } catch (Throwable exception) {
+                throw new SQLite3Exception(String.format("execute query failed, sql: %s", sql), exception);
+            } finally {
+                SQLite3Utils.close(resultSet);
+                SQLite3Utils.close(statement);
+            }
+        });
+    }
+
     /**
      * 查询并返回查询结果
      * @param sql 待执行sql语句
@@ -485,17 +699,18 @@ public class SQLite3JdbcTemplate {
      * @throws SQLite3Exception SQLite3Exception
      */
     public QueryResult queryForResult(String sql, Consumer<SQLite3PreparedStatement> consumer) throws SQLite3Exception {
-        return read(connection -> {
+        SQLite3Connection sqLite3Connection = fetchReadConnection();
+        return read(sqLite3Connection, connection -> {
             SQLite3PreparedStatement statement = null;
             ResultSet resultSet = null;
             try {
                 logger.debug("==>>查询并返回查询结果，执行sql：{}", sql);
-                statement = new SQLite3PreparedStatement(connection.prepareStatement(sql));
+                statement = sqLite3Connection.prepareStatement(sql);
                 if (consumer != null) {
                     consumer.accept(statement);
                 }
                 resultSet = statement.executeQuery();
-                return SQLite3Utils.parseQueryResult(resultSet);
+                return SQLite3Utils.parseQueryResult(resultSet, fetchResultSetMetadata(sql, resultSet));
             } catch (Throwable exception) {
                 throw new SQLite3Exception(String.format("execute query failed, sql: %s", sql), exception);
             } finally {
@@ -505,6 +720,230 @@ public class SQLite3JdbcTemplate {
         });
     }
 
+    /**
+     * 查询并逐行处理查询结果（不缓存全部查询结果，内存占用与结果行数无关）
+     * @param sql 待执行sql语句
+     * @param callback 逐行处理
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public void query(String sql, RowCallback callback) throws SQLite3Exception {
+        query(sql, s -> {}, callback);
+    }
+
+    /**
+     * 查询并逐行处理查询结果（不缓存全部查询结果，内存占用与结果行数无关）
+     * @param sql 待执行sql语句（占位）
+     * @param consumer sql语句预编译处理
+     * @param callback 逐行处理
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public void query(String sql, Consumer<SQLite3PreparedStatement> consumer, RowCallback callback) throws SQLite3Exception {
+        Objects.requireNonNull(callback);
+        SQLite3Connection sqLite3Connection = fetchReadConnection();
+        read(sqLite3Connection, connection -> {
+            SQLite3PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                logger.debug("==>>查询并逐行处理查询结果，执行sql：{}", sql);
+                statement = sqLite3Connection.prepareStatement(sql);
+                if (consumer != null) {
+                    consumer.accept(statement);
+                }
+                resultSet = statement.executeQuery();
+                while (resultSet.next()) {
+                    callback.processRow(resultSet);
+                }
+            } catch (Throwable exception) {
+                throw new SQLite3Exception(String.format("execute query failed, sql: %s", sql), exception);
+            } finally {
+                SQLite3Utils.close(resultSet);
+                SQLite3Utils.close(statement);
+            }
+        });
+    }
+
+    /**
+     * 查询并返回游标（游标遍历期间持有读连接，遍历结束或关闭游标时释放；须在当前线程遍历及关闭；
+     * 非WAL模式下游标关闭前当前线程不可执行写操作，否则抛出SQLite3Exception）
+     * @param sql 待执行sql语句
+     * @param rowMapper 行映射
+     * @param <R> 行映射对象类型
+     * @return 查询游标
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public <R> SQLite3Cursor<R> queryForCursor(String sql, RowMapper<R> rowMapper) throws SQLite3Exception {
+        return queryForCursor(sql, s -> {}, rowMapper);
+    }
+
+    /**
+     * 查询并返回游标（游标遍历期间持有读连接，遍历结束或关闭游标时释放；须在当前线程遍历及关闭；
+     * 非WAL模式下游标关闭前当前线程不可执行写操作，否则抛出SQLite3Exception）
+     * @param sql 待执行sql语句（占位）
+     * @param consumer sql语句预编译处理
+     * @param rowMapper 行映射
+     * @param <R> 行映射对象类型
+     * @return 查询游标
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public <R> SQLite3Cursor<R> queryForCursor(String sql, Consumer<SQLite3PreparedStatement> consumer, RowMapper<R> rowMapper)
+            throws SQLite3Exception {
+        Objects.requireNonNull(rowMapper);
+        return openCursor(sql, consumer, rowMapper, null);
+    }
+
+    /**
+     * 查询并返回游标（行映射按查询结果元数据创建；游标遍历期间持有读连接，遍历结束或关闭游标时释放；须在当前线程遍历及关闭；
+     * 非WAL模式下游标关闭前当前线程不可执行写操作，否则抛出SQLite3Exception）
+     * @param sql 待执行sql语句（占位）
+     * @param consumer sql语句预编译处理
+     * @param mapperFactory 行映射创建（入参为查询结果元数据，查询结果元数据按sql缓存时为同一实例，可据此复用映射计划）
+     * @param <R> 行映射对象类型
+     * @return 查询游标
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public <R> SQLite3Cursor<R> queryForMappedCursor(String sql, Consumer<SQLite3PreparedStatement> consumer
+            , Function<SQLite3ResultSetMetadata, RowMapper<R>> mapperFactory) throws SQLite3Exception {
+        Objects.requireNonNull(mapperFactory);
+        return openCursor(sql, consumer, null, mapperFactory);
+    }
+
+    /**
+     * 执行查询并创建游标
+     * @param sql 待执行sql语句（占位）
+     * @param consumer sql语句预编译处理
+     * @param rowMapper 行映射（为null时由mapperFactory创建）
+     * @param mapperFactory 行映射创建
+     * @param <R> 行映射对象类型
+     * @return 查询游标
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    private <R> SQLite3Cursor<R> openCursor(String sql, Consumer<SQLite3PreparedStatement> consumer, RowMapper<R> rowMapper
+            , Function<SQLite3ResultSetMetadata, RowMapper<R>> mapperFactory) throws SQLite3Exception {
+        boolean isInTxMode = isInTxMode();
+        SQLite3Connection sqLite3Connection = fetchReadConnection();
+        try {
+            sqLite3Connection.openRead();
+        } catch (Throwable exception) {
+            if (!isInTxMode) {
+                sqLite3Connection.release();
+            }
+            throw exception;
+        }
+        SQLite3PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            logger.debug("==>>查询并返回游标，执行sql：{}", sql);
+            statement = sqLite3Connection.prepareStatement(sql);
+            if (consumer != null) {
+                consumer.accept(statement);
+            }
+            resultSet = statement.executeQuery();
+            RowMapper<R> $rowMapper = rowMapper;
+            if ($rowMapper == null) {
+                $rowMapper = mapperFactory.apply(fetchResultSetMetadata(sql, resultSet));
+            }
+            SQLite3PreparedStatement $statement = statement;
+            ResultSet $resultSet = resultSet;
+            return new SQLite3Cursor<>(resultSet, $rowMapper, () -> closeCursor(sqLite3Connection, $statement, $resultSet, isInTxMode));
+        } catch (Throwable exception) {
+            closeCursor(sqLite3Connection, statement, resultSet, isInTxMode);
+            throw new SQLite3Exception(String.format("execute query failed, sql: %s", sql), exception);
+        }
+    }
+
+    /**
+     * 查询并返回Stream（基于游标实现，须在当前线程消费并关闭Stream，建议使用try-with-resources；
+     * 非WAL模式下Stream关闭前当前线程不可执行写操作，否则抛出SQLite3Exception）
+     * @param sql 待执行sql语句
+     * @param rowMapper 行映射
+     * @param <R> 行映射对象类型
+     * @return 查询结果Stream
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public <R> Stream<R> queryForStream(String sql, RowMapper<R> rowMapper) throws SQLite3Exception {
+        return queryForStream(sql, s -> {}, rowMapper);
+    }
+
+    /**
+     * 查询并返回Stream（基于游标实现，须在当前线程消费并关闭Stream，建议使用try-with-resources；
+     * 非WAL模式下Stream关闭前当前线程不可执行写操作，否则抛出SQLite3Exception）
+     * @param sql 待执行sql语句（占位）
+     * @param consumer sql语句预编译处理
+     * @param rowMapper 行映射
+     * @param <R> 行映射对象类型
+     * @return 查询结果Stream
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public <R> Stream<R> queryForStream(String sql, Consumer<SQLite3PreparedStatement> consumer, RowMapper<R> rowMapper)
+            throws SQLite3Exception {
+        SQLite3Cursor<R> cursor = queryForCursor(sql, consumer, rowMapper);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+                .onClose(cursor::close);
+    }
+
+    /**
+     * 查询并返回Stream（行映射按查询结果元数据创建；基于游标实现，须在当前线程消费并关闭Stream，建议使用try-with-resources；
+     * 非WAL模式下Stream关闭前当前线程不可执行写操作，否则抛出SQLite3Exception）
+     * @param sql 待执行sql语句（占位）
+     * @param consumer sql语句预编译处理
+     * @param mapperFactory 行映射创建（入参为查询结果元数据，查询结果元数据按sql缓存时为同一实例，可据此复用映射计划）
+     * @param <R> 行映射对象类型
+     * @return 查询结果Stream
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public <R> Stream<R> queryForMappedStream(String sql, Consumer<SQLite3PreparedStatement> consumer
+            , Function<SQLite3ResultSetMetadata, RowMapper<R>> mapperFactory) throws SQLite3Exception {
+        SQLite3Cursor<R> cursor = queryForMappedCursor(sql, consumer, mapperFactory);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+                .onClose(cursor::close);
+    }
+
+    /**
+     * 关闭游标持有资源（ResultSet、预编译语句），结束读处理并释放连接（事务模式下不释放）
+     * @param sqLite3Connection SQLite3读连接
+     * @param statement 预编译语句
+     * @param resultSet 查询结果ResultSet对象
+     * @param isInTxMode 游标创建时是否事务模式
+     */
+    private static void closeCursor(SQLite3Connection sqLite3Connection, SQLite3PreparedStatement statement
+            , ResultSet resultSet, boolean isInTxMode) {
+        try {
+            SQLite3Utils.close(resultSet);
+            SQLite3Utils.close(statement);
+        } finally {
+            try {
+                sqLite3Connection.closeRead();
+            } finally {
+                if (!isInTxMode) {
+                    sqLite3Connection.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取查询结果元数据（按sql语句缓存，连接池数据库结构版本变更或结果列名称、列类型变化后重新解析，不额外查询PRAGMA schema_version）
+     * @param sql sql语句
+     * @param resultSet 查询结果ResultSet对象
+     * @return 查询结果元数据
+     * @throws SQLException SQLException
+     */
+    private SQLite3ResultSetMetadata fetchResultSetMetadata(String sql, ResultSet resultSet)
+            throws SQLException {
+        if (connectionPool.getMetadataCacheSize() <= 0) {
+            return SQLite3Utils.parseResultSetMetadata(resultSet, 0L);
+        }
+        // 先读取结构版本再解析，解析期间结构变更时缓存的元数据在下次获取时淘汰
+        long schemaGeneration = connectionPool.getSchemaGeneration();
+        SQLite3ResultSetMetadata metadata = connectionPool.getResultSetMetadata(sql, schemaGeneration);
+        // 其他连接或进程变更数据库结构时结构版本不变，逐列比较列名称与列类型，不一致时重新解析
+        if (metadata == null || !metadata.matches(resultSet.getMetaData())) {
+            metadata = SQLite3Utils.parseResultSetMetadata(resultSet, schemaGeneration);
+            connectionPool.putResultSetMetadata(sql, metadata);
+        }
+        return metadata;
+    }
+
     /**
      * 判断数据表是否存在
      * @param tableName 表名称
@@ -771,13 +1210,14 @@ public class SQLite3JdbcTemplate {
      */
     public Map<String, ColumnMetadata> queryTableColumnMetadata(String tableName) throws SQLite3Exception {
         String sql = String.format("SELECT * FROM %s LIMIT 0", tableName);
-        return read(connection -> {
+        SQLite3Connection sqLite3Connection = fetchReadConnection();
+        return read(sqLite3Connection, connection -> {
             SQLite3PreparedStatement statement = null;
             ResultSet resultSet = null;
             try {
-                statement = new SQLite3PreparedStatement(connection.prepareStatement(sql));
+                statement = sqLite3Connection.prepareStatement(sql);
                 resultSet = statement.executeQuery();
-                return SQLite3Utils.parseColumnMetadata(resultSet);
+                return fetchResultSetMetadata(sql, resultSet).getColumnMetadataMap();
             } catch (Throwable exception) {
                 throw new SQLite3Exception(String.format("query table column message failed, sql: %s", sql), exception);
             } finally {
@@ -787,6 +1227,24 @@ public class SQLite3JdbcTemplate {
         });
     }
 
+    /**
+     * 标记数据库结构已变更（递增数据库结构版本，使各连接缓存的预编译语句失效）
+     */
+    private void markSchemaChanged() {
+        connectionPool.incrementSchemaGeneration();
+        if (isInTxMode()) {
+            TX_SCHEMA_CHANGED.set(true);
+        }
+    }
+
+    /**
+     * 当前线程是否处于事务中（doTransaction执行期间）
+     * @return true-处于事务中，false-未处于事务中
+     */
+    public boolean isInTransaction() {
+        return isInTxMode();
+    }
+
     /**
      * 批量事务处理（可重入）（嵌套事务，例如执行多个insert，需使用当前doTransaction进行包裹处理）
      * @param supplier 返回值supplier
@@ -828,6 +1286,10 @@ public class SQLite3JdbcTemplate {
                 throw new SQLite3Exception("doTransaction failed(transaction-mode => ignore rollback)", exception);
             } finally {
                 if (!isInTxMode) {
+                    if (Boolean.TRUE.equals(TX_SCHEMA_CHANGED.get())) {
+                        // 事务结束后再次递增数据库结构版本，避免其他连接在事务提交前缓存旧结构的预编译语句
+                        connectionPool.incrementSchemaGeneration();
+                    }
                     resetTxMode();
                 }
             }
@@ -865,31 +1327,37 @@ public class SQLite3JdbcTemplate {
      */
     public int[] batchUpdate(String[] sqlArr, BiConsumer<Integer, SQLite3PreparedStatement> consumer) throws SQLite3Exception {
         logger.debug("==>>批量更新处理（多个不同sql）");
-        return doTransaction(() -> write(connection -> {
-            int[] effectedRowArr = new int[sqlArr.length];
-            SQLite3PreparedStatement statement = null;
-            try {
-                for (int index = 0; index < sqlArr.length; index++) {
-                    String sql = sqlArr[index];
-                    try {
-                        logger.debug("==>>批量更新处理（多个不同sql），执行sql：{}", sql);
-                        statement = new SQLite3PreparedStatement(connection.prepareStatement(sql));
-                        if (consumer != null) {
-                            consumer.accept(index, statement);
+        return doTransaction(() -> {
+            SQLite3Connection sqLite3Connection = fetchWriteConnection();
+            return write(sqLite3Connection, connection -> {
+                int[] effectedRowArr = new int[sqlArr.length];
+                SQLite3PreparedStatement statement = null;
+                try {
+                    for (int index = 0; index < sqlArr.length; index++) {
+                        String sql = sqlArr[index];
+                        try {
+                            logger.debug("==>>批量更新处理（多个不同sql），执行sql：{}", sql);
+                            statement = sqLite3Connection.prepareStatement(sql);
+                            if (consumer != null) {
+                                consumer.accept(index, statement);
+                            }
+                            effectedRowArr[index] = statement.executeUpdate();
+                            if (SQLite3Utils.isSchemaChangeSQL(sql)) {
+                                markSchemaChanged();
+                            }
+                        } catch (Throwable exception) {
+                            throw new SQLite3Exception(String.format("execute batch update failed, single sql: %s", sql), exception);
+                        } finally {
+                            SQLite3Utils.close(statement);
+                            statement = null;
                         }
-                        effectedRowArr[index] = statement.executeUpdate();
-                    } catch (Throwable exception) {
-                        throw new SQLite3Exception(String.format("execute batch update failed, single sql: %s", sql), exception);
-                    } finally {
-                        SQLite3Utils.close(statement);
-                        statement = null;
                     }
+                    return effectedRowArr;
+                } finally {
+                    SQLite3Utils.close(statement);
                 }
-                return effectedRowArr;
-            } finally {
-                SQLite3Utils.close(statement);
-            }
-        }));
+            });
+        });
     }
 
     /**
@@ -902,26 +1370,136 @@ public class SQLite3JdbcTemplate {
      */
     public int batchUpdate(String sql, int rowCount, BiConsumer<Integer, SQLite3PreparedStatement> consumer) throws SQLite3Exception {
         logger.debug("==>>批量更新处理（一组相同sql）");
-        return doTransaction(() -> write(connection -> {
-            int effectedRowCount = 0;
-            SQLite3PreparedStatement statement = null;
-            try {
-                logger.debug("==>>批量更新处理（一组相同sql），执行sql：{}", sql);
-                statement = new SQLite3PreparedStatement(connection.prepareStatement(sql));
-                for (int i = 0; i < rowCount; i++) {
-                    if (consumer != null) {
-                        consumer.accept(i, statement);
+        return doTransaction(() -> {
+            SQLite3Connection sqLite3Connection = fetchWriteConnection();
+            return write(sqLite3Connection, connection -> {
+                int effectedRowCount = 0;
+                SQLite3PreparedStatement statement = null;
+                try {
+                    logger.debug("==>>批量更新处理（一组相同sql），执行sql：{}", sql);
+                    statement = sqLite3Connection.prepareStatement(sql);
+                    for (int i = 0; i < rowCount; i++) {
+                        if (consumer != null) {
+                            consumer.accept(i, statement);
+                        }
+                        effectedRowCount += statement.executeUpdate();
+                        statement.clearParameters();
+                    }
+                    if (SQLite3Utils.isSchemaChangeSQL(sql)) {
+                        markSchemaChanged();
                     }
-                    effectedRowCount += statement.executeUpdate();
-                    statement.clearParameters();
+                    return effectedRowCount;
+                } catch (Throwable exception) {
+                    throw new SQLite3Exception(String.format("execute batch update failed, sql: %s", sql), exception);
+                } finally {
+                    SQLite3Utils.close(statement);
                 }
-                return effectedRowCount;
-            } catch (Throwable exception) {
-                throw new SQLite3Exception(String.format("execute batch update failed, sql: %s", sql), exception);
-            } finally {
-                SQLite3Utils.close(statement);
+            });
+        });
+    }
+
+    /**
+     * 开启组提交（并发写请求排队至单个写线程，按提交窗口合并为一个事务提交，每个写请求使用独立保存点，失败时仅回滚该请求）
+     * <p>仅作用于不在事务中的executeUpdate及submitUpdate，sql语句预编译处理将在写线程中执行。</p>
+     * @param windowMillis 提交窗口（毫秒）：获取到首个写请求后最多等待该时长收集后续请求
+     * @param maxBatchSize 单次提交最大写请求数量
+     * @throws SQLite3Exception 已开启组提交
+     */
+    public synchronized void enableGroupCommit(long windowMillis, int maxBatchSize) throws SQLite3Exception {
+        if (groupCommitter != null) {
+            throw new SQLite3Exception("group commit already enabled.");
+        }
+        groupCommitter = new SQLite3GroupCommitter(connectionPool.getPoolName(), windowMillis, maxBatchSize, this::flushGroupCommit);
+    }
+
+    /**
+     * 关闭组提交（等待已排队写请求处理完成）
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public synchronized void disableGroupCommit() throws SQLite3Exception {
+        SQLite3GroupCommitter committer = groupCommitter;
+        if (committer == null) {
+            return;
+        }
+        groupCommitter = null;
+        try {
+            committer.close();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new SQLite3Exception("disable group commit interrupted", exception);
+        }
+    }
+
+    /**
+     * 是否已开启组提交
+     * @return true-已开启，false-未开启
+     */
+    public boolean isGroupCommitEnabled() {
+        return groupCommitter != null;
+    }
+
+    /**
+     * 组提交批量处理（同一事务内逐个执行写请求，事务提交后再设置各请求结果）
+     * @param requestList 写请求列表
+     * @throws SQLite3Exception 事务提交失败
+     */
+    private void flushGroupCommit(List<SQLite3GroupCommitter.Request> requestList) throws SQLite3Exception {
+        int size = requestList.size();
+        int[] effectedRowArr = new int[size];
+        SQLite3Exception[] exceptionArr = new SQLite3Exception[size];
+        SQLite3Exception commitException = null;
+        try {
+            doTransaction(() -> {
+                SQLite3Connection sqLite3Connection = fetchWriteConnection();
+                write(sqLite3Connection, connection -> {
+                    for (int index = 0; index < size; index++) {
+                        SQLite3GroupCommitter.Request request = requestList.get(index);
+                        String sql = request.getSql();
+                        Savepoint savepoint = null;
+                        SQLite3PreparedStatement statement = null;
+                        try {
+                            logger.debug("==>>组提交更新处理，执行sql：{}", sql);
+                            savepoint = connection.setSavepoint();
+                            statement = sqLite3Connection.prepareStatement(sql);
+                            if (request.getConsumer() != null) {
+                                request.getConsumer().accept(statement);
+                            }
+                            effectedRowArr[index] = statement.executeUpdate();
+                            if (SQLite3Utils.isSchemaChangeSQL(sql)) {
+                                markSchemaChanged();
+                            }
+                            connection.releaseSavepoint(savepoint);
+                        } catch (Throwable exception) {
+                            exceptionArr[index] = new SQLite3Exception(String.format("execute update failed, sql: %s", sql), exception);
+                            if (savepoint == null) {
+                                throw exceptionArr[index];
+                            }
+                            // 仅回滚当前写请求，回滚失败则整批失败
+                            try {
+                                connection.rollback(savepoint);
+                                connection.releaseSavepoint(savepoint);
+                            } catch (SQLException exception1) {
+                                throw new SQLite3Exception("group commit rollback to savepoint failed", exception1);
+                            }
+                        } finally {
+                            SQLite3Utils.close(statement);
+                        }
+                    }
+                });
+            });
+        } catch (SQLite3Exception exception) {
+            commitException = exception;
+        }
+        for (int index = 0; index < size; index++) {
+            CompletableFuture<Integer> future = requestList.get(index).getFuture();
+            if (exceptionArr[index] != null) {
+                future.completeExceptionally(exceptionArr[index]);
+            } else if (commitException != null) {
+                future.completeExceptionally(commitException);
+            } else {
+                future.complete(effectedRowArr[index]);
             }
-        }));
+        }
     }
 
     /**
@@ -935,29 +1513,96 @@ public class SQLite3JdbcTemplate {
     }
 
     /**
-     * 单笔更新处理
+     * 单笔更新处理（已开启组提交且当前不在事务中时，提交至组提交写队列并等待结果）
      * @param sql 待执行sql语句（占位）
      * @param consumer sql语句预编译处理
      * @return 更新返回int值
      * @throws SQLite3Exception SQLite3Exception
      */
     public int executeUpdate(String sql, Consumer<SQLite3PreparedStatement> consumer) throws SQLite3Exception {
-        logger.debug("==>>单笔更新处理");
-        return doTransaction(() -> write(connection -> {
-            SQLite3PreparedStatement statement = null;
-            try {
-                logger.debug("==>>单笔更新处理，执行sql：{}", sql);
-                statement = new SQLite3PreparedStatement(connection.prepareStatement(sql));
-                if (consumer != null) {
-                    consumer.accept(statement);
+        SQLite3GroupCommitter committer = groupCommitter;
+        if (committer != null && !isInTxMode()) {
+            // 写线程等待当前线程释放读锁，当前线程等待写线程结果，需提前失败
+            checkWriteAllowed();
+            CompletableFuture<Integer> future = committer.submit(sql, consumer);
+            if (future != null) {
+                try {
+                    return future.join();
+                } catch (CompletionException exception) {
+                    Throwable cause = exception.getCause();
+                    if (cause instanceof SQLite3Exception) {
+                        throw (SQLite3Exception) cause;
+                    }
+                    throw new SQLite3Exception(String.format("execute update failed, sql: %s", sql), cause);
                 }
-                return statement.executeUpdate();
-            } catch (Throwable exception) {
-                throw new SQLite3Exception(String.format("execute update failed, sql: %s", sql), exception);
-            } finally {
-                SQLite3Utils.close(statement);
             }
-        }));
+        }
+        return doExecuteUpdate(sql, consumer);
+    }
+
+    /**
+     * 单笔更新处理（异步）（已开启组提交且当前不在事务中时提交至组提交写队列，否则同步执行并返回已完成结果）
+     * @param sql 待执行sql语句
+     * @return 更新结果（更新返回int值或执行异常）
+     */
+    public CompletableFuture<Integer> submitUpdate(String sql) {
+        return submitUpdate(sql, s -> {});
+    }
+
+    /**
+     * 单笔更新处理（异步）（已开启组提交且当前不在事务中时提交至组提交写队列，否则同步执行并返回已完成结果）
+     * @param sql 待执行sql语句（占位）
+     * @param consumer sql语句预编译处理（组提交时在写线程中执行）
+     * @return 更新结果（更新返回int值或执行异常）
+     */
+    public CompletableFuture<Integer> submitUpdate(String sql, Consumer<SQLite3PreparedStatement> consumer) {
+        SQLite3GroupCommitter committer = groupCommitter;
+        if (committer != null && !isInTxMode()) {
+            CompletableFuture<Integer> future = committer.submit(sql, consumer);
+            if (future != null) {
+                return future;
+            }
+        }
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+        try {
+            future.complete(doExecuteUpdate(sql, consumer));
+        } catch (Throwable throwable) {
+            future.completeExceptionally(throwable);
+        }
+        return future;
+    }
+
+    /**
+     * 单笔更新处理（独立事务）
+     * @param sql 待执行sql语句（占位）
+     * @param consumer sql语句预编译处理
+     * @return 更新返回int值
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    private int doExecuteUpdate(String sql, Consumer<SQLite3PreparedStatement> consumer) throws SQLite3Exception {
+        logger.debug("==>>单笔更新处理");
+        return doTransaction(() -> {
+            SQLite3Connection sqLite3Connection = fetchWriteConnection();
+            return write(sqLite3Connection, connection -> {
+                SQLite3PreparedStatement statement = null;
+                try {
+                    logger.debug("==>>单笔更新处理，执行sql：{}", sql);
+                    statement = sqLite3Connection.prepareStatement(sql);
+                    if (consumer != null) {
+                        consumer.accept(statement);
+                    }
+                    int effectedRowCount = statement.executeUpdate();
+                    if (SQLite3Utils.isSchemaChangeSQL(sql)) {
+                        markSchemaChanged();
+                    }
+                    return effectedRowCount;
+                } catch (Throwable exception) {
+                    throw new SQLite3Exception(String.format("execute update failed, sql: %s", sql), exception);
+                } finally {
+                    SQLite3Utils.close(statement);
+                }
+            });
+        });
     }
 
 }
@@ -0,0 +1,21 @@
+package io.github.jiashunx.sdk.sqlite3.core.function;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 查询结果列值读取（按列下标读取，每列解析一次后复用于全部行）
+ * @author jiashunx
+ */
+public interface ColumnExtractor {
+
+    /**
+     * 读取当前行指定列的值
+     * @param resultSet 查询结果ResultSet对象（已定位至当前行）
+     * @param columnIndex 列下标（从1开始）
+     * @return 列值
+     * @throws SQLException SQLException
+     */
+    Object extract(ResultSet resultSet, int columnIndex) throws SQLException;
+
+}
@@ -0,0 +1,23 @@
+package io.github.jiashunx.sdk.sqlite3.core.function;
+
+import io.github.jiashunx.sdk.sqlite3.core.exception.SQLite3SqlException;
+import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3PreparedStatement;
+import io.github.jiashunx.sdk.sqlite3.metadata.ColumnMetadata;
+
+/**
+ * 预处理参数赋值（按模型字段类型解析一次后复用于全部行）
+ * @author jiashunx
+ */
+public interface ParameterBinder {
+
+    /**
+     * 按字段类型为指定参数赋值（值为null时按对应SQL类型赋null）
+     * @param statement SQLite3PreparedStatement
+     * @param parameterIndex 参数序号（从1开始）
+     * @param value 参数值
+     * @param columnMetadata 数据表字段定义信息（可为null）
+     * @throws SQLite3SqlException SQLite3SqlException
+     */
+    void bind(SQLite3PreparedStatement statement, int parameterIndex, Object value, ColumnMetadata columnMetadata) throws SQLite3SqlException;
+
+}
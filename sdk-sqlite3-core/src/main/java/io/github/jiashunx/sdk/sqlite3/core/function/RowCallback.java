@@ -0,0 +1,19 @@
+package io.github.jiashunx.sdk.sqlite3.core.function;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 查询结果逐行处理
+ * @author jiashunx
+ */
+public interface RowCallback {
+
+    /**
+     * 处理当前行（不可调用ResultSet.next()）
+     * @param resultSet 查询结果ResultSet对象（已定位至当前行）
+     * @throws SQLException SQLException
+     */
+    void processRow(ResultSet resultSet) throws SQLException;
+
+}
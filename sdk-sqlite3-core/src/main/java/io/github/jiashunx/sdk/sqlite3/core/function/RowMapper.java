@@ -0,0 +1,22 @@
+package io.github.jiashunx.sdk.sqlite3.core.function;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 查询结果逐行映射
+ * @param <R> 映射对象类型
+ * @author jiashunx
+ */
+public interface RowMapper<R> {
+
+    /**
+     * 映射当前行（不可调用ResultSet.next()）
+     * @param resultSet 查询结果ResultSet对象（已定位至当前行）
+     * @param rowNum 行号（从0开始）
+     * @return 映射对象
+     * @throws SQLException SQLException
+     */
+    R mapRow(ResultSet resultSet, int rowNum) throws SQLException;
+
+}
@@ -0,0 +1,221 @@
+package io.github.jiashunx.sdk.sqlite3.core.pool;
+
+import io.github.jiashunx.sdk.sqlite3.core.exception.SQLite3Exception;
+import io.github.jiashunx.sdk.sqlite3.core.function.VoidFunc;
+import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3Connection;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * SQLite3 连接容器（低竞争连接借还：线程本地快速路径 + 无锁共享列表 + 单等待者直接交接）
+ * <p>借用顺序：1. 当前线程最近归还的连接；2. 共享列表中空闲连接（CAS抢占）；3. 等待归还线程直接交接。</p>
+ * <p>归还连接时仅交接给一个等待者，不会唤醒全部等待线程。</p>
+ * @author jiashunx
+ */
+public class SQLite3ConnectionBag {
+
+    /**
+     * 连接状态：空闲
+     */
+    private static final int STATE_NOT_IN_USE = 0;
+
+    /**
+     * 连接状态：使用中
+     */
+    private static final int STATE_IN_USE = 1;
+
+    /**
+     * 线程本地归还记录最大数量
+     */
+    private static final int MAX_THREAD_LOCAL_SIZE = 16;
+
+    /**
+     * 等待交接时单次轮询时长（纳秒），用于及时感知连接池状态变更
+     */
+    private static final long POLL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * 共享连接列表（读多写少）
+     */
+    private final CopyOnWriteArrayList<Entry> sharedList = new CopyOnWriteArrayList<>();
+
+    /**
+     * 连接与容器条目映射（归还连接时O(1)定位）
+     */
+    private final Map<SQLite3Connection, Entry> entryMap = new ConcurrentHashMap<>();
+
+    /**
+     * 线程本地最近归还连接记录（弱引用，不阻止连接回收）
+     */
+    private final ThreadLocal<List<WeakReference<Entry>>> threadList = ThreadLocal.withInitial(ArrayList::new);
+
+    /**
+     * 连接交接队列（公平模式，先等待者先获取）
+     */
+    private final SynchronousQueue<Entry> handoffQueue = new SynchronousQueue<>(true);
+
+    /**
+     * 等待连接线程数量
+     */
+    private final AtomicInteger waiters = new AtomicInteger(0);
+
+    /**
+     * 添加数据库连接（添加后连接为空闲状态）
+     * @param connection 数据库连接对象
+     */
+    public void add(SQLite3Connection connection) {
+        Entry entry = new Entry(Objects.requireNonNull(connection));
+        if (entryMap.putIfAbsent(connection, entry) != null) {
+            return;
+        }
+        sharedList.add(entry);
+        // 有线程等待时优先交接新连接
+        while (waiters.get() > 0 && entry.state.get() == STATE_NOT_IN_USE && !handoffQueue.offer(entry)) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * 借用数据库连接
+     * @param timeoutMillis 获取连接超时时间（毫秒），小于等于零则表示无超时时间
+     * @param statusVerifier 连接池状态检查（借用前后及等待期间执行，可为null）
+     * @return 数据库连接对象（超时仍无可用连接则返回null）
+     * @throws InterruptedException 中断异常
+     * @throws SQLite3Exception 连接池状态检查不通过
+     */
+    public SQLite3Connection borrow(long timeoutMillis, VoidFunc statusVerifier) throws InterruptedException, SQLite3Exception {
+        verify(statusVerifier);
+        Entry entry = doBorrow(timeoutMillis, statusVerifier);
+        try {
+            verify(statusVerifier);
+        } catch (SQLite3Exception exception) {
+            if (entry != null) {
+                requite(entry.connection);
+            }
+            throw exception;
+        }
+        return entry == null ? null : entry.connection;
+    }
+
+    /**
+     * 借用数据库连接
+     * @param timeoutMillis 获取连接超时时间（毫秒），小于等于零则表示无超时时间
+     * @param statusVerifier 连接池状态检查（可为null）
+     * @return 容器条目（超时仍无可用连接则返回null）
+     * @throws InterruptedException 中断异常
+     */
+    private Entry doBorrow(long timeoutMillis, VoidFunc statusVerifier) throws InterruptedException {
+        // 1. 线程本地快速路径（从最近归还的连接开始尝试）
+        List<WeakReference<Entry>> list = threadList.get();
+        for (int index = list.size() - 1; index >= 0; index--) {
+            Entry entry = list.remove(index).get();
+            if (entry != null && entry.state.compareAndSet(STATE_NOT_IN_USE, STATE_IN_USE)) {
+                return entry;
+            }
+        }
+        // 2. 扫描共享列表前先登记等待者，保证归还线程不会错过交接
+        waiters.incrementAndGet();
+        try {
+            for (Entry entry : sharedList) {
+                if (entry.state.compareAndSet(STATE_NOT_IN_USE, STATE_IN_USE)) {
+                    return entry;
+                }
+            }
+            // 3. 等待归还线程交接
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            while (true) {
+                long waitNanos = POLL_INTERVAL_NANOS;
+                if (timeoutMillis > 0) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return null;
+                    }
+                    waitNanos = Math.min(waitNanos, remaining);
+                }
+                Entry entry = handoffQueue.poll(waitNanos, TimeUnit.NANOSECONDS);
+                if (entry != null && entry.state.compareAndSet(STATE_NOT_IN_USE, STATE_IN_USE)) {
+                    return entry;
+                }
+                verify(statusVerifier);
+            }
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    /**
+     * 归还数据库连接（重复归还或归还非本容器连接则忽略）
+     * @param connection 数据库连接对象
+     */
+    public void requite(SQLite3Connection connection) {
+        Entry entry = connection == null ? null : entryMap.get(connection);
+        if (entry == null || !entry.state.compareAndSet(STATE_IN_USE, STATE_NOT_IN_USE)) {
+            return;
+        }
+        // 有线程等待时交接给单个等待者（连接被其他线程抢占则结束）
+        for (int i = 0; waiters.get() > 0; i++) {
+            if (entry.state.get() != STATE_NOT_IN_USE || handoffQueue.offer(entry)) {
+                return;
+            }
+            if ((i & 0xff) == 0xff) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(10));
+            } else {
+                Thread.yield();
+            }
+        }
+        List<WeakReference<Entry>> list = threadList.get();
+        if (list.size() < MAX_THREAD_LOCAL_SIZE) {
+            list.add(new WeakReference<>(entry));
+        }
+    }
+
+    /**
+     * 获取容器持有连接总数量
+     * @return 容器持有连接总数量
+     */
+    public int size() {
+        return sharedList.size();
+    }
+
+    /**
+     * 执行连接池状态检查
+     * @param statusVerifier 连接池状态检查（可为null）
+     * @throws SQLite3Exception 连接池状态检查不通过
+     */
+    private static void verify(VoidFunc statusVerifier) throws SQLite3Exception {
+        if (statusVerifier != null) {
+            statusVerifier.apply();
+        }
+    }
+
+    /**
+     * 容器条目（数据库连接及其借用状态）
+     */
+    private static final class Entry {
+
+        /**
+         * 数据库连接对象
+         */
+        private final SQLite3Connection connection;
+
+        /**
+         * 连接状态
+         */
+        private final AtomicInteger state = new AtomicInteger(STATE_NOT_IN_USE);
+
+        private Entry(SQLite3Connection connection) {
+            this.connection = connection;
+        }
+    }
+
+}
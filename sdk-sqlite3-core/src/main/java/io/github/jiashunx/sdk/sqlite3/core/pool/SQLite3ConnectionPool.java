@@ -4,14 +4,22 @@ import io.github.jiashunx.sdk.sqlite3.core.exception.SQLite3Exception;
 import io.github.jiashunx.sdk.sqlite3.core.function.VoidFunc;
 import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3Connection;
 import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3ReadOnlyConnection;
+import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3ResultSetMetadata;
 import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3WriteOnlyConnection;
+import io.github.jiashunx.sdk.sqlite3.core.type.SQLite3ConnectionPoolMode;
 import io.github.jiashunx.sdk.sqlite3.core.type.SQLite3ConnectionPoolStatus;
+import io.github.jiashunx.sdk.sqlite3.core.util.SQLite3Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
@@ -27,6 +35,16 @@ public class SQLite3ConnectionPool {
      */
     private static final AtomicInteger counter = new AtomicInteger(0);
 
+    /**
+     * 默认单连接预编译语句缓存数量
+     */
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+
+    /**
+     * 默认查询结果元数据缓存数量
+     */
+    public static final int DEFAULT_METADATA_CACHE_SIZE = 256;
+
     /**
      * 连接池读写锁
      */
@@ -37,10 +55,15 @@ public class SQLite3ConnectionPool {
      */
     private final String poolName;
 
+    /**
+     * 连接池读写模式
+     */
+    private final SQLite3ConnectionPoolMode poolMode;
+
     /**
      * 写连接池
      */
-    private final LinkedList<SQLite3Connection> writeConnectionPool = new LinkedList<>();
+    private final SQLite3ConnectionBag writeConnectionPool = new SQLite3ConnectionBag();
 
     /**
      * 写连接池持有连接总数量
@@ -55,24 +78,60 @@ public class SQLite3ConnectionPool {
     /**
      * 读连接池
      */
-    private final LinkedList<SQLite3Connection> readConnectionPool = new LinkedList<>();
+    private final SQLite3ConnectionBag readConnectionPool = new SQLite3ConnectionBag();
 
     /**
-     * 读连接池持有连接总数量
+     * 读连接池状态
      */
-    private int readConnectionPoolSize;
+    private volatile SQLite3ConnectionPoolStatus readConnectionPoolStatus;
 
     /**
-     * 读连接池状态
+     * 单连接预编译语句缓存数量（小于等于0则不缓存）
      */
-    private volatile SQLite3ConnectionPoolStatus readConnectionPoolStatus;
+    private volatile int statementCacheSize = DEFAULT_STATEMENT_CACHE_SIZE;
 
     /**
-     * SQLite3数据库连接池构造方法
+     * 数据库结构版本（数据库结构变更后递增，连接缓存的预编译语句随之失效）
+     */
+    private final AtomicLong schemaGeneration = new AtomicLong(0L);
+
+    /**
+     * 预编译语句缓存命中次数
+     */
+    private final LongAdder statementCacheHitCount = new LongAdder();
+
+    /**
+     * 预编译语句缓存未命中次数
+     */
+    private final LongAdder statementCacheMissCount = new LongAdder();
+
+    /**
+     * 查询结果元数据缓存数量（小于等于0则不缓存）
+     */
+    private volatile int metadataCacheSize = DEFAULT_METADATA_CACHE_SIZE;
+
+    /**
+     * 查询结果元数据缓存（key-sql语句，超出缓存数量时近似淘汰，读取无需加锁）
+     */
+    private final ConcurrentHashMap<String, SQLite3ResultSetMetadata> metadataCache = new ConcurrentHashMap<>();
+
+    /**
+     * SQLite3数据库连接池构造方法（默认读写模式）
      * @param writeConn 数据库写连接对象（不可为null）
      * @param readConnArr 数据库读连接对象数字（可变参数，至少传入一个）
      */
     public SQLite3ConnectionPool(Connection writeConn, Connection... readConnArr) {
+        this(SQLite3ConnectionPoolMode.DEFAULT, writeConn, readConnArr);
+    }
+
+    /**
+     * SQLite3数据库连接池构造方法
+     * @param poolMode 连接池读写模式（WAL模式需由调用方预先设置数据库journal_mode=WAL）
+     * @param writeConn 数据库写连接对象（不可为null）
+     * @param readConnArr 数据库读连接对象数字（可变参数，至少传入一个）
+     */
+    public SQLite3ConnectionPool(SQLite3ConnectionPoolMode poolMode, Connection writeConn, Connection... readConnArr) {
+        this.poolMode = Objects.requireNonNull(poolMode);
         if (writeConn == null) {
             throw new IllegalArgumentException("write-only connection can't be null");
         }
@@ -96,7 +155,6 @@ public class SQLite3ConnectionPool {
             readConnection.setName(this.poolName + "-read-" + (index + 1));
             this.readConnectionPool.add(readConnection);
         }
-        this.readConnectionPoolSize = this.readConnectionPool.size();
         this.readConnectionPoolStatus = SQLite3ConnectionPoolStatus.RUNNING;
     }
 
@@ -110,12 +168,8 @@ public class SQLite3ConnectionPool {
             logger.debug("==>>添加数据库读连接: {}", connection.hashCode());
             checkReadConnectionPoolStatus();
             SQLite3ReadOnlyConnection readConnection = new SQLite3ReadOnlyConnection(this, connection);
-            synchronized (readConnectionPool) {
-                readConnection.setName(getPoolName() + "-read-" + readConnectionPoolSize+ 1);
-                readConnectionPool.addLast(readConnection);
-                readConnectionPoolSize++;
-                readConnectionPool.notifyAll();
-            }
+            readConnection.setName(getPoolName() + "-read-" + (readConnectionPool.size() + 1));
+            readConnectionPool.add(readConnection);
         }
     }
 
@@ -126,29 +180,12 @@ public class SQLite3ConnectionPool {
     public void release(SQLite3Connection connection) {
         if (connection instanceof SQLite3ReadOnlyConnection) {
             logger.debug("==>>释放数据库连接（读连接）");
-            release(readConnectionPool, connection);
+            readConnectionPool.requite(connection);
             return;
         }
         if (connection instanceof SQLite3WriteOnlyConnection) {
             logger.debug("==>>释放数据库连接（写连接）");
-            release(writeConnectionPool, connection);
-        }
-    }
-
-    /**
-     * 释放数据库连接（写连接/读连接）
-     * @param pool 数据库连接池（写连接池/读连接池）
-     * @param connection 数据库连接对象（写连接对象/读连接对象）
-     */
-    private void release(LinkedList<SQLite3Connection> pool, SQLite3Connection connection) {
-        if (pool != null && connection != null) {
-            synchronized (pool) {
-                // 连接释放后通知消费者连接池已归还连接
-                if (!pool.contains(connection)) {
-                    pool.addLast(connection);
-                }
-                pool.notifyAll();
-            }
+            writeConnectionPool.requite(connection);
         }
     }
 
@@ -159,27 +196,29 @@ public class SQLite3ConnectionPool {
      */
     public synchronized void close() throws InterruptedException, SQLite3Exception {
         logger.debug("==>>关闭SQLite3数据库连接池");
-        synchronized (writeConnectionPool) {
-            logger.debug("==>>关闭SQLite3数据库连接池（写连接池）");
-            writeConnectionPoolStatus = SQLite3ConnectionPoolStatus.CLOSING;
-            while (writeConnectionPool.size() != writeConnectionPoolSize) {
-                writeConnectionPool.wait();
-            }
-            for (SQLite3Connection connection: writeConnectionPool) {
-                connection.close();
-            }
-            writeConnectionPoolStatus = SQLite3ConnectionPoolStatus.SHUTDOWN;
+        logger.debug("==>>关闭SQLite3数据库连接池（写连接池）");
+        writeConnectionPoolStatus = SQLite3ConnectionPoolStatus.CLOSING;
+        close(writeConnectionPool);
+        writeConnectionPoolStatus = SQLite3ConnectionPoolStatus.SHUTDOWN;
+        logger.debug("==>>关闭SQLite3数据库连接池（读连接池）");
+        readConnectionPoolStatus = SQLite3ConnectionPoolStatus.CLOSING;
+        close(readConnectionPool);
+        readConnectionPoolStatus = SQLite3ConnectionPoolStatus.SHUTDOWN;
+    }
+
+    /**
+     * 关闭连接池持有的全部连接（等待全部连接归还后关闭）
+     * @param pool 连接池对象（读连接池/写连接池）
+     * @throws InterruptedException 中断异常
+     * @throws SQLite3Exception SQLite3异常
+     */
+    private void close(SQLite3ConnectionBag pool) throws InterruptedException, SQLite3Exception {
+        List<SQLite3Connection> connectionList = new ArrayList<>(pool.size());
+        while (connectionList.size() < pool.size()) {
+            connectionList.add(pool.borrow(0, null));
         }
-        synchronized (readConnectionPool) {
-            logger.debug("==>>关闭SQLite3数据库连接池（读连接池）");
-            readConnectionPoolStatus = SQLite3ConnectionPoolStatus.CLOSING;
-            while (readConnectionPool.size() != readConnectionPoolSize) {
-                readConnectionPool.wait();
-            }
-            for (SQLite3Connection connection: readConnectionPool) {
-                connection.close();
-            }
-            readConnectionPoolStatus = SQLite3ConnectionPoolStatus.SHUTDOWN;
+        for (SQLite3Connection connection: connectionList) {
+            connection.close();
         }
     }
 
@@ -244,39 +283,10 @@ public class SQLite3ConnectionPool {
      * @throws InterruptedException 中断异常
      * @throws SQLite3Exception SQLite3异常
      */
-    private SQLite3Connection fetchConnection(LinkedList<SQLite3Connection> pool, long timeoutMillis, VoidFunc statusVerifier)
+    private SQLite3Connection fetchConnection(SQLite3ConnectionBag pool, long timeoutMillis, VoidFunc statusVerifier)
             throws InterruptedException, SQLite3Exception {
-        // 1. 连接池对象加锁
-        synchronized (pool) {
-            // 2.1 超时时间小于0，则表示无超时时间，一直阻塞等待可用连接
-            if (timeoutMillis <= 0) {
-                while (pool.isEmpty()) {
-                    // 2.1.1 连接池有可用连接前一直等待
-                    pool.wait();
-                }
-                // 2.1.2 获取连接前进行状态检查
-                statusVerifier.apply();
-                // 2.1.3 获取连接
-                return pool.removeFirst();
-            } else {
-                // 2.2 有超时时间，等待固定时间
-                long future = System.currentTimeMillis() + timeoutMillis;
-                long remaining = timeoutMillis;
-                while (pool.isEmpty() && remaining > 0) {
-                    // 2.2.1 连接池有可用连接前等待固定时间
-                    pool.wait(remaining);
-                    remaining = future - System.currentTimeMillis();
-                }
-                // 2.2.2 获取连接前进行状态检查
-                statusVerifier.apply();
-                // 2.2.3 获取连接（已过超时时间连接池可能仍无连接）
-                SQLite3Connection connection = null;
-                if (!pool.isEmpty()) {
-                    connection = pool.removeFirst();
-                }
-                return connection;
-            }
-        }
+        // 借用前后均进行状态检查；超时时间小于等于0则一直等待可用连接，否则超时后返回null
+        return pool.borrow(timeoutMillis, statusVerifier);
     }
 
     /**
@@ -321,6 +331,30 @@ public class SQLite3ConnectionPool {
         return poolName;
     }
 
+    /**
+     * 获取连接池读写模式
+     * @return 连接池读写模式
+     */
+    public SQLite3ConnectionPoolMode getPoolMode() {
+        return poolMode;
+    }
+
+    /**
+     * 连接读写处理是否需加连接池读写锁（WAL模式下读写并发由SQLite3自身保证，无需加锁）
+     * @return true-需加锁，false-无需加锁
+     */
+    public boolean isActionLockRequired() {
+        return poolMode != SQLite3ConnectionPoolMode.WAL;
+    }
+
+    /**
+     * 当前线程是否仅持有连接池读锁（如游标或Stream未关闭），此时获取连接池写锁将永久阻塞
+     * @return true-仅持有读锁，false-未持有读锁、已持有写锁或无需加锁（WAL模式）
+     */
+    public boolean isReadLockHeldByCurrentThread() {
+        return isActionLockRequired() && actionLock.getReadHoldCount() > 0 && !actionLock.isWriteLockedByCurrentThread();
+    }
+
     /**
      * 获取连接池读写锁
      * @return 连接池读写锁
@@ -345,11 +379,118 @@ public class SQLite3ConnectionPool {
         return getActionLock().writeLock();
     }
 
+    /**
+     * 获取单连接预编译语句缓存数量
+     * @return 单连接预编译语句缓存数量
+     */
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    /**
+     * 设置单连接预编译语句缓存数量（小于等于0则不缓存，已缓存语句在下次使用时淘汰）
+     * @param statementCacheSize 单连接预编译语句缓存数量
+     */
+    public void setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    /**
+     * 获取数据库结构版本
+     * @return 数据库结构版本
+     */
+    public long getSchemaGeneration() {
+        return schemaGeneration.get();
+    }
+
+    /**
+     * 递增数据库结构版本（执行DDL后调用，各连接缓存的预编译语句全部失效）
+     */
+    public void incrementSchemaGeneration() {
+        schemaGeneration.incrementAndGet();
+    }
+
+    /**
+     * 记录预编译语句缓存命中
+     */
+    public void recordStatementCacheHit() {
+        statementCacheHitCount.increment();
+    }
+
+    /**
+     * 记录预编译语句缓存未命中
+     */
+    public void recordStatementCacheMiss() {
+        statementCacheMissCount.increment();
+    }
+
+    /**
+     * 获取预编译语句缓存命中次数
+     * @return 预编译语句缓存命中次数
+     */
+    public long getStatementCacheHitCount() {
+        return statementCacheHitCount.sum();
+    }
+
+    /**
+     * 获取预编译语句缓存未命中次数
+     * @return 预编译语句缓存未命中次数
+     */
+    public long getStatementCacheMissCount() {
+        return statementCacheMissCount.sum();
+    }
+
+    /**
+     * 获取查询结果元数据缓存数量
+     * @return 查询结果元数据缓存数量
+     */
+    public int getMetadataCacheSize() {
+        return metadataCacheSize;
+    }
+
+    /**
+     * 设置查询结果元数据缓存数量（小于等于0则不缓存）
+     * @param metadataCacheSize 查询结果元数据缓存数量
+     */
+    public void setMetadataCacheSize(int metadataCacheSize) {
+        this.metadataCacheSize = metadataCacheSize;
+        if (metadataCacheSize <= 0) {
+            metadataCache.clear();
+        }
+    }
+
+    /**
+     * 获取缓存的查询结果元数据（数据库结构版本不一致则淘汰）
+     * @param sql sql语句
+     * @param schemaGeneration 当前数据库结构版本（getSchemaGeneration()）
+     * @return 查询结果元数据（未缓存或已失效则返回null）
+     */
+    public SQLite3ResultSetMetadata getResultSetMetadata(String sql, long schemaGeneration) {
+        SQLite3ResultSetMetadata metadata = metadataCache.get(sql);
+        if (metadata != null && metadata.getSchemaGeneration() != schemaGeneration) {
+            metadataCache.remove(sql, metadata);
+            metadata = null;
+        }
+        return metadata;
+    }
+
+    /**
+     * 缓存查询结果元数据
+     * @param sql sql语句
+     * @param metadata 查询结果元数据
+     */
+    public void putResultSetMetadata(String sql, SQLite3ResultSetMetadata metadata) {
+        if (metadataCacheSize <= 0 || sql == null || metadata == null) {
+            return;
+        }
+        SQLite3Utils.putBoundedCache(metadataCache, sql, metadata, metadataCacheSize);
+    }
+
     /**
      * 获取读连接池持有连接总数量
      * @return 读连接池持有连接总数量
      */
     public int getReadConnectionPoolSize() {
-        return readConnectionPoolSize;
+        return readConnectionPool.size();
     }
 }
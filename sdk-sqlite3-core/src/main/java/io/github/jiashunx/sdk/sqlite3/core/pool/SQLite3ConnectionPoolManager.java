@@ -1,11 +1,15 @@
 package io.github.jiashunx.sdk.sqlite3.core.pool;
 
+import io.github.jiashunx.sdk.sqlite3.core.exception.SQLite3Exception;
+import io.github.jiashunx.sdk.sqlite3.core.type.SQLite3ConnectionPoolMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -82,18 +86,57 @@ public class SQLite3ConnectionPoolManager {
         return create(fileName, DEFAULT_POOL_SIZE, username, password);
     }
 
+    /**
+     * 创建数据库连接池（默认连接池连接数量16，默认数据库用户名密码：sqlite/sqlite）
+     * @param fileName 数据库文件名
+     * @param poolMode 连接池读写模式
+     * @return 数据库连接池对象
+     */
+    public static SQLite3ConnectionPool create(String fileName, SQLite3ConnectionPoolMode poolMode) {
+        return create(fileName, DEFAULT_POOL_SIZE, poolMode);
+    }
+
+    /**
+     * 创建数据库连接池（默认数据库用户名密码：sqlite/sqlite）
+     * @param fileName 数据库文件名
+     * @param poolSize 连接池连接数量
+     * @param poolMode 连接池读写模式
+     * @return 数据库连接池对象
+     */
+    public static SQLite3ConnectionPool create(String fileName, int poolSize, SQLite3ConnectionPoolMode poolMode) {
+        return create(fileName, poolSize, DEFAULT_USERNAME, DEFAULT_PASSWORD, poolMode);
+    }
+
+    /**
+     * 创建数据库连接池（默认读写模式）
+     * @param fileName 数据库文件名
+     * @param poolSize 连接池连接数量
+     * @param username 数据库用户名
+     * @param password 数据库密码
+     * @return 数据库连接池对象
+     */
+    public static SQLite3ConnectionPool create(String fileName, int poolSize, String username, String password) {
+        return create(fileName, poolSize, username, password, SQLite3ConnectionPoolMode.DEFAULT);
+    }
+
     /**
      * 创建数据库连接池
      * @param fileName 数据库文件名
      * @param poolSize 连接池连接数量
      * @param username 数据库用户名
      * @param password 数据库密码
+     * @param poolMode 连接池读写模式（WAL模式下将数据库设置为journal_mode=WAL，读连接不再阻塞于写事务）
      * @return 数据库连接池对象
+     * @throws SQLite3Exception 同一数据库文件已存在不同模式的连接池，或WAL模式设置失败
      */
-    public synchronized static SQLite3ConnectionPool create(String fileName, int poolSize, String username, String password) {
+    public synchronized static SQLite3ConnectionPool create(String fileName, int poolSize, String username, String password
+            , SQLite3ConnectionPoolMode poolMode) {
         if (fileName == null || fileName.trim().isEmpty()) {
             throw new IllegalArgumentException("sqlite db filename can not be null or empty");
         }
+        if (poolMode == null) {
+            throw new IllegalArgumentException("sqlite db pool mode can not be null");
+        }
         if (poolSize > MAX_POOL_SIZE || poolSize < MIN_POOL_SIZE) {
             throw new IllegalArgumentException(String.format(
                     "sqlite db pool size can not less than %d and not large than %d"
@@ -111,6 +154,11 @@ public class SQLite3ConnectionPoolManager {
             String $password = String.valueOf(password);
             SQLite3ConnectionPool pool = POOL_MAP.get(dbFilePath);
             if (pool != null) {
+                if (pool.getPoolMode() != poolMode) {
+                    throw new SQLite3Exception(String.format(
+                            "sqlite connection pool [%s] already exists with mode %s, can not create it with mode %s"
+                            , pool.getPoolName(), pool.getPoolMode(), poolMode));
+                }
                 if (poolSize > pool.getReadConnectionPoolSize()) {
                     logger.info("found exists sqlite connection pool: {}", pool.getPoolName());
                     logger.info("create sqlite read connection, url: {}, username: {}, password: {}", $url, $username, $password);
@@ -120,21 +168,72 @@ public class SQLite3ConnectionPoolManager {
                 }
                 return pool;
             }
-            logger.info("create sqlite connection pool, url: {}, username: {}, password: {}", $url, $username, $password);
+            logger.info("create sqlite connection pool, url: {}, username: {}, password: {}, mode: {}", $url, $username, $password, poolMode);
             // 写连接=1
             Connection writeConnection = DriverManager.getConnection($url, $username, $password);
             // 读连接=N-1
             Connection[] readConnectionArr = new Connection[poolSize - 1];
-            for (int i = 0 ; i < poolSize - 1; i++) {
-                readConnectionArr[i] = DriverManager.getConnection($url, $username, $password);;
+            try {
+                if (poolMode == SQLite3ConnectionPoolMode.WAL) {
+                    // journal_mode=WAL 持久化在数据库文件中，需在创建读连接前设置
+                    try {
+                        enableWALMode(writeConnection);
+                    } catch (Throwable throwable) {
+                        throw new SQLite3Exception(String.format("enable WAL mode failed, url: %s", $url), throwable);
+                    }
+                }
+                for (int i = 0 ; i < poolSize - 1; i++) {
+                    readConnectionArr[i] = DriverManager.getConnection($url, $username, $password);
+                }
+            } catch (Throwable throwable) {
+                // 创建失败时关闭已打开的连接
+                closeQuietly(writeConnection);
+                for (Connection readConnection: readConnectionArr) {
+                    closeQuietly(readConnection);
+                }
+                throw throwable;
             }
-            pool = new SQLite3ConnectionPool(writeConnection, readConnectionArr);
+            pool = new SQLite3ConnectionPool(poolMode, writeConnection, readConnectionArr);
             POOL_MAP.put(dbFilePath, pool);
             return pool;
+        } catch (SQLite3Exception exception) {
+            // 连接池模式不一致、WAL模式设置失败需由调用方处理
+            logger.error("create sqlite connection pool failed.", exception);
+            throw exception;
         } catch (Throwable throwable) {
             logger.error("create sqlite connection pool failed.", throwable);
         }
         return null;
     }
 
+    /**
+     * 关闭数据库连接（忽略关闭异常）
+     * @param connection 数据库连接
+     */
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (Throwable throwable) {
+            logger.warn("close sqlite connection failed.", throwable);
+        }
+    }
+
+    /**
+     * 设置数据库为WAL模式（journal_mode=WAL）
+     * @param connection 数据库写连接
+     * @throws Exception 设置失败（如内存数据库不支持WAL模式）
+     */
+    private static void enableWALMode(Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("PRAGMA journal_mode=WAL")) {
+            String journalMode = resultSet.next() ? resultSet.getString(1) : null;
+            if (!"wal".equalsIgnoreCase(journalMode)) {
+                throw new IllegalStateException(String.format("enable WAL mode failed, current journal mode: %s", journalMode));
+            }
+        }
+    }
+
 }
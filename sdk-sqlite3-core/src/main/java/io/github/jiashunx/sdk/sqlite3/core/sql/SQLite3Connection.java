@@ -1,14 +1,20 @@
 package io.github.jiashunx.sdk.sqlite3.core.sql;
 
 import io.github.jiashunx.sdk.sqlite3.core.exception.SQLite3Exception;
+import io.github.jiashunx.sdk.sqlite3.core.exception.SQLite3SqlException;
 import io.github.jiashunx.sdk.sqlite3.core.function.VoidFunc;
 import io.github.jiashunx.sdk.sqlite3.core.pool.SQLite3ConnectionPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -51,6 +57,25 @@ public abstract class SQLite3Connection {
      */
     private String name;
 
+    /**
+     * 预编译语句缓存（key-sql语句，按访问顺序淘汰；语句借出期间从缓存中移除）
+     */
+    private final LinkedHashMap<String, SQLite3PreparedStatement> statementCache = new LinkedHashMap<String, SQLite3PreparedStatement>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SQLite3PreparedStatement> eldest) {
+            if (size() > connectionPool.getStatementCacheSize()) {
+                eldest.getValue().doClose();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * 预编译语句缓存对应的数据库结构版本
+     */
+    private long statementCacheGeneration;
+
     /**
      * SQLite3数据库连接构造方法
      * @param connectionPool 数据库连接池对象
@@ -88,16 +113,12 @@ public abstract class SQLite3Connection {
      * @throws SQLite3Exception SQLite3异常
      */
     public <R> R read(Function<Connection, R> function) throws SQLite3Exception {
-        AtomicReference<R> reference = new AtomicReference<>();
-        doCheck(() -> {
-            connectionPool.getActionReadLock().lock();
-            try {
-                reference.set(function.apply(this.connection));
-            } finally {
-                connectionPool.getActionReadLock().unlock();;
-            }
-        });
-        return reference.get();
+        openRead();
+        try {
+            return function.apply(connection);
+        } finally {
+            closeRead();
+        }
     }
 
     /**
@@ -120,16 +141,147 @@ public abstract class SQLite3Connection {
      * @throws SQLite3Exception SQLite3异常
      */
     public <R> R write(Function<Connection, R> function) throws SQLite3Exception {
-        AtomicReference<R> reference = new AtomicReference<>();
-        doCheck(() -> {
-            connectionPool.getActionWriteLock().lock();
-            try {
-                reference.set(function.apply(connection));
-            } finally {
-                connectionPool.getActionWriteLock().unlock();
+        openWrite();
+        try {
+            return function.apply(connection);
+        } finally {
+            closeWrite();
+        }
+    }
+
+    /**
+     * 开始数据库连接读处理（跨方法调用持有连接时使用，如游标查询；需在同一线程中调用closeRead结束读处理）
+     * @throws SQLite3Exception 连接已关闭
+     */
+    public void openRead() throws SQLite3Exception {
+        lock(connectionPool.getActionReadLock());
+    }
+
+    /**
+     * 结束数据库连接读处理
+     */
+    public void closeRead() {
+        unlock(connectionPool.getActionReadLock());
+    }
+
+    /**
+     * 开始数据库连接写处理（需在同一线程中调用closeWrite结束写处理）
+     * @throws SQLite3Exception 连接已关闭，或当前线程持有未结束的读处理（非WAL模式下读写锁无法升级）
+     */
+    public void openWrite() throws SQLite3Exception {
+        if (connectionPool.isReadLockHeldByCurrentThread()) {
+            throw new SQLite3Exception("current thread holds an open read (cursor or stream), can not write until it is closed.");
+        }
+        lock(connectionPool.getActionWriteLock());
+    }
+
+    /**
+     * 结束数据库连接写处理
+     */
+    public void closeWrite() {
+        unlock(connectionPool.getActionWriteLock());
+    }
+
+    /**
+     * 加锁（连接读锁，连接池需加锁时再加连接池读锁或写锁）
+     * @param poolLock 连接池读锁或写锁
+     * @throws SQLite3Exception 连接已关闭
+     */
+    private void lock(Lock poolLock) throws SQLite3Exception {
+        actionLock.readLock().lock();
+        if (closed) {
+            actionLock.readLock().unlock();
+            throw new SQLite3Exception("connection is closed.");
+        }
+        if (connectionPool.isActionLockRequired()) {
+            poolLock.lock();
+        }
+    }
+
+    /**
+     * 解锁（与lock对应）
+     * @param poolLock 连接池读锁或写锁
+     */
+    private void unlock(Lock poolLock) {
+        try {
+            if (connectionPool.isActionLockRequired()) {
+                poolLock.unlock();
             }
-        });
-        return reference.get();
+        } finally {
+            actionLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 获取预编译语句（优先从连接的预编译语句缓存中获取，语句关闭时清空参数并归还缓存）
+     * @param sql 待执行sql语句（占位）
+     * @return 预编译语句对象
+     * @throws SQLite3SqlException SQLite3SqlException
+     */
+    public SQLite3PreparedStatement prepareStatement(String sql) throws SQLite3SqlException {
+        long generation = connectionPool.getSchemaGeneration();
+        if (connectionPool.getStatementCacheSize() > 0) {
+            SQLite3PreparedStatement statement;
+            synchronized (statementCache) {
+                if (statementCacheGeneration != generation) {
+                    // 数据库结构已变更，已缓存语句全部失效
+                    clearStatementCache();
+                    statementCacheGeneration = generation;
+                }
+                statement = statementCache.remove(sql);
+            }
+            if (statement != null) {
+                connectionPool.recordStatementCacheHit();
+                return statement;
+            }
+            connectionPool.recordStatementCacheMiss();
+        }
+        try {
+            return new SQLite3PreparedStatement(connection.prepareStatement(sql), this, sql, generation);
+        } catch (SQLException exception) {
+            throw new SQLite3SqlException(exception);
+        }
+    }
+
+    /**
+     * 归还预编译语句（清空参数及批量参数后放回缓存，缓存已失效、已存在同sql语句或连接已关闭则直接关闭语句）
+     * @param statement 预编译语句对象
+     */
+    void recycle(SQLite3PreparedStatement statement) {
+        boolean cached = false;
+        try {
+            // 执行失败时驱动可能已关闭语句，此时不再归还缓存
+            if (!closed && connectionPool.getStatementCacheSize() > 0
+                    && statement.getSchemaGeneration() == connectionPool.getSchemaGeneration()
+                    && !statement.isExecuteFailed() && !statement.isClosed()) {
+                statement.clearParameters();
+                // 调用方addBatch后未执行executeBatch时清空批量参数，避免下次借用时执行残留批量
+                statement.clearBatch();
+                synchronized (statementCache) {
+                    if (!closed && statementCacheGeneration == statement.getSchemaGeneration()
+                            && !statementCache.containsKey(statement.getSql())) {
+                        statementCache.put(statement.getSql(), statement);
+                        cached = true;
+                    }
+                }
+            }
+        } catch (Throwable throwable) {
+            logger.warn("connection [{}] recycle statement failed, sql: {}", getName(), statement.getSql(), throwable);
+        }
+        if (!cached) {
+            statement.doClose();
+        }
+    }
+
+    /**
+     * 清空预编译语句缓存（关闭已缓存语句）
+     */
+    private void clearStatementCache() {
+        synchronized (statementCache) {
+            List<SQLite3PreparedStatement> statementList = new ArrayList<>(statementCache.values());
+            statementCache.clear();
+            statementList.forEach(SQLite3PreparedStatement::doClose);
+        }
     }
 
     /**
@@ -144,6 +296,7 @@ public abstract class SQLite3Connection {
                 return;
             }
             try {
+                clearStatementCache();
                 connection.close();
             } catch (Throwable throwable) {
                 logger.error("connection [{}] close failed.", getName(), throwable);
@@ -153,37 +306,6 @@ public abstract class SQLite3Connection {
         });
     }
 
-    /**
-     * 连接状态检查处理（检查是否已关闭）
-     * @param voidFunc 无入参无返回值Function
-     * @throws SQLite3Exception SQLite3异常
-     */
-    private void doCheck(VoidFunc voidFunc) throws SQLite3Exception {
-        doRead(() -> {
-            if (closed) {
-                throw new SQLite3Exception("connection is closed.");
-            }
-            if (voidFunc != null) {
-                voidFunc.apply();
-            }
-        });
-    }
-
-    /**
-     * 连接读处理
-     * @param voidFunc 无入参无返回值Function
-     */
-    private void doRead(VoidFunc voidFunc) {
-        actionLock.readLock().lock();
-        try {
-            if (voidFunc != null) {
-                voidFunc.apply();
-            }
-        } finally {
-            actionLock.readLock().unlock();
-        }
-    }
-
     /**
      * 连接写处理
      * @param voidFunc 无入参无返回值Function对象
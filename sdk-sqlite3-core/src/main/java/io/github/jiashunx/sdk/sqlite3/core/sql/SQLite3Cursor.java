@@ -0,0 +1,119 @@
+package io.github.jiashunx.sdk.sqlite3.core.sql;
+
+import io.github.jiashunx.sdk.sqlite3.core.exception.SQLite3Exception;
+import io.github.jiashunx.sdk.sqlite3.core.function.RowMapper;
+import io.github.jiashunx.sdk.sqlite3.core.function.VoidFunc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * SQLite3 查询游标（逐行读取查询结果，读取期间持有数据库连接，遍历结束或关闭时释放）
+ * <p>游标持有连接池读锁，须在创建游标的线程中遍历及关闭（建议使用try-with-resources）</p>
+ * @param <R> 行映射对象类型
+ * @author jiashunx
+ */
+public class SQLite3Cursor<R> implements Iterator<R>, AutoCloseable {
+
+    /**
+     * 查询结果ResultSet对象
+     */
+    private final ResultSet resultSet;
+
+    /**
+     * 行映射
+     */
+    private final RowMapper<R> rowMapper;
+
+    /**
+     * 游标关闭处理（关闭ResultSet、预编译语句及释放连接）
+     */
+    private final VoidFunc closeFunc;
+
+    /**
+     * 当前行号
+     */
+    private int rowNum;
+
+    /**
+     * 是否已定位至下一行且未读取
+     */
+    private boolean hasPending;
+
+    /**
+     * 游标是否已关闭
+     */
+    private boolean closed;
+
+    /**
+     * 构造方法
+     * @param resultSet 查询结果ResultSet对象
+     * @param rowMapper 行映射
+     * @param closeFunc 游标关闭处理
+     */
+    public SQLite3Cursor(ResultSet resultSet, RowMapper<R> rowMapper, VoidFunc closeFunc) {
+        this.resultSet = Objects.requireNonNull(resultSet);
+        this.rowMapper = Objects.requireNonNull(rowMapper);
+        this.closeFunc = Objects.requireNonNull(closeFunc);
+    }
+
+    @Override
+    public boolean hasNext() throws SQLite3Exception {
+        if (closed) {
+            return false;
+        }
+        if (hasPending) {
+            return true;
+        }
+        try {
+            hasPending = resultSet.next();
+        } catch (SQLException exception) {
+            close();
+            throw new SQLite3Exception("cursor fetch next row failed", exception);
+        }
+        if (!hasPending) {
+            // 遍历结束自动关闭
+            close();
+        }
+        return hasPending;
+    }
+
+    @Override
+    public R next() throws SQLite3Exception, NoSuchElementException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        hasPending = false;
+        try {
+            return rowMapper.mapRow(resultSet, rowNum++);
+        } catch (SQLException exception) {
+            close();
+            throw new SQLite3Exception(String.format("cursor map row failed, row number: %d", rowNum - 1), exception);
+        }
+    }
+
+    /**
+     * 关闭游标（可重复调用）
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        hasPending = false;
+        closeFunc.apply();
+    }
+
+    /**
+     * 游标是否已关闭
+     * @return true-已关闭，false-未关闭
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+}
@@ -38,8 +38,47 @@ public class SQLite3PreparedStatement implements AutoCloseable {
 
     private final PreparedStatement preparedStatement;
 
+    /**
+     * 所属连接（非null则关闭时归还连接的预编译语句缓存）
+     */
+    private final SQLite3Connection owner;
+
+    /**
+     * 预编译sql语句
+     */
+    private final String sql;
+
+    /**
+     * 预编译时数据库结构版本
+     */
+    private final long schemaGeneration;
+
+    /**
+     * 是否执行失败（执行失败后驱动可能已释放底层语句，不可再归还缓存）
+     */
+    private volatile boolean executeFailed;
+
     public SQLite3PreparedStatement(PreparedStatement preparedStatement) {
+        this(preparedStatement, null, null, 0L);
+    }
+
+    SQLite3PreparedStatement(PreparedStatement preparedStatement, SQLite3Connection owner, String sql, long schemaGeneration) {
         this.preparedStatement = Objects.requireNonNull(preparedStatement);
+        this.owner = owner;
+        this.sql = sql;
+        this.schemaGeneration = schemaGeneration;
+    }
+
+    String getSql() {
+        return sql;
+    }
+
+    long getSchemaGeneration() {
+        return schemaGeneration;
+    }
+
+    boolean isExecuteFailed() {
+        return executeFailed;
     }
 
     public ResultSet executeQuery() throws SQLite3SqlException {
@@ -47,6 +86,7 @@ public class SQLite3PreparedStatement implements AutoCloseable {
             logger.debug(">>executeQuery");
             return preparedStatement.executeQuery();
         } catch (SQLException exception) {
+            executeFailed = true;
             throw new SQLite3SqlException(exception);
         }
     }
@@ -56,6 +96,7 @@ public class SQLite3PreparedStatement implements AutoCloseable {
             logger.debug(">>executeUpdate");
             return preparedStatement.executeUpdate();
         } catch (SQLException exception) {
+            executeFailed = true;
             throw new SQLite3SqlException(exception);
         }
     }
@@ -245,6 +286,7 @@ public class SQLite3PreparedStatement implements AutoCloseable {
             logger.debug(">>execute");
             return preparedStatement.execute();
         } catch (SQLException exception) {
+            executeFailed = true;
             throw new SQLite3SqlException(exception);
         }
     }
@@ -540,6 +582,7 @@ public class SQLite3PreparedStatement implements AutoCloseable {
             logger.debug(">>executeQuery, sql:{}", sql);
             return preparedStatement.executeQuery(sql);
         } catch (SQLException exception) {
+            executeFailed = true;
             throw new SQLite3SqlException(exception);
         }
     }
@@ -549,11 +592,17 @@ public class SQLite3PreparedStatement implements AutoCloseable {
             logger.debug(">>executeUpdate, sql:{}", sql);
             return preparedStatement.executeUpdate(sql);
         } catch (SQLException exception) {
+            executeFailed = true;
             throw new SQLite3SqlException(exception);
         }
     }
 
     public void close() throws SQLite3SqlException {
+        if (owner != null) {
+            logger.debug(">>close(recycle)");
+            owner.recycle(this);
+            return;
+        }
         try {
             logger.debug(">>close");
             preparedStatement.close();
@@ -562,6 +611,18 @@ public class SQLite3PreparedStatement implements AutoCloseable {
         }
     }
 
+    /**
+     * 关闭预编译语句（不归还缓存）
+     */
+    void doClose() {
+        try {
+            logger.debug(">>close(discard)");
+            preparedStatement.close();
+        } catch (Throwable throwable) {
+            logger.error("close statement failed, sql: {}", sql, throwable);
+        }
+    }
+
     public int getMaxFieldSize() throws SQLite3SqlException {
         try {
             return preparedStatement.getMaxFieldSize();
@@ -662,6 +723,7 @@ public class SQLite3PreparedStatement implements AutoCloseable {
             logger.debug(">>execute, sql:{}", sql);
             return preparedStatement.execute(sql);
         } catch (SQLException exception) {
+            executeFailed = true;
             throw new SQLite3SqlException(exception);
         }
     }
@@ -763,6 +825,7 @@ public class SQLite3PreparedStatement implements AutoCloseable {
             logger.debug(">>executeBatch");
             return preparedStatement.executeBatch();
         } catch (SQLException exception) {
+            executeFailed = true;
             throw new SQLite3SqlException(exception);
         }
     }
@@ -796,6 +859,7 @@ public class SQLite3PreparedStatement implements AutoCloseable {
             logger.debug(">>executeUpdate, sql:{}, autoGeneratedKeys:{}", sql, autoGeneratedKeys);
             return preparedStatement.executeUpdate(sql, autoGeneratedKeys);
         } catch (SQLException exception) {
+            executeFailed = true;
             throw new SQLite3SqlException(exception);
         }
     }
@@ -805,6 +869,7 @@ public class SQLite3PreparedStatement implements AutoCloseable {
             logger.debug(">>executeUpdate, sql:{}, columnIndexes:{}", sql, columnIndexes);
             return preparedStatement.executeUpdate(sql, columnIndexes);
         } catch (SQLException exception) {
+            executeFailed = true;
             throw new SQLite3SqlException(exception);
         }
     }
@@ -814,6 +879,7 @@ public class SQLite3PreparedStatement implements AutoCloseable {
             logger.debug(">>executeUpdate, sql:{}, columnNames:{}", sql, columnNames);
             return preparedStatement.executeUpdate(sql, columnNames);
         } catch (SQLException exception) {
+            executeFailed = true;
             throw new SQLite3SqlException(exception);
         }
     }
@@ -823,6 +889,7 @@ public class SQLite3PreparedStatement implements AutoCloseable {
             logger.debug(">>execute, sql:{}, autoGeneratedKeys:{}", sql, autoGeneratedKeys);
             return preparedStatement.execute(sql, autoGeneratedKeys);
         } catch (SQLException exception) {
+            executeFailed = true;
             throw new SQLite3SqlException(exception);
         }
     }
@@ -832,6 +899,7 @@ public class SQLite3PreparedStatement implements AutoCloseable {
             logger.debug(">>execute, sql:{}, columnIndexes:{}", sql, columnIndexes);
             return preparedStatement.execute(sql, columnIndexes);
         } catch (SQLException exception) {
+            executeFailed = true;
             throw new SQLite3SqlException(exception);
         }
     }
@@ -841,6 +909,7 @@ public class SQLite3PreparedStatement implements AutoCloseable {
             logger.debug(">>execute, sql:{}, columnNames:{}", sql, columnNames);
             return preparedStatement.execute(sql, columnNames);
         } catch (SQLException exception) {
+            executeFailed = true;
             throw new SQLite3SqlException(exception);
         }
     }
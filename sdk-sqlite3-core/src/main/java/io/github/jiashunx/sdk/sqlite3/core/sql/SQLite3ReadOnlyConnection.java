@@ -27,4 +27,9 @@ public class SQLite3ReadOnlyConnection extends SQLite3Connection {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void openWrite() throws SQLite3Exception, UnsupportedOperationException {
+        throw new UnsupportedOperationException();
+    }
+
 }
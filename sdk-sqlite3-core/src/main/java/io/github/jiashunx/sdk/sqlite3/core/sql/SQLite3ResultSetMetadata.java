@@ -0,0 +1,148 @@
+package io.github.jiashunx.sdk.sqlite3.core.sql;
+
+import io.github.jiashunx.sdk.sqlite3.core.function.ColumnExtractor;
+import io.github.jiashunx.sdk.sqlite3.core.util.SQLite3Utils;
+import io.github.jiashunx.sdk.sqlite3.metadata.ColumnMetadata;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * SQLite3 查询结果元数据（解析后不可修改，可按sql语句缓存复用）
+ * @author jiashunx
+ */
+public class SQLite3ResultSetMetadata {
+
+    /**
+     * 解析时连接池数据库结构版本（SQLite3ConnectionPool.getSchemaGeneration()）
+     */
+    private final long schemaGeneration;
+
+    /**
+     * 列字段名称与列字段元数据信息映射map（不可修改，按列顺序）
+     */
+    private final Map<String, ColumnMetadata> columnMetadataMap;
+
+    /**
+     * 列字段名称（按列顺序）
+     */
+    private final String[] columnNames;
+
+    /**
+     * 列下标（从1开始，与列字段名称一一对应）
+     */
+    private final int[] columnIndexes;
+
+    /**
+     * 列值读取方式（与列字段名称一一对应）
+     */
+    private final ColumnExtractor[] extractors;
+
+    /**
+     * 查询结果全部列名称（按ResultSet列顺序，包含重复列名称）
+     */
+    private final String[] resultColumnNames;
+
+    /**
+     * 查询结果全部列类型名称（与查询结果全部列名称一一对应）
+     */
+    private final String[] resultColumnTypeNames;
+
+    /**
+     * 构造方法
+     * @param schemaGeneration 解析时连接池数据库结构版本
+     * @param columnMetadataMap 列字段名称与列字段元数据信息映射map（按列顺序）
+     */
+    public SQLite3ResultSetMetadata(long schemaGeneration, Map<String, ColumnMetadata> columnMetadataMap) {
+        this(schemaGeneration, columnMetadataMap, null, null);
+    }
+
+    /**
+     * 构造方法
+     * @param schemaGeneration 解析时连接池数据库结构版本
+     * @param columnMetadataMap 列字段名称与列字段元数据信息映射map（按列顺序）
+     * @param resultColumnNames 查询结果全部列名称（为null则取列字段名称）
+     * @param resultColumnTypeNames 查询结果全部列类型名称（为null则取列字段类型名称）
+     */
+    public SQLite3ResultSetMetadata(long schemaGeneration, Map<String, ColumnMetadata> columnMetadataMap
+            , String[] resultColumnNames, String[] resultColumnTypeNames) {
+        this.schemaGeneration = schemaGeneration;
+        this.columnMetadataMap = Collections.unmodifiableMap(new LinkedHashMap<>(Objects.requireNonNull(columnMetadataMap)));
+        int size = this.columnMetadataMap.size();
+        this.columnNames = new String[size];
+        this.columnIndexes = new int[size];
+        this.extractors = new ColumnExtractor[size];
+        int index = 0;
+        for (Map.Entry<String, ColumnMetadata> entry: this.columnMetadataMap.entrySet()) {
+            this.columnNames[index] = entry.getKey();
+            this.columnIndexes[index] = entry.getValue().getColumnIndex();
+            this.extractors[index] = SQLite3Utils.getColumnExtractor(entry.getValue().getColumnTypeName());
+            index++;
+        }
+        if (resultColumnNames == null || resultColumnTypeNames == null) {
+            resultColumnNames = this.columnNames.clone();
+            resultColumnTypeNames = new String[size];
+            for (int i = 0; i < size; i++) {
+                resultColumnTypeNames[i] = this.columnMetadataMap.get(this.columnNames[i]).getColumnTypeName();
+            }
+        }
+        if (resultColumnNames.length != resultColumnTypeNames.length) {
+            throw new IllegalArgumentException("result column names and type names length not match");
+        }
+        this.resultColumnNames = resultColumnNames.clone();
+        this.resultColumnTypeNames = resultColumnTypeNames.clone();
+    }
+
+    /**
+     * 判断元数据与查询结果列是否一致（逐列比较列名称与列类型名称，数据库结构由其他连接或进程变更时据此发现缓存失效）
+     * @param metaData 查询结果ResultSetMetaData
+     * @return 是否一致
+     * @throws SQLException SQLException
+     */
+    public boolean matches(ResultSetMetaData metaData) throws SQLException {
+        int columnCount = metaData.getColumnCount();
+        if (columnCount != resultColumnNames.length) {
+            return false;
+        }
+        for (int index = 0; index < columnCount; index++) {
+            if (!Objects.equals(resultColumnNames[index], metaData.getColumnName(index + 1))
+                    || !Objects.equals(resultColumnTypeNames[index], metaData.getColumnTypeName(index + 1))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getSchemaGeneration() {
+        return schemaGeneration;
+    }
+
+    public Map<String, ColumnMetadata> getColumnMetadataMap() {
+        return columnMetadataMap;
+    }
+
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    public String[] getColumnNames() {
+        return columnNames.clone();
+    }
+
+    public String getColumnName(int index) {
+        return columnNames[index];
+    }
+
+    public int getColumnIndex(int index) {
+        return columnIndexes[index];
+    }
+
+    public ColumnExtractor getExtractor(int index) {
+        return extractors[index];
+    }
+
+}
@@ -4,8 +4,6 @@ import io.github.jiashunx.sdk.sqlite3.core.exception.SQLite3Exception;
 import io.github.jiashunx.sdk.sqlite3.core.pool.SQLite3ConnectionPool;
 
 import java.sql.Connection;
-import java.util.function.Consumer;
-import java.util.function.Function;
 
 /**
  * SQLite3 写连接（支持写+读）
@@ -18,13 +16,13 @@ public class SQLite3WriteOnlyConnection extends SQLite3Connection {
     }
 
     @Override
-    public void read(Consumer<Connection> consumer) throws SQLite3Exception {
-        super.write(consumer);
+    public void openRead() throws SQLite3Exception {
+        super.openWrite();
     }
 
     @Override
-    public <R> R read(Function<Connection, R> function) throws SQLite3Exception {
-        return super.write(function);
+    public void closeRead() {
+        super.closeWrite();
     }
 
 }
@@ -0,0 +1,19 @@
+package io.github.jiashunx.sdk.sqlite3.core.type;
+
+/**
+ * SQLite3 连接池读写模式枚举
+ * @author jiashunx
+ */
+public enum SQLite3ConnectionPoolMode {
+
+    /**
+     * 默认模式（回滚日志模式，读写通过连接池读写锁互斥：多线程并发读、独占写）
+     */
+    DEFAULT,
+
+    /**
+     * WAL模式（journal_mode=WAL，读写不再通过连接池读写锁互斥，由SQLite3自身保证读写并发：多线程并发读，写时不阻塞读）
+     */
+    WAL;
+
+}
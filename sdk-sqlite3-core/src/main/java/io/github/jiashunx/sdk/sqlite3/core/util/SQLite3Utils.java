@@ -1,6 +1,8 @@
 package io.github.jiashunx.sdk.sqlite3.core.util;
 
 import io.github.jiashunx.sdk.sqlite3.core.exception.SQLite3Exception;
+import io.github.jiashunx.sdk.sqlite3.core.function.ColumnExtractor;
+import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3ResultSetMetadata;
 import io.github.jiashunx.sdk.sqlite3.metadata.ColumnMetadata;
 import io.github.jiashunx.sdk.sqlite3.metadata.QueryResult;
 import org.slf4j.Logger;
@@ -13,9 +15,11 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * SQLite3工具类
@@ -25,6 +29,41 @@ public class SQLite3Utils {
 
     private static final Logger logger = LoggerFactory.getLogger(SQLite3Utils.class);
 
+    /**
+     * 列值读取方式（按列类型）
+     */
+    private static final ColumnExtractor BOOLEAN_EXTRACTOR = ResultSet::getBoolean;
+    private static final ColumnExtractor BYTE_EXTRACTOR = ResultSet::getByte;
+    private static final ColumnExtractor SHORT_EXTRACTOR = ResultSet::getShort;
+    private static final ColumnExtractor INT_EXTRACTOR = ResultSet::getInt;
+    private static final ColumnExtractor LONG_EXTRACTOR = ResultSet::getLong;
+    private static final ColumnExtractor FLOAT_EXTRACTOR = ResultSet::getFloat;
+    private static final ColumnExtractor DOUBLE_EXTRACTOR = ResultSet::getDouble;
+    private static final ColumnExtractor BIG_DECIMAL_EXTRACTOR = ResultSet::getBigDecimal;
+    private static final ColumnExtractor STRING_EXTRACTOR = ResultSet::getString;
+    private static final ColumnExtractor DATE_EXTRACTOR = (resultSet, columnIndex) -> transferDate(resultSet.getDate(columnIndex));
+    private static final ColumnExtractor TIME_EXTRACTOR = (resultSet, columnIndex) -> transferTime(resultSet.getTime(columnIndex));
+    private static final ColumnExtractor TIMESTAMP_EXTRACTOR = (resultSet, columnIndex) -> transferTimestamp(resultSet.getTimestamp(columnIndex));
+    private static final ColumnExtractor BYTES_EXTRACTOR = ResultSet::getBytes;
+    private static final ColumnExtractor BLOB_EXTRACTOR = (resultSet, columnIndex) -> {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (InputStream inputStream = resultSet.getBinaryStream(columnIndex);) {
+            if (inputStream != null) {
+                byte[] buffer = new byte[1024];
+                int temp = 0;
+                while ((temp = inputStream.read(buffer)) >= 0) {
+                    bos.write(buffer, 0, temp);
+                }
+            }
+        } catch (SQLException exception) {
+            throw exception;
+        } catch (Throwable throwable) {
+            throw new SQLite3Exception(String.format("read blob column[%d] failed.", columnIndex), throwable);
+        }
+        return bos.toByteArray();
+    };
+    private static final ColumnExtractor OBJECT_EXTRACTOR = ResultSet::getObject;
+
     /**
      * protected构造方法
      */
@@ -42,110 +81,132 @@ public class SQLite3Utils {
         if (resultSet == null) {
             throw new NullPointerException();
         }
-        List<Map<String, Object>> retMapList = new ArrayList<>();
-        Map<String, ColumnMetadata> columnMap = parseColumnMetadata(resultSet);
+        return parseQueryResult(resultSet, parseResultSetMetadata(resultSet, 0L));
+    }
+
+    /**
+     * 解析查询返回结果（使用已解析的查询结果元数据）
+     * @param resultSet 查询返回ResultSet对象
+     * @param metadata 查询结果元数据
+     * @return 查询返回结果QueryResult对象
+     * @throws NullPointerException NullPointerException
+     * @throws SQLException SQLException
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public static QueryResult parseQueryResult(ResultSet resultSet, SQLite3ResultSetMetadata metadata)
+            throws NullPointerException, SQLException, SQLite3Exception {
+        if (resultSet == null || metadata == null) {
+            throw new NullPointerException();
+        }
+        // 列名称表头共享，每行数据以Object[]存储；每列列值读取方式已预先解析，按列下标读取
+        int columnCount = metadata.getColumnCount();
+        int[] columnIndexes = new int[columnCount];
+        ColumnExtractor[] extractors = new ColumnExtractor[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columnIndexes[i] = metadata.getColumnIndex(i);
+            extractors[i] = metadata.getExtractor(i);
+        }
+        List<Object[]> rowList = new ArrayList<>();
         while (resultSet.next()) {
-            Map<String, Object> rowMap = new HashMap<>();
-            for (Map.Entry<String, ColumnMetadata> entry: columnMap.entrySet()) {
-                String columnName = entry.getKey();
-                ColumnMetadata columnMetadata = entry.getValue();
-                String columnLabel = columnMetadata.getColumnLabel();
-                Object columnValue = null;
-                /**
-                 * java.sql.JDBCType
-                 */
-                switch (columnMetadata.getColumnTypeName()) {
-                    case "BOOLEAN":
-                    case "BIT":
-                        columnValue = resultSet.getBoolean(columnLabel);
-                        break;
-                    case "INT1":
-                    case "TINYINT":
-                        columnValue = resultSet.getByte(columnLabel);
-                        break;
-                    case "INT2":
-                    case "SMALLINT":
-                        columnValue = resultSet.getShort(columnLabel);
-                        break;
-                    case "MEDIUMINT":
-                    case "INT":
-                    case "INT4":
-                    case "INTEGER":
-                        columnValue = resultSet.getInt(columnLabel);
-                        break;
-                    case "INT8":
-                    case "BIGINT":
-                        columnValue = resultSet.getLong(columnLabel);
-                        break;
-                    case "FLOAT":
-                        columnValue = resultSet.getFloat(columnLabel);
-                        break;
-                    case "REAL":
-                    case "DOUBLE":
-                        columnValue = resultSet.getDouble(columnLabel);
-                        break;
-                    case "NUMERIC":
-                    case "DECIMAL":
-                        columnValue = resultSet.getBigDecimal(columnLabel);
-                        break;
-                    case "CHAR":
-                    case "VARCHAR":
-                    case "LONGVARCHAR":
-                    case "CLOB":
-                    case "TEXT":
-                    case "TINYTEXT":
-                    case "MEDIUMTEXT":
-                    case "LONGTEXT":
-                    case "NCHAR":
-                    case "NVARCHAR":
-                    case "LONGNVARCHAR":
-                    case "NCLOB":
-                        columnValue = resultSet.getString(columnLabel);
-                        break;
-                    case "DATE":
-                        columnValue = transferDate(resultSet.getDate(columnLabel));
-                        break;
-                    case "TIME":
-                        columnValue = transferTime(resultSet.getTime(columnLabel));
-                        break;
-                    case "TIMESTAMP":
-                        columnValue = transferTimestamp(resultSet.getTimestamp(columnLabel));
-                        break;
-                    case "BINARY":
-                    case "VARBINARY":
-                    case "LONGVARBINARY":
-                        columnValue = resultSet.getBytes(columnLabel);
-                        break;
-                    case "BLOB":
-                        ByteArrayOutputStream bos = new ByteArrayOutputStream();
-                        try (InputStream inputStream = resultSet.getBinaryStream(columnLabel);) {
-                            if (inputStream != null) {
-                                byte[] buffer = new byte[1024];
-                                int temp = 0;
-                                while ((temp = inputStream.read(buffer)) >= 0) {
-                                    bos.write(buffer, 0, temp);
-                                }
-                            }
-                        } catch (Throwable throwable) {
-                            throw new SQLite3Exception(String.format("read blob column[%s] failed.", columnName), throwable);
-                        }
-                        columnValue = bos.toByteArray();
-                        break;
-                    default:
-                        columnValue = resultSet.getObject(columnLabel);
-                        break;
-                }
-                rowMap.put(columnName, columnValue);
+            Object[] row = new Object[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                row[i] = extractors[i].extract(resultSet, columnIndexes[i]);
             }
-            retMapList.add(rowMap);
+            rowList.add(row);
+        }
+        return new QueryResult(metadata.getColumnMetadataMap(), metadata.getColumnNames(), rowList);
+    }
+
+    /**
+     * 从查询结果解析查询结果元数据
+     * @param resultSet 查询返回结果
+     * @param schemaGeneration 连接池数据库结构版本
+     * @return 查询结果元数据
+     * @throws NullPointerException NullPointerException
+     * @throws SQLException SQLException
+     */
+    public static SQLite3ResultSetMetadata parseResultSetMetadata(ResultSet resultSet, long schemaGeneration)
+            throws NullPointerException, SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        String[] resultColumnNames = new String[columnCount];
+        String[] resultColumnTypeNames = new String[columnCount];
+        for (int index = 0; index < columnCount; index++) {
+            resultColumnNames[index] = metaData.getColumnName(index + 1);
+            resultColumnTypeNames[index] = metaData.getColumnTypeName(index + 1);
+        }
+        return new SQLite3ResultSetMetadata(schemaGeneration, parseColumnMetadata(resultSet), resultColumnNames, resultColumnTypeNames);
+    }
+
+    /**
+     * 根据列类型名称获取列值读取方式（java.sql.JDBCType）
+     * @param columnTypeName 列类型名称
+     * @return 列值读取方式
+     */
+    public static ColumnExtractor getColumnExtractor(String columnTypeName) {
+        if (columnTypeName == null) {
+            return OBJECT_EXTRACTOR;
+        }
+        switch (columnTypeName) {
+            case "BOOLEAN":
+            case "BIT":
+                return BOOLEAN_EXTRACTOR;
+            case "INT1":
+            case "TINYINT":
+                return BYTE_EXTRACTOR;
+            case "INT2":
+            case "SMALLINT":
+                return SHORT_EXTRACTOR;
+            case "MEDIUMINT":
+            case "INT":
+            case "INT4":
+            case "INTEGER":
+                return INT_EXTRACTOR;
+            case "INT8":
+            case "BIGINT":
+                return LONG_EXTRACTOR;
+            case "FLOAT":
+                return FLOAT_EXTRACTOR;
+            case "REAL":
+            case "DOUBLE":
+                return DOUBLE_EXTRACTOR;
+            case "NUMERIC":
+            case "DECIMAL":
+                return BIG_DECIMAL_EXTRACTOR;
+            case "CHAR":
+            case "VARCHAR":
+            case "LONGVARCHAR":
+            case "CLOB":
+            case "TEXT":
+            case "TINYTEXT":
+            case "MEDIUMTEXT":
+            case "LONGTEXT":
+            case "NCHAR":
+            case "NVARCHAR":
+            case "LONGNVARCHAR":
+            case "NCLOB":
+                return STRING_EXTRACTOR;
+            case "DATE":
+                return DATE_EXTRACTOR;
+            case "TIME":
+                return TIME_EXTRACTOR;
+            case "TIMESTAMP":
+                return TIMESTAMP_EXTRACTOR;
+            case "BINARY":
+            case "VARBINARY":
+            case "LONGVARBINARY":
+                return BYTES_EXTRACTOR;
+            case "BLOB":
+                return BLOB_EXTRACTOR;
+            default:
+                return OBJECT_EXTRACTOR;
         }
-        return new QueryResult(columnMap, retMapList);
     }
 
     /**
      * 从查询结果解析列字段元数据信息
      * @param resultSet 查询返回结果
-     * @return 列字段名称与列字段元数据信息映射map
+     * @return 列字段名称与列字段元数据信息映射map（按列顺序，列名称重复时保留首列）
      * @throws NullPointerException NullPointerException
      * @throws SQLException SQLException
      */
@@ -153,12 +214,13 @@ public class SQLite3Utils {
         if (resultSet == null) {
             throw new NullPointerException();
         }
-        Map<String, ColumnMetadata> retMap = new HashMap<>();
+        Map<String, ColumnMetadata> retMap = new LinkedHashMap<>();
         ResultSetMetaData metaData = resultSet.getMetaData();
         int columnCount = metaData.getColumnCount();
         for (int index = 1; index <= columnCount; index++) {
             ColumnMetadata columnMetadata = new ColumnMetadata();
             String columnName = metaData.getColumnName(index);
+            columnMetadata.setColumnIndex(index);
             columnMetadata.setColumnName(columnName);
             columnMetadata.setColumnLabel(metaData.getColumnLabel(index));
             columnMetadata.setColumnType(metaData.getColumnType(index));
@@ -179,11 +241,68 @@ public class SQLite3Utils {
             columnMetadata.setWritable(metaData.isWritable(index));
             columnMetadata.setSearchable(metaData.isSearchable(index));
             columnMetadata.setSigned(metaData.isSigned(index));
-            retMap.put(columnName, columnMetadata);
+            retMap.putIfAbsent(columnName, columnMetadata);
         }
         return retMap;
     }
 
+    /**
+     * 比较版本号（按"."分隔逐段按数值比较，缺失段视为0）
+     * @param version1 版本号1，如：3.18.0
+     * @param version2 版本号2，如：3.24.0
+     * @return 小于0-版本号1较低，0-相同，大于0-版本号1较高
+     * @throws NumberFormatException 版本号格式错误
+     */
+    public static int compareVersion(String version1, String version2) throws NumberFormatException {
+        String[] parts1 = version1.trim().split("\\.");
+        String[] parts2 = version2.trim().split("\\.");
+        for (int i = 0, length = Math.max(parts1.length, parts2.length); i < length; i++) {
+            int value1 = i < parts1.length ? Integer.parseInt(parts1[i]) : 0;
+            int value2 = i < parts2.length ? Integer.parseInt(parts2[i]) : 0;
+            if (value1 != value2) {
+                return Integer.compare(value1, value2);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 写入有界并发缓存（超出缓存数量时按迭代顺序淘汰其他条目，近似淘汰，读取无需加锁）
+     * @param cache 缓存map
+     * @param key 缓存key
+     * @param value 缓存值
+     * @param maxSize 缓存数量
+     * @param <K> 缓存key类型
+     * @param <V> 缓存值类型
+     */
+    public static <K, V> void putBoundedCache(ConcurrentMap<K, V> cache, K key, V value, int maxSize) {
+        cache.put(key, value);
+        if (cache.size() <= maxSize) {
+            return;
+        }
+        Iterator<K> iterator = cache.keySet().iterator();
+        while (cache.size() > maxSize && iterator.hasNext()) {
+            if (!key.equals(iterator.next())) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * 判断sql语句是否变更数据库结构（CREATE/DROP/ALTER）
+     * @param sql sql语句
+     * @return true-变更数据库结构，false-不变更数据库结构
+     */
+    public static boolean isSchemaChangeSQL(String sql) {
+        if (sql == null) {
+            return false;
+        }
+        String $sql = sql.trim();
+        return $sql.regionMatches(true, 0, "CREATE", 0, 6)
+                || $sql.regionMatches(true, 0, "DROP", 0, 4)
+                || $sql.regionMatches(true, 0, "ALTER", 0, 5);
+    }
+
     public static void close(Statement statement) {
         close((AutoCloseable) statement);
     }
@@ -0,0 +1,73 @@
+package io.github.jiashunx.sdk.sqlite3.core;
+
+import io.github.jiashunx.sdk.sqlite3.core.exception.SQLite3Exception;
+import io.github.jiashunx.sdk.sqlite3.core.pool.SQLite3ConnectionPoolManager;
+import io.github.jiashunx.sdk.sqlite3.core.type.SQLite3ConnectionPoolMode;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQLite3JdbcTemplate单元测试（WAL模式）
+ * @author jiashunx
+ */
+public class SQLite3JdbcTemplateTest5 {
+
+    private SQLite3JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setUp() {
+        jdbcTemplate = new SQLite3JdbcTemplate(SQLite3ConnectionPoolManager.create(
+                "/app/test/sdk-sqlite3/test5.db", SQLite3ConnectionPoolMode.WAL));
+    }
+
+    @Test
+    public void test_wal() throws Exception {
+        Assert.assertEquals("wal", jdbcTemplate.queryForString("PRAGMA journal_mode"));
+        jdbcTemplate.dropTableIfExists("AAA");
+        jdbcTemplate.executeUpdate("create table AAA(field_1 varchar(20) not null, field_2 int4)");
+
+        // 写事务未提交期间，读操作不阻塞且读取到事务开始前的数据
+        CountDownLatch writeLatch = new CountDownLatch(1);
+        CountDownLatch commitLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> writeFuture = executorService.submit(() -> jdbcTemplate.doTransaction(() -> {
+                jdbcTemplate.executeUpdate("insert into AAA(field_1,field_2) values('a',1)");
+                writeLatch.countDown();
+                try {
+                    commitLatch.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            Assert.assertTrue(writeLatch.await(10, TimeUnit.SECONDS));
+            Future<Integer> readFuture = executorService.submit(() -> jdbcTemplate.queryForInt("SELECT COUNT(1) FROM AAA"));
+            Assert.assertEquals(0, readFuture.get(5, TimeUnit.SECONDS).intValue());
+            commitLatch.countDown();
+            writeFuture.get(10, TimeUnit.SECONDS);
+        } finally {
+            commitLatch.countDown();
+            executorService.shutdownNow();
+        }
+        Assert.assertEquals(1, jdbcTemplate.queryTableRowCount("AAA"));
+    }
+
+    @Test
+    public void test_pool_mode_mismatch() {
+        // 同一数据库文件已存在WAL模式连接池，按其他模式创建时直接抛出异常
+        try {
+            SQLite3ConnectionPoolManager.create("/app/test/sdk-sqlite3/test5.db", SQLite3ConnectionPoolMode.DEFAULT);
+            Assert.fail();
+        } catch (SQLite3Exception exception) {
+            // expected
+        }
+    }
+
+}
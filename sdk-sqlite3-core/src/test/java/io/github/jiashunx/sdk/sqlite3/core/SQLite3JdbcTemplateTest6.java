@@ -0,0 +1,161 @@
+package io.github.jiashunx.sdk.sqlite3.core;
+
+import io.github.jiashunx.sdk.sqlite3.core.exception.SQLite3Exception;
+import io.github.jiashunx.sdk.sqlite3.core.pool.SQLite3ConnectionPool;
+import io.github.jiashunx.sdk.sqlite3.core.pool.SQLite3ConnectionPoolManager;
+import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3Connection;
+import io.github.jiashunx.sdk.sqlite3.metadata.ColumnMetadata;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQLite3ConnectionPool单元测试（连接借还、预编译语句缓存、查询结果元数据缓存）
+ * @author jiashunx
+ */
+public class SQLite3JdbcTemplateTest6 {
+
+    private static final String URL = "jdbc:sqlite:/app/test/sdk-sqlite3/test6.db";
+
+    @Test
+    public void test_borrow_and_release() throws Exception {
+        new File("/app/test/sdk-sqlite3").mkdirs();
+        SQLite3ConnectionPool pool = new SQLite3ConnectionPool(DriverManager.getConnection(URL), DriverManager.getConnection(URL));
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            SQLite3Connection connection = pool.fetchReadConnection(100);
+            Assert.assertNotNull(connection);
+            // 无可用连接，超时返回null
+            Assert.assertNull(pool.fetchReadConnection(100));
+            // 重复归还忽略
+            pool.release(connection);
+            pool.release(connection);
+            Assert.assertSame(connection, pool.fetchReadConnection(100));
+            Assert.assertNull(pool.fetchReadConnection(100));
+            // 归还连接直接交接给等待线程
+            Future<SQLite3Connection> future = executorService.submit(() -> pool.fetchReadConnection(5000));
+            Thread.sleep(200);
+            pool.release(connection);
+            Assert.assertSame(connection, future.get(5, TimeUnit.SECONDS));
+            pool.release(connection);
+        } finally {
+            executorService.shutdownNow();
+        }
+        pool.close();
+        try {
+            pool.fetchReadConnection(100);
+            Assert.fail();
+        } catch (SQLite3Exception exception) {
+            // 连接池已关闭
+        }
+    }
+
+    @Test
+    public void test_statement_cache() {
+        SQLite3ConnectionPool pool = SQLite3ConnectionPoolManager.create("/app/test/sdk-sqlite3/test6.db");
+        SQLite3JdbcTemplate jdbcTemplate = new SQLite3JdbcTemplate(pool);
+        jdbcTemplate.dropTableIfExists("AAA");
+        jdbcTemplate.executeUpdate("create table AAA(field_1 varchar(20) primary key, field_2 int4)");
+        for (int i = 0; i < 10; i++) {
+            final int value = i;
+            jdbcTemplate.executeUpdate("insert into AAA(field_1,field_2) values(?,?)", statement -> {
+                statement.setString(1, "key" + value);
+                statement.setInt(2, value);
+            });
+        }
+        long hitCount = pool.getStatementCacheHitCount();
+        for (int i = 0; i < 10; i++) {
+            final int value = i;
+            Assert.assertEquals(value, jdbcTemplate.queryForInt("select field_2 from AAA where field_1=?", statement -> {
+                statement.setString(1, "key" + value);
+            }));
+        }
+        Assert.assertTrue(pool.getStatementCacheHitCount() > hitCount);
+        // 执行失败的语句归还缓存后仍可正常使用
+        try {
+            jdbcTemplate.executeUpdate("insert into AAA(field_1,field_2) values(?,?)", statement -> {
+                statement.setString(1, "key0");
+                statement.setInt(2, 0);
+            });
+            Assert.fail();
+        } catch (SQLite3Exception exception) {
+            // 主键冲突
+        }
+        jdbcTemplate.executeUpdate("insert into AAA(field_1,field_2) values(?,?)", statement -> {
+            statement.setString(1, "key10");
+            statement.setInt(2, 10);
+        });
+        Assert.assertEquals(11, jdbcTemplate.queryTableRowCount("AAA"));
+        // 未执行的批量参数不随语句归还缓存，下次借用同sql语句时不会被执行
+        try {
+            jdbcTemplate.executeUpdate("insert into AAA(field_1,field_2) values(?,?)", statement -> {
+                statement.setString(1, "key11");
+                statement.setInt(2, 11);
+                statement.addBatch();
+                throw new IllegalStateException("abort before executeBatch");
+            });
+            Assert.fail();
+        } catch (RuntimeException exception) {
+            // expected
+        }
+        jdbcTemplate.executeUpdate("insert into AAA(field_1,field_2) values(?,?)", statement -> {
+            statement.setString(1, "key12");
+            statement.setInt(2, 12);
+        });
+        Assert.assertEquals(12, jdbcTemplate.queryTableRowCount("AAA"));
+        Assert.assertEquals(0, jdbcTemplate.queryForInt("select count(1) from AAA where field_1='key11'"));
+        jdbcTemplate.executeUpdate("delete from AAA where field_1='key12'");
+        // 数据库结构变更后缓存的预编译语句失效
+        Assert.assertEquals(2, jdbcTemplate.queryForMap("select * from AAA where field_1='key1'").size());
+        // 查询结果元数据按sql语句缓存复用
+        Map<String, ColumnMetadata> metadataMap = jdbcTemplate.queryTableColumnMetadata("AAA");
+        Assert.assertSame(metadataMap, jdbcTemplate.queryTableColumnMetadata("AAA"));
+        try {
+            metadataMap.clear();
+            Assert.fail();
+        } catch (UnsupportedOperationException exception) {
+            // 缓存的元数据不可修改
+        }
+        jdbcTemplate.executeUpdate("alter table AAA add column field_3 varchar(20)");
+        Assert.assertNotSame(metadataMap, jdbcTemplate.queryTableColumnMetadata("AAA"));
+        Assert.assertEquals(3, jdbcTemplate.queryTableColumnMetadata("AAA").size());
+        Map<String, Object> rowMap = jdbcTemplate.queryForMap("select * from AAA where field_1='key1'");
+        Assert.assertEquals(3, rowMap.size());
+        Assert.assertTrue(rowMap.containsKey("field_3"));
+        // 连接池外变更数据库结构，结果列数变化时重新解析元数据
+        try (Connection connection = DriverManager.getConnection(URL); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("alter table AAA add column field_4 int4");
+        } catch (SQLException exception) {
+            throw new RuntimeException(exception);
+        }
+        rowMap = jdbcTemplate.queryForMap("select * from AAA where field_1='key1'");
+        Assert.assertEquals(4, rowMap.size());
+        Assert.assertTrue(rowMap.containsKey("field_4"));
+        // 连接池外重建数据表，结果列数不变但列名称、列类型变化时重新解析元数据
+        jdbcTemplate.executeUpdate("drop table if exists BBB");
+        jdbcTemplate.executeUpdate("create table BBB(field_1 varchar(20), field_2 varchar(20))");
+        jdbcTemplate.executeUpdate("insert into BBB(field_1,field_2) values('key1','2')");
+        Assert.assertEquals("2", jdbcTemplate.queryForMap("select * from BBB").get("field_2"));
+        try (Connection connection = DriverManager.getConnection(URL); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("drop table BBB");
+            statement.executeUpdate("create table BBB(field_1 varchar(20), field_3 int)");
+            statement.executeUpdate("insert into BBB(field_1,field_3) values('key1',3)");
+        } catch (SQLException exception) {
+            throw new RuntimeException(exception);
+        }
+        rowMap = jdbcTemplate.queryForMap("select * from BBB");
+        Assert.assertFalse(rowMap.containsKey("field_2"));
+        Assert.assertEquals(3, rowMap.get("field_3"));
+    }
+
+}
@@ -0,0 +1,193 @@
+package io.github.jiashunx.sdk.sqlite3.core;
+
+import io.github.jiashunx.sdk.sqlite3.core.exception.SQLite3Exception;
+import io.github.jiashunx.sdk.sqlite3.core.pool.SQLite3ConnectionPool;
+import io.github.jiashunx.sdk.sqlite3.core.pool.SQLite3ConnectionPoolManager;
+import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3Connection;
+import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3Cursor;
+import io.github.jiashunx.sdk.sqlite3.metadata.QueryResult;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * SQLite3JdbcTemplate单元测试（单值查询、查询结果、逐行处理、游标及Stream查询）
+ * @author jiashunx
+ */
+public class SQLite3JdbcTemplateTest7 {
+
+    private SQLite3ConnectionPool pool;
+
+    private SQLite3JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setUp() {
+        // 仅一个读连接，游标未释放连接则后续读操作无法获取连接
+        pool = SQLite3ConnectionPoolManager.create("/app/test/sdk-sqlite3/test7.db", 2);
+        jdbcTemplate = new SQLite3JdbcTemplate(pool);
+        jdbcTemplate.dropTableIfExists("AAA");
+        jdbcTemplate.executeUpdate("create table AAA(field_1 varchar(20) not null, field_2 int4)");
+        jdbcTemplate.batchUpdate("insert into AAA(field_1,field_2) values(?,?)", 1000, (index, statement) -> {
+            statement.setString(1, "value" + index);
+            statement.setInt(2, index);
+        });
+    }
+
+    @Test
+    public void test_query_scalar() {
+        Assert.assertEquals(1000, jdbcTemplate.queryForInt("select count(1) from AAA"));
+        Assert.assertEquals(499500L, jdbcTemplate.queryForLong("select sum(field_2) from AAA"));
+        Assert.assertEquals(499.5D, jdbcTemplate.queryForDouble("select avg(field_2) from AAA"), 0.0001D);
+        Assert.assertEquals("value7", jdbcTemplate.queryForString("select field_1 from AAA where field_2=?", statement -> {
+            statement.setInt(1, 7);
+        }));
+        Assert.assertEquals(7, jdbcTemplate.queryForOneValue("select field_2 from AAA where field_1='value7'"));
+        Assert.assertNull(jdbcTemplate.queryForString("select max(field_1) from AAA where field_2 < 0"));
+        assertQueryFailed(() -> jdbcTemplate.queryForInt("select max(field_2) from AAA where field_2 < 0"));
+        assertQueryFailed(() -> jdbcTemplate.queryForInt("select field_2 from AAA where field_2 < 0"));
+        assertQueryFailed(() -> jdbcTemplate.queryForInt("select field_2 from AAA where field_2 < 2"));
+        assertQueryFailed(() -> jdbcTemplate.queryForInt("select field_2, field_1 from AAA where field_2 = 1"));
+        assertReadConnectionReleased();
+    }
+
+    @Test
+    public void test_query_result() {
+        QueryResult queryResult = jdbcTemplate.queryForResult("select field_2, field_1, field_2 as field_3 from AAA where field_2 < 3 order by field_2");
+        Assert.assertArrayEquals(new String[]{ "field_2", "field_1", "field_3" }, queryResult.getColumnNames());
+        Assert.assertEquals(3, queryResult.getRowCount());
+        Assert.assertEquals(1, queryResult.getColumnIndex("field_1"));
+        Assert.assertEquals("value2", queryResult.getValue(2, 1));
+        Assert.assertEquals(Arrays.asList("field_2", "field_1", "field_3"), Arrays.asList(queryResult.getColumnMetadataMap().keySet().toArray()));
+        List<Map<String, Object>> retMapList = queryResult.getRetMapList();
+        Assert.assertEquals(3, retMapList.size());
+        Map<String, Object> rowMap = retMapList.get(1);
+        Assert.assertEquals(3, rowMap.size());
+        Assert.assertEquals(1, rowMap.get("field_2"));
+        Assert.assertEquals("value1", rowMap.get("field_1"));
+        Assert.assertEquals(Arrays.asList("field_2", "field_1", "field_3"), Arrays.asList(rowMap.keySet().toArray()));
+        Assert.assertNull(rowMap.get("field_4"));
+        // getRetMapList返回可修改的Map
+        rowMap.put("field_4", "extra");
+        rowMap.remove("field_3");
+        Assert.assertSame(rowMap, queryResult.getRetMapList().get(1));
+        Assert.assertEquals(Arrays.asList("field_2", "field_1", "field_4"), Arrays.asList(rowMap.keySet().toArray()));
+        Assert.assertEquals(1, queryResult.getValue(1, 2));
+        // 修改Map值及迭代修改均不影响行数据
+        Map<String, Object> rowMap0 = retMapList.get(0);
+        rowMap0.entrySet().iterator().next().setValue(100);
+        Assert.assertEquals(100, rowMap0.get("field_2"));
+        Assert.assertEquals(0, queryResult.getValue(0, 0));
+        Assert.assertEquals(0, queryResult.getRowMapViewList().get(0).get("field_2"));
+        retMapList.remove(2);
+        Assert.assertEquals(3, queryResult.getRowCount());
+        // Map视图与行数据共享存储
+        Map<String, Object> rowView = queryResult.getRowMapViewList().get(2);
+        Assert.assertEquals(Arrays.asList("field_2", "field_1", "field_3"), Arrays.asList(rowView.keySet().toArray()));
+        rowView.put("field_1", "changed");
+        Assert.assertEquals("changed", queryResult.getValue(2, 1));
+        try {
+            rowView.put("field_4", "extra");
+            Assert.fail();
+        } catch (UnsupportedOperationException exception) {
+            // expected
+        }
+    }
+
+    @Test
+    public void test_query_callback() {
+        AtomicInteger counter = new AtomicInteger(0);
+        jdbcTemplate.query("select field_2 from AAA where field_2 >= ?", statement -> {
+            statement.setInt(1, 500);
+        }, resultSet -> {
+            Assert.assertTrue(resultSet.getInt(1) >= 500);
+            counter.incrementAndGet();
+        });
+        Assert.assertEquals(500, counter.get());
+        assertReadConnectionReleased();
+    }
+
+    @Test
+    public void test_query_cursor() {
+        int sum = 0;
+        try (SQLite3Cursor<Integer> cursor = jdbcTemplate.queryForCursor("select field_2 from AAA order by field_2"
+                , (resultSet, rowNum) -> resultSet.getInt(1))) {
+            while (cursor.hasNext()) {
+                sum += cursor.next();
+            }
+            Assert.assertTrue(cursor.isClosed());
+        }
+        Assert.assertEquals(999 * 1000 / 2, sum);
+        assertReadConnectionReleased();
+        // 未遍历结束提前关闭
+        try (SQLite3Cursor<String> cursor = jdbcTemplate.queryForCursor("select field_1 from AAA order by field_2"
+                , (resultSet, rowNum) -> resultSet.getString(1))) {
+            Assert.assertEquals("value0", cursor.next());
+        }
+        assertReadConnectionReleased();
+    }
+
+    @Test
+    public void test_query_stream() {
+        try (Stream<String> stream = jdbcTemplate.queryForStream("select field_1 from AAA where field_2 < ?", statement -> {
+            statement.setInt(1, 10);
+        }, (resultSet, rowNum) -> resultSet.getString(1))) {
+            Assert.assertEquals(10, stream.filter(value -> value.startsWith("value")).count());
+        }
+        assertReadConnectionReleased();
+    }
+
+    @Test(timeout = 10000L)
+    public void test_write_in_open_stream() {
+        // 非WAL模式下Stream未关闭时写操作直接失败，不永久阻塞
+        try (Stream<Integer> stream = jdbcTemplate.queryForStream("select field_2 from AAA where field_2 < 3"
+                , (resultSet, rowNum) -> resultSet.getInt(1))) {
+            stream.forEach(value -> jdbcTemplate.executeUpdate("update AAA set field_1='x' where field_2=?", statement -> {
+                statement.setInt(1, value);
+            }));
+            Assert.fail();
+        } catch (SQLite3Exception exception) {
+            // expected
+        }
+        assertReadConnectionReleased();
+        // 组提交模式下同样直接失败
+        jdbcTemplate.enableGroupCommit(10L, 16);
+        try (SQLite3Cursor<Integer> cursor = jdbcTemplate.queryForCursor("select field_2 from AAA where field_2 < 3"
+                , (resultSet, rowNum) -> resultSet.getInt(1))) {
+            jdbcTemplate.executeUpdate("update AAA set field_1='x' where field_2=?", statement -> statement.setInt(1, cursor.next()));
+            Assert.fail();
+        } catch (SQLite3Exception exception) {
+            // expected
+        } finally {
+            jdbcTemplate.disableGroupCommit();
+        }
+        // Stream关闭后可正常写入
+        Assert.assertEquals(1, jdbcTemplate.executeUpdate("update AAA set field_1='x' where field_2=1"));
+        Assert.assertEquals(0, jdbcTemplate.queryForInt("select count(1) from AAA where field_1='x' and field_2<>1"));
+    }
+
+    private void assertQueryFailed(Runnable runnable) {
+        try {
+            runnable.run();
+            Assert.fail();
+        } catch (SQLite3Exception exception) {
+            // 无数据、NULL、多行或多列
+        }
+    }
+
+    private void assertReadConnectionReleased() {
+        try {
+            SQLite3Connection connection = pool.fetchReadConnection(1000);
+            Assert.assertNotNull(connection);
+            connection.release();
+        } catch (InterruptedException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+}
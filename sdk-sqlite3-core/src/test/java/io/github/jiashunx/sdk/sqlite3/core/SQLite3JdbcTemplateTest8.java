@@ -0,0 +1,100 @@
+package io.github.jiashunx.sdk.sqlite3.core;
+
+import io.github.jiashunx.sdk.sqlite3.core.exception.SQLite3Exception;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SQLite3JdbcTemplate单元测试（组提交）
+ * @author jiashunx
+ */
+public class SQLite3JdbcTemplateTest8 {
+
+    private SQLite3JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void setUp() {
+        jdbcTemplate = new SQLite3JdbcTemplate("/app/test/sdk-sqlite3/test8.db");
+        jdbcTemplate.dropTableIfExists("AAA");
+        jdbcTemplate.executeUpdate("create table AAA(field_1 int primary key, field_2 varchar(20) not null)");
+    }
+
+    @After
+    public void tearDown() {
+        jdbcTemplate.disableGroupCommit();
+    }
+
+    @Test
+    public void test_group_commit() throws InterruptedException {
+        jdbcTemplate.enableGroupCommit(5, 64);
+        Assert.assertTrue(jdbcTemplate.isGroupCommitEnabled());
+        int threadCount = 20, rowCount = 20;
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger failedCount = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            int threadIndex = i;
+            new Thread(() -> {
+                try {
+                    for (int j = 0; j < rowCount; j++) {
+                        int key = threadIndex * rowCount + j;
+                        try {
+                            // 偶数行重复插入同一主键，仅该写请求失败
+                            jdbcTemplate.executeUpdate("insert into AAA(field_1,field_2) values(?,?)", statement -> {
+                                statement.setInt(1, key % 2 == 0 ? -1 : key);
+                                statement.setString(2, "value" + key);
+                            });
+                            successCount.incrementAndGet();
+                        } catch (SQLite3Exception exception) {
+                            failedCount.incrementAndGet();
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+        // 仅第一条主键为-1的写请求成功
+        Assert.assertEquals(threadCount * rowCount / 2 + 1, successCount.get());
+        Assert.assertEquals(threadCount * rowCount / 2 - 1, failedCount.get());
+        Assert.assertEquals(successCount.get(), jdbcTemplate.queryForInt("select count(1) from AAA"));
+
+        List<CompletableFuture<Integer>> futureList = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            int key = 10000 + i;
+            futureList.add(jdbcTemplate.submitUpdate("insert into AAA(field_1,field_2) values(?,?)", statement -> {
+                statement.setInt(1, key);
+                statement.setString(2, "value" + key);
+            }));
+        }
+        CompletableFuture<Integer> failedFuture = jdbcTemplate.submitUpdate("insert into BBB(field_1) values(1)");
+        futureList.forEach(future -> Assert.assertEquals(1, future.join().intValue()));
+        try {
+            failedFuture.join();
+            Assert.fail();
+        } catch (CompletionException exception) {
+            Assert.assertTrue(exception.getCause() instanceof SQLite3Exception);
+        }
+
+        // 事务内不经过组提交队列
+        jdbcTemplate.doTransaction(() -> {
+            jdbcTemplate.executeUpdate("delete from AAA where field_1>=10000");
+        });
+        Assert.assertEquals(0, jdbcTemplate.queryForInt("select count(1) from AAA where field_1>=10000"));
+
+        jdbcTemplate.disableGroupCommit();
+        Assert.assertFalse(jdbcTemplate.isGroupCommitEnabled());
+        Assert.assertEquals(1, jdbcTemplate.submitUpdate("delete from AAA where field_1=-1").join().intValue());
+    }
+
+}
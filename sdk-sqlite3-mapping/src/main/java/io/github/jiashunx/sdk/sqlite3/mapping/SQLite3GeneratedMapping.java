@@ -0,0 +1,116 @@
+package io.github.jiashunx.sdk.sqlite3.mapping;
+
+import io.github.jiashunx.sdk.sqlite3.core.function.RowMapper;
+import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3PreparedStatement;
+import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3ResultSetMetadata;
+import io.github.jiashunx.sdk.sqlite3.metadata.ColumnMetadata;
+
+import java.util.Map;
+
+/**
+ * SQLite3 编译期生成的模型映射（由sdk-sqlite3-processor注解处理器为@SQLite3Table模型生成，运行时存在则优先使用，无需反射访问模型字段）
+ * <p>生成类与模型类位于同一包下，类名为模型类二进制名称（不含包名）+ {@link #CLASS_NAME_SUFFIX}。</p>
+ * <p>插入及更新语句参数顺序：非主键字段（按声明顺序）+ 主键字段。</p>
+ * @param <T> 模型类型
+ * @author jiashunx
+ */
+public interface SQLite3GeneratedMapping<T> {
+
+    /**
+     * 生成类名后缀
+     */
+    String CLASS_NAME_SUFFIX = "_SQLite3Mapping";
+
+    /**
+     * 获取模型Class对象
+     * @return 模型Class对象
+     */
+    Class<T> getEntityClass();
+
+    /**
+     * 获取表名称
+     * @return 表名称
+     */
+    String getTableName();
+
+    /**
+     * 获取主键列名称
+     * @return 主键列名称
+     */
+    String getIdColumnName();
+
+    /**
+     * 获取单条插入SQL
+     * @return 单条插入SQL: insert into table_name(field1,field2,id) values(?,?,?)
+     */
+    String sqlOfInsert();
+
+    /**
+     * 获取单条插入或更新SQL（主键冲突时更新非主键字段，参数赋值同插入SQL）
+     * @return 单条插入或更新SQL: insert into table_name(field1,field2,id) values(?,?,?) on conflict(id) do update set field1=excluded.field1,field2=excluded.field2
+     */
+    String sqlOfUpsert();
+
+    /**
+     * 获取单条更新SQL（根据主键更新）
+     * @return 单条更新SQL: update table_name set field1=?,field2=? where id=?
+     */
+    String sqlOfUpdate();
+
+    /**
+     * 获取删除SQL（根据主键删除）
+     * @return 删除SQL: delete from table_name where id=?
+     */
+    String sqlOfDeleteById();
+
+    /**
+     * 获取查询SQL（查询所有）
+     * @return 查询SQL: select * from table_name
+     */
+    String sqlOfSelectAll();
+
+    /**
+     * 获取查询SQL（根据主键查询）
+     * @return 查询SQL: select * from table_name where id=?
+     */
+    String sqlOfSelectById();
+
+    /**
+     * 获取模型实例主键字段值
+     * @param entity 模型实例
+     * @return 主键字段值
+     */
+    Object getIdFieldValue(T entity);
+
+    /**
+     * 插入SQL预处理赋值
+     * @param entity 模型实例
+     * @param statement SQLite3PreparedStatement
+     * @param columnMetadata 数据表字段定义信息
+     */
+    void bindInsert(T entity, SQLite3PreparedStatement statement, Map<String, ColumnMetadata> columnMetadata);
+
+    /**
+     * 更新SQL预处理赋值
+     * @param entity 模型实例
+     * @param statement SQLite3PreparedStatement
+     * @param columnMetadata 数据表字段定义信息
+     */
+    void bindUpdate(T entity, SQLite3PreparedStatement statement, Map<String, ColumnMetadata> columnMetadata);
+
+    /**
+     * 删除SQL（根据主键删除）预处理赋值
+     * @param entity 模型实例
+     * @param statement SQLite3PreparedStatement
+     * @param columnMetadata 数据表字段定义信息
+     */
+    void bindDeleteById(T entity, SQLite3PreparedStatement statement, Map<String, ColumnMetadata> columnMetadata);
+
+    /**
+     * 根据查询结果元数据创建行映射（列下标在创建时解析）
+     * @param metadata 查询结果元数据
+     * @return 行映射
+     */
+    RowMapper<T> newRowMapper(SQLite3ResultSetMetadata metadata);
+
+}
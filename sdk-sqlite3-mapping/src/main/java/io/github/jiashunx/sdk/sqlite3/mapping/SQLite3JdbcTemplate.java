@@ -1,22 +1,31 @@
 package io.github.jiashunx.sdk.sqlite3.mapping;
 
 import io.github.jiashunx.sdk.sqlite3.core.exception.SQLite3Exception;
+import io.github.jiashunx.sdk.sqlite3.core.function.RowMapper;
 import io.github.jiashunx.sdk.sqlite3.core.pool.SQLite3ConnectionPool;
 import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3PreparedStatement;
+import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3ResultSetMetadata;
+import io.github.jiashunx.sdk.sqlite3.mapping.util.SQLite3EntityMapper;
+import io.github.jiashunx.sdk.sqlite3.mapping.util.SQLite3ProjectionMapper;
 import io.github.jiashunx.sdk.sqlite3.mapping.util.SQLite3Utils;
 import io.github.jiashunx.sdk.sqlite3.metadata.ColumnMetadata;
+import io.github.jiashunx.sdk.sqlite3.metadata.QueryRetProjectionModel;
 import io.github.jiashunx.sdk.sqlite3.metadata.TableModel;
+import io.github.jiashunx.sdk.sqlite3.metadata.TrackableEntity;
+import io.github.jiashunx.sdk.sqlite3.metadata.annotation.SQLite3Table;
 import io.github.jiashunx.sdk.sqlite3.metadata.xml.SQLPackage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.function.BiFunction;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * 封装SQLite3 JDBC操作模型（模型映射）
@@ -26,6 +35,16 @@ public class SQLite3JdbcTemplate extends io.github.jiashunx.sdk.sqlite3.core.SQL
 
     private static final Logger logger = LoggerFactory.getLogger(SQLite3JdbcTemplate.class);
 
+    /**
+     * 支持INSERT ... ON CONFLICT DO UPDATE语法的最低SQLite3版本
+     */
+    private static final String UPSERT_MIN_VERSION = "3.24.0";
+
+    /**
+     * 模型实例行映射缓存（key-sql语句+模型Class对象，超出缓存数量时近似淘汰，读取无需加锁，缓存数量与查询结果元数据缓存数量一致）
+     */
+    private final ConcurrentHashMap<EntityMapperKey, EntityMapperEntry> entityMapperCache = new ConcurrentHashMap<>();
+
     /**
      * 构造方法
      * @param fileName SQLite3数据库地址
@@ -98,7 +117,93 @@ public class SQLite3JdbcTemplate extends io.github.jiashunx.sdk.sqlite3.core.SQL
      */
     public <R> List<R> queryForList(String sql, Consumer<SQLite3PreparedStatement> consumer, Class<R> klass)
             throws SQLite3Exception {
-        return SQLite3Utils.parseQueryResult(queryForResult(sql, consumer), klass);
+        return queryForMappedList(sql, consumer, entityMapperFactory(sql, klass));
+    }
+
+    /**
+     * 查询并返回模型实例Stream（逐行映射，基于游标实现，须在当前线程消费并关闭Stream，建议使用try-with-resources）
+     * @param sql 待执行sql语句（占位）
+     * @param consumer sql语句预编译处理
+     * @param klass 模型Class对象
+     * @param <R> 返回对象类型
+     * @return 模型实例Stream
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public <R> Stream<R> queryForStream(String sql, Consumer<SQLite3PreparedStatement> consumer, Class<R> klass)
+            throws SQLite3Exception {
+        return queryForMappedStream(sql, consumer, entityMapperFactory(sql, klass));
+    }
+
+    /**
+     * 获取模型实例行映射创建方法（可跟踪模型映射后记录表字段值快照）
+     * @param sql 待执行sql语句（占位）
+     * @param klass 模型Class对象
+     * @param <R> 返回对象类型
+     * @return 行映射创建方法
+     */
+    private <R> Function<SQLite3ResultSetMetadata, RowMapper<R>> entityMapperFactory(String sql, Class<R> klass) {
+        Objects.requireNonNull(klass);
+        if (TrackableEntity.class.isAssignableFrom(klass) && klass.isAnnotationPresent(SQLite3Table.class)) {
+            // 可跟踪模型查询后记录表字段值快照
+            TableModel tableModel = SQLite3Utils.getClassTableModel(klass);
+            return metadata -> {
+                RowMapper<R> rowMapper = getEntityMapper(sql, metadata, klass);
+                if (isInTransaction()) {
+                    // 事务中查询到的数据可能随事务回滚失效，不记录快照
+                    return rowMapper;
+                }
+                return (resultSet, rowNum) -> {
+                    R entity = rowMapper.mapRow(resultSet, rowNum);
+                    SQLite3Utils.trackEntity(entity, tableModel);
+                    return entity;
+                };
+            };
+        }
+        return metadata -> getEntityMapper(sql, metadata, klass);
+    }
+
+    /**
+     * 获取模型实例行映射（查询结果元数据未变更时复用已缓存映射计划，存在编译期生成的模型映射时优先使用）
+     * @param sql 待执行sql语句（占位）
+     * @param metadata 查询结果元数据
+     * @param klass 模型Class对象
+     * @param <R> 返回对象类型
+     * @return 模型实例行映射
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    @SuppressWarnings("unchecked")
+    private <R> RowMapper<R> getEntityMapper(String sql, SQLite3ResultSetMetadata metadata, Class<R> klass) throws SQLite3Exception {
+        if (getConnectionPool().getMetadataCacheSize() <= 0) {
+            return newEntityMapper(metadata, klass);
+        }
+        EntityMapperKey key = new EntityMapperKey(sql, klass);
+        EntityMapperEntry entry = entityMapperCache.get(key);
+        // 查询结果元数据按sql缓存，实例不一致说明数据库结构已变更，需重新计算映射计划
+        if (entry == null || entry.metadata != metadata) {
+            entry = new EntityMapperEntry(metadata, newEntityMapper(metadata, klass));
+            SQLite3Utils.putBoundedCache(entityMapperCache, key, entry, getConnectionPool().getMetadataCacheSize());
+        }
+        return (RowMapper<R>) entry.rowMapper;
+    }
+
+    /**
+     * 创建模型实例行映射（优先使用编译期生成的行映射，其次为不可变投影映射，否则按字段赋值映射）
+     * @param metadata 查询结果元数据
+     * @param klass 模型Class对象
+     * @param <R> 返回对象类型
+     * @return 模型实例行映射
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    private static <R> RowMapper<R> newEntityMapper(SQLite3ResultSetMetadata metadata, Class<R> klass) throws SQLite3Exception {
+        SQLite3GeneratedMapping<R> generatedMapping = SQLite3Utils.getGeneratedMapping(klass);
+        if (generatedMapping != null) {
+            return generatedMapping.newRowMapper(metadata);
+        }
+        QueryRetProjectionModel projectionModel = SQLite3Utils.getClassProjectionModel(klass);
+        if (projectionModel != null) {
+            return new SQLite3ProjectionMapper<>(metadata, projectionModel, klass);
+        }
+        return new SQLite3EntityMapper<>(metadata, klass);
     }
 
     /**
@@ -120,7 +225,7 @@ public class SQLite3JdbcTemplate extends io.github.jiashunx.sdk.sqlite3.core.SQL
      * @throws SQLite3Exception SQLite3Exception
      */
     public int insert(List<?> objList) throws SQLite3Exception {
-        return execute(objList, TableModel::sqlOfInsert);
+        return execute(objList, ModelOperation.INSERT);
     }
 
     /**
@@ -136,13 +241,83 @@ public class SQLite3JdbcTemplate extends io.github.jiashunx.sdk.sqlite3.core.SQL
     }
 
     /**
-     * 更新多条模型
+     * 更新多条模型（TrackableEntity模型已记录字段值快照时仅更新变更字段）
      * @param objList 模型实例列表
      * @return 更新条数
      * @throws SQLite3Exception SQLite3Exception
      */
     public int update(List<?> objList) throws SQLite3Exception {
-        return execute(objList, TableModel::sqlOfUpdate);
+        return execute(objList, ModelOperation.UPDATE);
+    }
+
+    /**
+     * 插入或更新单一模型（主键冲突时更新）
+     * @param object 模型实例
+     * @return 插入或更新条数
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public int upsert(Object object) throws SQLite3Exception {
+        List<Object> objectList = new ArrayList<>(1);
+        objectList.add(object);
+        return upsert(objectList);
+    }
+
+    /**
+     * 插入或更新多条模型（主键冲突时更新）
+     * <p>SQLite3 3.24.0及以上版本使用INSERT ... ON CONFLICT(id) DO UPDATE，仅更新模型映射字段；
+     * 低版本在同一事务中先按主键UPDATE，更新条数为0的模型再INSERT（语义一致，不使用INSERT OR REPLACE删除原记录）。</p>
+     * @param objList 模型实例列表
+     * @return 插入或更新条数
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public int upsert(List<?> objList) throws SQLite3Exception {
+        if (Objects.requireNonNull(objList).isEmpty()) {
+            return 0;
+        }
+        if (isSQLiteVersionAtLeast(UPSERT_MIN_VERSION)) {
+            return execute(objList, ModelOperation.UPSERT);
+        }
+        return updateOrInsert(objList);
+    }
+
+    /**
+     * 插入或更新多条模型（不支持UPSERT语法的低版本SQLite3：同一事务中先按主键更新，未更新的模型再插入）
+     * @param objList 模型实例列表
+     * @return 插入或更新条数
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    private int updateOrInsert(List<?> objList) throws SQLite3Exception {
+        boolean inOuterTransaction = isInTransaction();
+        int retValue = doTransaction(() -> {
+            int effectedRowCount = 0;
+            List<Object> insertList = new ArrayList<>();
+            for (Object object: objList) {
+                Object $object = Objects.requireNonNull(object);
+                if ($object instanceof TrackableEntity) {
+                    // 按全部字段更新，避免无变更字段时跳过更新而误判记录不存在
+                    ((TrackableEntity) $object).clearTrackedValues();
+                }
+                int updatedRowCount = update($object);
+                if (updatedRowCount == 0) {
+                    insertList.add($object);
+                } else {
+                    effectedRowCount += updatedRowCount;
+                }
+            }
+            if (!insertList.isEmpty()) {
+                effectedRowCount += insert(insertList);
+            }
+            return effectedRowCount;
+        });
+        if (!inOuterTransaction) {
+            // 事务提交后记录可跟踪模型字段值快照
+            objList.forEach(object -> {
+                if (object instanceof TrackableEntity) {
+                    SQLite3Utils.trackEntity(object, SQLite3Utils.getClassTableModel(object.getClass()));
+                }
+            });
+        }
+        return retValue;
     }
 
     /**
@@ -164,35 +339,25 @@ public class SQLite3JdbcTemplate extends io.github.jiashunx.sdk.sqlite3.core.SQL
      * @throws SQLite3Exception SQLite3Exception
      */
     public int delete(List<?> objList) throws SQLite3Exception {
-        return execute(objList, TableModel::sqlOfDeleteById, (object, tableModel) -> SQLite3Utils.buildTableConsumer(object, tableModel, (tcm, cm) -> tcm.isIdColumn()));
-    }
-
-    /**
-     * 增删改处理（支持多条相同处理，如批量新增|批量更新|批量删除）
-     * @param objList 待处理模型实例列表
-     * @param sqlFunc sql构造处理
-     * @return 增删改条数
-     * @throws SQLite3Exception SQLite3Exception
-     */
-    private int execute(List<?> objList, Function<TableModel, String> sqlFunc) throws SQLite3Exception {
-        return execute(objList, sqlFunc, SQLite3Utils::buildTableConsumer);
+        return execute(objList, ModelOperation.DELETE);
     }
 
     /**
-     * 增删改处理（支持多条相同处理，如批量新增|批量更新|批量删除）
+     * 增删改处理（支持多条相同处理，如批量新增|批量更新|批量删除）（存在编译期生成的模型映射时使用生成的sql及预处理赋值，连续的同一模型实例复用同一预编译sql）
      * @param objList 待处理模型实例列表
-     * @param sqlFunc sql构造处理
-     * @param statementFunc sql预处理对象生成器
+     * @param operation 模型操作类型
      * @return 增删改条数
      * @throws SQLite3Exception SQLite3Exception
      */
-    private int execute(List<?> objList, Function<TableModel, String> sqlFunc, BiFunction<Object, TableModel
-            , Consumer<SQLite3PreparedStatement>> statementFunc) throws SQLite3Exception {
+    @SuppressWarnings("unchecked")
+    private int execute(List<?> objList, ModelOperation operation) throws SQLite3Exception {
         int retValue = 0;
         List<?> $objList = Objects.requireNonNull(objList);
         if (!$objList.isEmpty()) {
             List<String> sqlList = new ArrayList<>();
             List<Consumer<SQLite3PreparedStatement>> consumerList = new ArrayList<>();
+            // 同一模型的sql仅构造一次
+            Map<Class<?>, String> sqlMap = new HashMap<>();
             $objList.forEach(object -> {
                 Object $object = Objects.requireNonNull(object);
                 Class<?> objClass = $object.getClass();
@@ -202,14 +367,56 @@ public class SQLite3JdbcTemplate extends io.github.jiashunx.sdk.sqlite3.core.SQL
                     columnMetadata = queryTableColumnMetadata(tableModel.getTableName());
                     tableModel.setColumnMetadata(columnMetadata);
                 }
-                sqlList.add(sqlFunc.apply(tableModel));
-                consumerList.add(statementFunc.apply($object, tableModel));
+                if (operation == ModelOperation.UPDATE && $object instanceof TrackableEntity) {
+                    // 可跟踪模型仅更新变更字段，无变更字段时不执行更新
+                    long columnMask = SQLite3Utils.getDirtyColumnMask((TrackableEntity) $object, tableModel);
+                    if (columnMask == 0L) {
+                        return;
+                    }
+                    if (columnMask != -1L && Long.bitCount(columnMask) < tableModel.getColumnModelList().size() - 1) {
+                        sqlList.add(tableModel.sqlOfUpdate(columnMask));
+                        consumerList.add(SQLite3Utils.buildTableConsumer($object, tableModel, columnMask));
+                        return;
+                    }
+                }
+                SQLite3GeneratedMapping<Object> generatedMapping = (SQLite3GeneratedMapping<Object>) SQLite3Utils.getGeneratedMapping(objClass);
+                if (generatedMapping != null) {
+                    Map<String, ColumnMetadata> $columnMetadata = columnMetadata;
+                    sqlList.add(operation.sqlOf(generatedMapping));
+                    consumerList.add(statement -> operation.bind(generatedMapping, $object, statement, $columnMetadata));
+                } else {
+                    sqlList.add(sqlMap.computeIfAbsent(objClass, klass -> operation.sqlOf(tableModel)));
+                    consumerList.add(operation.consumerOf($object, tableModel));
+                }
             });
-            int[] intArr = batchUpdate(sqlList.toArray(new String[0]), (index, statement) -> {
-                consumerList.get(index).accept(statement);
+            // 连续的相同sql（同一模型）合并为一组，每组仅预编译一次sql，所有分组在同一事务中执行
+            boolean inOuterTransaction = isInTransaction();
+            retValue = doTransaction(() -> {
+                int effectedRowCount = 0;
+                for (int start = 0, size = sqlList.size(), end; start < size; start = end) {
+                    String sql = sqlList.get(start);
+                    end = start + 1;
+                    while (end < size && sql.equals(sqlList.get(end))) {
+                        end++;
+                    }
+                    int offset = start;
+                    effectedRowCount += batchUpdate(sql, end - start, (index, statement) -> {
+                        consumerList.get(offset + index).accept(statement);
+                    });
+                }
+                return effectedRowCount;
             });
-            for (int value: intArr) {
-                retValue += value;
+            if (operation != ModelOperation.DELETE) {
+                // 执行成功后刷新可跟踪模型字段值快照（处于外层事务中时尚未提交，外层回滚后快照与数据库不一致，清除快照下次按全部字段更新）
+                $objList.forEach(object -> {
+                    if (object instanceof TrackableEntity) {
+                        if (inOuterTransaction) {
+                            ((TrackableEntity) object).clearTrackedValues();
+                        } else {
+                            SQLite3Utils.trackEntity(object, SQLite3Utils.getClassTableModel(object.getClass()));
+                        }
+                    }
+                });
             }
         }
         return retValue;
@@ -270,4 +477,165 @@ public class SQLite3JdbcTemplate extends io.github.jiashunx.sdk.sqlite3.core.SQL
         }
     }
 
+    /**
+     * 模型操作类型（增删改）
+     */
+    private enum ModelOperation {
+
+        /**
+         * 插入
+         */
+        INSERT {
+            @Override
+            String sqlOf(TableModel tableModel) {
+                return tableModel.sqlOfInsert();
+            }
+
+            @Override
+            String sqlOf(SQLite3GeneratedMapping<Object> mapping) {
+                return mapping.sqlOfInsert();
+            }
+
+            @Override
+            Consumer<SQLite3PreparedStatement> consumerOf(Object object, TableModel tableModel) {
+                return SQLite3Utils.buildTableConsumer(object, tableModel);
+            }
+
+            @Override
+            void bind(SQLite3GeneratedMapping<Object> mapping, Object object, SQLite3PreparedStatement statement, Map<String, ColumnMetadata> columnMetadata) {
+                mapping.bindInsert(object, statement, columnMetadata);
+            }
+        },
+
+        /**
+         * 更新（根据主键）
+         */
+        UPDATE {
+            @Override
+            String sqlOf(TableModel tableModel) {
+                return tableModel.sqlOfUpdate();
+            }
+
+            @Override
+            String sqlOf(SQLite3GeneratedMapping<Object> mapping) {
+                return mapping.sqlOfUpdate();
+            }
+
+            @Override
+            Consumer<SQLite3PreparedStatement> consumerOf(Object object, TableModel tableModel) {
+                return SQLite3Utils.buildTableConsumer(object, tableModel);
+            }
+
+            @Override
+            void bind(SQLite3GeneratedMapping<Object> mapping, Object object, SQLite3PreparedStatement statement, Map<String, ColumnMetadata> columnMetadata) {
+                mapping.bindUpdate(object, statement, columnMetadata);
+            }
+        },
+
+        /**
+         * 插入或更新（主键冲突时更新）
+         */
+        UPSERT {
+            @Override
+            String sqlOf(TableModel tableModel) {
+                return tableModel.sqlOfUpsert();
+            }
+
+            @Override
+            String sqlOf(SQLite3GeneratedMapping<Object> mapping) {
+                return mapping.sqlOfUpsert();
+            }
+
+            @Override
+            Consumer<SQLite3PreparedStatement> consumerOf(Object object, TableModel tableModel) {
+                return SQLite3Utils.buildTableConsumer(object, tableModel);
+            }
+
+            @Override
+            void bind(SQLite3GeneratedMapping<Object> mapping, Object object, SQLite3PreparedStatement statement, Map<String, ColumnMetadata> columnMetadata) {
+                mapping.bindInsert(object, statement, columnMetadata);
+            }
+        },
+
+        /**
+         * 删除（根据主键）
+         */
+        DELETE {
+            @Override
+            String sqlOf(TableModel tableModel) {
+                return tableModel.sqlOfDeleteById();
+            }
+
+            @Override
+            String sqlOf(SQLite3GeneratedMapping<Object> mapping) {
+                return mapping.sqlOfDeleteById();
+            }
+
+            @Override
+            Consumer<SQLite3PreparedStatement> consumerOf(Object object, TableModel tableModel) {
+                return SQLite3Utils.buildTableConsumer(object, tableModel, (tcm, cm) -> tcm.isIdColumn());
+            }
+
+            @Override
+            void bind(SQLite3GeneratedMapping<Object> mapping, Object object, SQLite3PreparedStatement statement, Map<String, ColumnMetadata> columnMetadata) {
+                mapping.bindDeleteById(object, statement, columnMetadata);
+            }
+        };
+
+        abstract String sqlOf(TableModel tableModel);
+
+        abstract String sqlOf(SQLite3GeneratedMapping<Object> mapping);
+
+        abstract Consumer<SQLite3PreparedStatement> consumerOf(Object object, TableModel tableModel);
+
+        abstract void bind(SQLite3GeneratedMapping<Object> mapping, Object object, SQLite3PreparedStatement statement, Map<String, ColumnMetadata> columnMetadata);
+    }
+
+    /**
+     * 模型实例行映射缓存项（映射计划对应的查询结果元数据+行映射）
+     */
+    private static final class EntityMapperEntry {
+
+        private final SQLite3ResultSetMetadata metadata;
+
+        private final RowMapper<?> rowMapper;
+
+        private EntityMapperEntry(SQLite3ResultSetMetadata metadata, RowMapper<?> rowMapper) {
+            this.metadata = metadata;
+            this.rowMapper = rowMapper;
+        }
+    }
+
+    /**
+     * 模型实例行映射缓存key（sql语句+模型Class对象）
+     */
+    private static final class EntityMapperKey {
+
+        private final String sql;
+
+        private final Class<?> klass;
+
+        private EntityMapperKey(String sql, Class<?> klass) {
+            this.sql = sql;
+            this.klass = klass;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof EntityMapperKey)) {
+                return false;
+            }
+            EntityMapperKey key = (EntityMapperKey) object;
+            return klass == key.klass && sql.equals(key.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * sql.hashCode() + klass.hashCode();
+        }
+    }
+
 }
@@ -0,0 +1,250 @@
+package io.github.jiashunx.sdk.sqlite3.mapping.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * SQLite3实体缓存（有界LRU缓存，超出最大条目数时淘汰最久未访问条目，支持写入后过期，统计命中、未命中及淘汰次数）
+ * @param <K> 缓存键类型
+ * @param <V> 缓存值类型
+ * @author jiashunx
+ */
+public class SQLite3EntityCache<K, V> {
+
+    /**
+     * 默认最大缓存条目数
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    /**
+     * 最大缓存条目数
+     */
+    private final int maxEntries;
+
+    /**
+     * 写入后过期时长（纳秒，0表示不过期）
+     */
+    private final long ttlNanos;
+
+    /**
+     * 缓存条目（按访问顺序排列，首个条目为最久未访问条目）
+     */
+    private final LinkedHashMap<K, CacheEntry<V>> entryMap;
+
+    /**
+     * 命中次数
+     */
+    private final LongAdder hitCount = new LongAdder();
+
+    /**
+     * 未命中次数
+     */
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * 淘汰次数（超出最大条目数淘汰及过期淘汰）
+     */
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * 构造方法
+     * @param maxEntries 最大缓存条目数
+     * @param ttlMillis 写入后过期时长（毫秒，0表示不过期）
+     */
+    public SQLite3EntityCache(int maxEntries, long ttlMillis) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException(String.format("invalid cache max entries: %d", maxEntries));
+        }
+        if (ttlMillis < 0) {
+            throw new IllegalArgumentException(String.format("invalid cache ttl: %d", ttlMillis));
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.entryMap = new LinkedHashMap<K, CacheEntry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                if (size() > SQLite3EntityCache.this.maxEntries) {
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 获取缓存值（计入命中/未命中统计）
+     * @param key 缓存键
+     * @return 缓存值（不存在或已过期则返回null）
+     */
+    public V get(K key) {
+        V value = peek(key);
+        if (value == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return value;
+    }
+
+    /**
+     * 获取缓存值（不计入命中/未命中统计，已过期条目将被移除）
+     * @param key 缓存键
+     * @return 缓存值（不存在或已过期则返回null）
+     */
+    public synchronized V peek(K key) {
+        CacheEntry<V> entry = entryMap.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            entryMap.remove(key);
+            evictionCount.increment();
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * 写入缓存值
+     * @param key 缓存键
+     * @param value 缓存值
+     */
+    public synchronized void put(K key, V value) {
+        entryMap.put(key, newEntry(value));
+    }
+
+    /**
+     * 按条件写入缓存值（条件判断与写入在缓存锁内原子执行）
+     * @param key 缓存键
+     * @param value 缓存值
+     * @param condition 写入条件
+     * @return 是否写入
+     */
+    public synchronized boolean putIf(K key, V value, BooleanSupplier condition) {
+        if (!condition.getAsBoolean()) {
+            return false;
+        }
+        entryMap.put(key, newEntry(value));
+        return true;
+    }
+
+    /**
+     * 批量写入缓存值
+     * @param map 缓存键值映射
+     */
+    public synchronized void putAll(Map<K, V> map) {
+        map.forEach((key, value) -> entryMap.put(key, newEntry(value)));
+    }
+
+    /**
+     * 移除缓存值
+     * @param key 缓存键
+     */
+    public synchronized void remove(K key) {
+        entryMap.remove(key);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public synchronized void clear() {
+        entryMap.clear();
+    }
+
+    /**
+     * 清理已过期条目
+     */
+    public synchronized void cleanUp() {
+        if (ttlNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        Iterator<CacheEntry<V>> iterator = entryMap.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isExpired(now)) {
+                iterator.remove();
+                evictionCount.increment();
+            }
+        }
+    }
+
+    /**
+     * 获取当前缓存条目数（包含尚未清理的过期条目）
+     * @return 当前缓存条目数
+     */
+    public synchronized int size() {
+        return entryMap.size();
+    }
+
+    /**
+     * 获取缓存命中率
+     * @return 缓存命中率（无访问时为0）
+     */
+    public double getHitRate() {
+        long hit = hitCount.sum();
+        long total = hit + missCount.sum();
+        return total == 0 ? 0D : (double) hit / total;
+    }
+
+    /**
+     * 重置统计计数
+     */
+    public void resetStats() {
+        hitCount.reset();
+        missCount.reset();
+        evictionCount.reset();
+    }
+
+    private CacheEntry<V> newEntry(V value) {
+        return new CacheEntry<>(value, ttlNanos == 0 ? 0L : System.nanoTime() + ttlNanos);
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getTtlMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(ttlNanos);
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * 缓存条目
+     * @param <V> 缓存值类型
+     */
+    private static final class CacheEntry<V> {
+
+        private final V value;
+
+        /**
+         * 过期时间（System.nanoTime()，0表示不过期）
+         */
+        private final long expireAt;
+
+        private CacheEntry(V value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        private boolean isExpired(long now) {
+            return expireAt != 0L && now - expireAt >= 0;
+        }
+    }
+
+}
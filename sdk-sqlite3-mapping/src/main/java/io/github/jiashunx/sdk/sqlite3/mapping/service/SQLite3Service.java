@@ -5,21 +5,33 @@ import io.github.jiashunx.sdk.sqlite3.core.function.VoidFunc;
 import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3PreparedStatement;
 import io.github.jiashunx.sdk.sqlite3.mapping.SQLite3JdbcTemplate;
 import io.github.jiashunx.sdk.sqlite3.mapping.util.SQLite3Utils;
+import io.github.jiashunx.sdk.sqlite3.metadata.KeysetPage;
+import io.github.jiashunx.sdk.sqlite3.metadata.TableColumnModel;
 import io.github.jiashunx.sdk.sqlite3.metadata.TableModel;
 
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
- * SQLite3模型映射服务（取消支持单机缓存）
+ * SQLite3模型映射服务（支持单机有界缓存，按ID读穿缓存实体对象）
  * @author jiashunx
  */
 public abstract class SQLite3Service<Entity, ID> {
@@ -37,24 +49,27 @@ public abstract class SQLite3Service<Entity, ID> {
     /**
      * 是否支持单机缓存（true-支持，false-不支持）
      */
-    @Deprecated
-    private final boolean cacheEnabled = false;
+    private final boolean cacheEnabled;
 
     /**
-     * listAll方式是否已执行
+     * 实体数据缓存（有界LRU缓存，未开启缓存时为null）
      */
-    @Deprecated
-    private volatile boolean listAllMethodInvoked = false;
+    private final SQLite3EntityCache<ID, Entity> entityCache;
+
+    /**
+     * 缓存写入代数分段数量（2的幂）
+     */
+    private static final int CACHE_GENERATION_STRIPES = 64;
 
     /**
-     * 实体数据全局缓存
+     * 缓存写入代数（按实体ID分段，数据库写入后递增，用于判断加载期间是否发生写入）
      */
-    private final Map<ID, Entity> entityCacheMap = new LinkedHashMap<>();
+    private final AtomicLongArray cacheGenerations = new AtomicLongArray(CACHE_GENERATION_STRIPES);
 
     /**
-     * 实体数据局部缓存
+     * 进行中的实体加载（同一ID并发未命中时共享加载结果）
      */
-    private final Map<ID, Entity> entityCacheMapTmp = new HashMap<>();
+    private final ConcurrentHashMap<ID, CompletableFuture<Entity>> entityLoadingMap = new ConcurrentHashMap<>();
 
     /**
      * 缓存数据读写锁
@@ -73,14 +88,38 @@ public abstract class SQLite3Service<Entity, ID> {
     }
 
     /**
-     * 构造方法（自行指定是否开启缓存
+     * 构造方法（自行指定是否开启缓存，缓存最大条目数为{@link SQLite3EntityCache#DEFAULT_MAX_ENTRIES}，不过期）
      * @param jdbcTemplate SQLite3JdbcTemplate
      * @param cacheEnabled 是否支持单机缓存
      * @throws NullPointerException NullPointerException
      * @throws SQLite3Exception SQLite3Exception
      */
     public SQLite3Service(SQLite3JdbcTemplate jdbcTemplate, boolean cacheEnabled) throws NullPointerException, SQLite3Exception {
-        // this.cacheEnabled = cacheEnabled;
+        this(jdbcTemplate, cacheEnabled ? new SQLite3EntityCache<>(SQLite3EntityCache.DEFAULT_MAX_ENTRIES, 0L) : null);
+    }
+
+    /**
+     * 构造方法（开启缓存，自行指定缓存最大条目数及过期时长）
+     * @param jdbcTemplate SQLite3JdbcTemplate
+     * @param cacheMaxEntries 缓存最大条目数（超出时淘汰最久未访问实体）
+     * @param cacheTtlMillis 缓存写入后过期时长（毫秒，0表示不过期）
+     * @throws NullPointerException NullPointerException
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public SQLite3Service(SQLite3JdbcTemplate jdbcTemplate, int cacheMaxEntries, long cacheTtlMillis) throws NullPointerException, SQLite3Exception {
+        this(jdbcTemplate, new SQLite3EntityCache<>(cacheMaxEntries, cacheTtlMillis));
+    }
+
+    /**
+     * 构造方法（自行指定实体数据缓存）
+     * @param jdbcTemplate SQLite3JdbcTemplate
+     * @param entityCache 实体数据缓存（为null则不开启缓存）
+     * @throws NullPointerException NullPointerException
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    protected SQLite3Service(SQLite3JdbcTemplate jdbcTemplate, SQLite3EntityCache<ID, Entity> entityCache) throws NullPointerException, SQLite3Exception {
+        this.cacheEnabled = entityCache != null;
+        this.entityCache = entityCache;
         this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate);
         try {
             this.defaultEntity = getEntityClass().newInstance();
@@ -98,15 +137,19 @@ public abstract class SQLite3Service<Entity, ID> {
     }
 
     /**
-     * 获取实体缓存（ID与实体对象映射map）
-     * @return 实体缓存数据
+     * 是否支持单机缓存
+     * @return true-支持，false-不支持
      */
-    @Deprecated
-    private Map<ID, Entity> getEntityCacheMap() {
-        if (listAllMethodInvoked) {
-            return entityCacheMap;
-        }
-        return entityCacheMapTmp;
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    /**
+     * 获取实体数据缓存（可获取命中、未命中及淘汰统计）
+     * @return 实体数据缓存（未开启缓存时为null）
+     */
+    public SQLite3EntityCache<ID, Entity> getEntityCache() {
+        return entityCache;
     }
 
     /**
@@ -162,34 +205,14 @@ public abstract class SQLite3Service<Entity, ID> {
     }
 
     /**
-     * 从缓存或数据库查询并返回实体数据列表（所有数据）
+     * 从数据库查询并返回实体数据列表（所有数据）（有界缓存无法保证包含全部数据，不经过缓存）
      * @return 实体数据列表（所有数据）
      * @throws NullPointerException NullPointerException
      * @throws SQLite3Exception SQLite3Exception
      */
     @Deprecated
     public List<Entity> listAll() throws NullPointerException, SQLite3Exception {
-        if (!cacheEnabled) {
-            return listAllWithNoCache();
-        }
-        AtomicReference<List<Entity>> ref = new AtomicReference<>();
-        if (!listAllMethodInvoked) {
-            entityCacheWriteLock(() -> {
-                if (listAllMethodInvoked) {
-                    return;
-                }
-                entityCacheMapTmp.clear();
-                List<Entity> entityList = listAllWithNoCache();
-                for (Entity entity: entityList) {
-                    entityCacheMap.put(getIdFieldValue(entity), entity);
-                }
-                listAllMethodInvoked = true;
-            });
-        }
-        entityCacheReadLock(() -> {
-            ref.set(new ArrayList<>(entityCacheMap.values()));
-        });
-        return ref.get();
+        return listAllWithNoCache();
     }
 
     /**
@@ -214,6 +237,19 @@ public abstract class SQLite3Service<Entity, ID> {
         return getJdbcTemplate().queryForList(SQLite3Utils.getClassTableModel(getEntityClass()).sqlOfSelectAll(sqlConsumer), statementConsumer, getEntityClass());
     }
 
+    /**
+     * 流式查询实体（查询所有字段，逐行映射，Stream关闭前持有读连接，须在当前线程消费并关闭Stream，建议使用try-with-resources；
+     * 非WAL模式下Stream关闭前当前线程不可执行insert/update/delete等写操作，否则抛出SQLite3Exception，需先收集再于Stream关闭后写入）
+     * @param sqlConsumer 拼接查询条件: 拼接: where field1=? and field2=?
+     * @param statementConsumer sql语句预编译处理
+     * @return 实体Stream
+     * @throws NullPointerException NullPointerException
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public Stream<Entity> stream(Consumer<StringBuilder> sqlConsumer, Consumer<SQLite3PreparedStatement> statementConsumer) throws NullPointerException, SQLite3Exception {
+        return getJdbcTemplate().queryForStream(SQLite3Utils.getClassTableModel(getEntityClass()).sqlOfSelectAll(sqlConsumer), statementConsumer, getEntityClass());
+    }
+
     /**
      * 查询实体列表（查询所有字段）
      * @param pageIndex 当前页数（从1开始）
@@ -240,6 +276,64 @@ public abstract class SQLite3Service<Entity, ID> {
         return getJdbcTemplate().queryForList(SQLite3Utils.getClassTableModel(getEntityClass()).sqlOfSelectAllWithPage(sqlConsumer, pageIndex, pageSize), statementConsumer, getEntityClass());
     }
 
+    /**
+     * 键集分页查询实体列表（按主键升序seek定位，查询代价与页码深度无关）
+     * @param token 上一页返回的延续标识（查询第一页时为null）
+     * @param pageSize 分页大小
+     * @return 键集分页查询结果
+     * @throws NullPointerException NullPointerException
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public KeysetPage<Entity> selectWithKeyset(String token, int pageSize) throws NullPointerException, SQLite3Exception {
+        TableModel tableModel = SQLite3Utils.getClassTableModel(getEntityClass());
+        return selectWithKeyset(tableModel.getIdColumnModel().getColumnName(), false, token, pageSize, builder -> {}, statement -> {});
+    }
+
+    /**
+     * 键集分页查询实体列表（按指定排序列+主键seek定位，查询代价与页码深度无关）
+     * <p>排序列需建立(排序列,主键)索引，值可为null（升序时null行位于最前，倒序时位于最后）；查询条件在翻页过程中需保持不变。</p>
+     * @param orderColumnName 排序列名称（主键列或模型映射列）
+     * @param descending 是否倒序
+     * @param token 上一页返回的延续标识（查询第一页时为null）
+     * @param pageSize 分页大小
+     * @param sqlConsumer 拼接查询条件（仅限where条件）: 拼接: where field1=? and field2=?
+     * @param statementConsumer sql语句预编译处理（仅处理查询条件参数）
+     * @return 键集分页查询结果
+     * @throws NullPointerException NullPointerException
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public KeysetPage<Entity> selectWithKeyset(String orderColumnName, boolean descending, String token, int pageSize
+            , Consumer<StringBuilder> sqlConsumer, Consumer<SQLite3PreparedStatement> statementConsumer) throws NullPointerException, SQLite3Exception {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException(String.format("invalid page size: %d", pageSize));
+        }
+        TableModel tableModel = SQLite3Utils.getClassTableModel(getEntityClass());
+        Object[] seekValues = token == null || token.isEmpty() ? null : SQLite3Utils.decodeKeysetToken(token, orderColumnName, descending);
+        // 多查询一条用于判断是否存在下一页
+        boolean seekNull = seekValues != null && seekValues.length > 1 && seekValues[0] == null;
+        String sql = tableModel.sqlOfSelectWithKeyset(sqlConsumer, orderColumnName, seekValues != null, seekNull, descending, pageSize + 1);
+        List<Entity> entityList = getJdbcTemplate().queryForList(sql, statement -> {
+            statementConsumer.accept(statement);
+            if (seekValues != null) {
+                SQLite3Utils.bindKeysetValues(statement, seekValues);
+            }
+        }, getEntityClass());
+        if (entityList.size() <= pageSize) {
+            return new KeysetPage<>(entityList, null);
+        }
+        entityList = entityList.subList(0, pageSize);
+        Entity lastEntity = entityList.get(pageSize - 1);
+        TableColumnModel idColumnModel = tableModel.getIdColumnModel();
+        String nextToken;
+        if (orderColumnName.equals(idColumnModel.getColumnName())) {
+            nextToken = SQLite3Utils.encodeKeysetToken(orderColumnName, descending, idColumnModel.getFieldValue(lastEntity));
+        } else {
+            nextToken = SQLite3Utils.encodeKeysetToken(orderColumnName, descending
+                    , tableModel.getColumnModelMap().get(orderColumnName).getFieldValue(lastEntity), idColumnModel.getFieldValue(lastEntity));
+        }
+        return new KeysetPage<>(entityList, nextToken);
+    }
+
     /**
      * 查询实体列表（查询指定字段）
      * @param fieldNames 待查询字段名称列表
@@ -292,6 +386,103 @@ public abstract class SQLite3Service<Entity, ID> {
         return getJdbcTemplate().queryForList(SQLite3Utils.getClassTableModel(getEntityClass()).sqlOfSelectFieldsWithPage(fieldNames, sqlConsumer, pageIndex, pageSize), statementConsumer, getEntityClass());
     }
 
+    /**
+     * 统计实体数量（单条count查询，不映射实体）
+     * @return 实体数量
+     * @throws NullPointerException NullPointerException
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public long count() throws NullPointerException, SQLite3Exception {
+        return count(builder -> {}, statement -> {});
+    }
+
+    /**
+     * 统计实体数量（单条count查询，不映射实体）
+     * @param sqlConsumer 拼接查询条件: 拼接: where field1=? and field2=?
+     * @param statementConsumer sql语句预编译处理
+     * @return 实体数量
+     * @throws NullPointerException NullPointerException
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public long count(Consumer<StringBuilder> sqlConsumer, Consumer<SQLite3PreparedStatement> statementConsumer) throws NullPointerException, SQLite3Exception {
+        return getJdbcTemplate().queryForLong(SQLite3Utils.getClassTableModel(getEntityClass()).sqlOfCount(sqlConsumer), statementConsumer);
+    }
+
+    /**
+     * 判断是否存在匹配的实体（匹配到首条记录即返回，不映射实体）
+     * @param sqlConsumer 拼接查询条件: 拼接: where field1=? and field2=?
+     * @param statementConsumer sql语句预编译处理
+     * @return true-存在，false-不存在
+     * @throws NullPointerException NullPointerException
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public boolean exists(Consumer<StringBuilder> sqlConsumer, Consumer<SQLite3PreparedStatement> statementConsumer) throws NullPointerException, SQLite3Exception {
+        return getJdbcTemplate().queryForInt(SQLite3Utils.getClassTableModel(getEntityClass()).sqlOfExists(sqlConsumer), statementConsumer) != 0;
+    }
+
+    /**
+     * 查询指定列最小值（单条聚合查询，按模型字段类型转换）
+     * @param columnName 列名称（需为模型映射列）
+     * @param sqlConsumer 拼接查询条件: 拼接: where field1=? and field2=?
+     * @param statementConsumer sql语句预编译处理
+     * @param <V> 模型字段类型（基本类型为对应包装类型）
+     * @return 最小值（无匹配记录时返回null）
+     * @throws NullPointerException NullPointerException
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public <V> V min(String columnName, Consumer<StringBuilder> sqlConsumer, Consumer<SQLite3PreparedStatement> statementConsumer) throws NullPointerException, SQLite3Exception {
+        TableModel tableModel = SQLite3Utils.getClassTableModel(getEntityClass());
+        return queryForFieldValue(tableModel, columnName, tableModel.sqlOfMin(columnName, sqlConsumer), statementConsumer);
+    }
+
+    /**
+     * 查询指定列最大值（单条聚合查询，按模型字段类型转换）
+     * @param columnName 列名称（需为模型映射列）
+     * @param sqlConsumer 拼接查询条件: 拼接: where field1=? and field2=?
+     * @param statementConsumer sql语句预编译处理
+     * @param <V> 模型字段类型（基本类型为对应包装类型）
+     * @return 最大值（无匹配记录时返回null）
+     * @throws NullPointerException NullPointerException
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public <V> V max(String columnName, Consumer<StringBuilder> sqlConsumer, Consumer<SQLite3PreparedStatement> statementConsumer) throws NullPointerException, SQLite3Exception {
+        TableModel tableModel = SQLite3Utils.getClassTableModel(getEntityClass());
+        return queryForFieldValue(tableModel, columnName, tableModel.sqlOfMax(columnName, sqlConsumer), statementConsumer);
+    }
+
+    /**
+     * 查询指定列求和（单条聚合查询）
+     * @param columnName 列名称（需为模型映射列）
+     * @param sqlConsumer 拼接查询条件: 拼接: where field1=? and field2=?
+     * @param statementConsumer sql语句预编译处理
+     * @return 求和结果（整数列为Long，浮点列为Double，无匹配记录时返回null）
+     * @throws NullPointerException NullPointerException
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public Number sum(String columnName, Consumer<StringBuilder> sqlConsumer, Consumer<SQLite3PreparedStatement> statementConsumer) throws NullPointerException, SQLite3Exception {
+        Object value = getJdbcTemplate().queryForOneValue(SQLite3Utils.getClassTableModel(getEntityClass()).sqlOfSum(columnName, sqlConsumer), statementConsumer, ResultSet::getObject);
+        if (value == null || value instanceof Number) {
+            return (Number) value;
+        }
+        return new BigDecimal(String.valueOf(value));
+    }
+
+    /**
+     * 查询单个列值并按模型字段类型转换（聚合结果列无声明类型，按实际存储值读取，避免整数截断及日期时间类型转换失败）
+     * @param tableModel 数据表模型信息
+     * @param columnName 列名称
+     * @param sql 查询SQL
+     * @param statementConsumer sql语句预编译处理
+     * @param <V> 模型字段类型（基本类型为对应包装类型）
+     * @return 列值
+     */
+    @SuppressWarnings("unchecked")
+    private <V> V queryForFieldValue(TableModel tableModel, String columnName, String sql, Consumer<SQLite3PreparedStatement> statementConsumer) {
+        Object value = getJdbcTemplate().queryForOneValue(sql, statementConsumer, ResultSet::getObject);
+        Class<?> fieldType = MethodType.methodType(tableModel.getColumnModelMap().get(columnName).getFieldType()).wrap().returnType();
+        return (V) SQLite3Utils.convertColumnValue(value, fieldType);
+    }
+
     /**
      * 获取查询SQL: 查询单个实体对象
      * @return 查询SQL
@@ -323,7 +514,6 @@ public abstract class SQLite3Service<Entity, ID> {
      * @throws NullPointerException NullPointerException
      * @throws SQLite3Exception SQLite3Exception
      */
-    @Deprecated
     public Entity find(ID id) throws NullPointerException, SQLite3Exception {
         if (id == null) {
             throw new NullPointerException();
@@ -331,30 +521,221 @@ public abstract class SQLite3Service<Entity, ID> {
         if (!cacheEnabled) {
             return findWithNoCache(id);
         }
-        AtomicReference<Entity> ref = new AtomicReference<>();
-        entityCacheReadLock(() -> {
-            ref.set(getEntityCacheMap().get(id));
-        });
-        if (ref.get() == null) {
-            entityCacheWriteLock(() -> {
-                ref.set(getEntityCacheMap().get(id));
-                if (ref.get() == null) {
-                    Entity tmpEntity = findWithNoCache(id);
-                    if (tmpEntity == null) {
-                        tmpEntity = defaultEntity;
-                    }
-                    getEntityCacheMap().put(id, tmpEntity);
-                    ref.set(tmpEntity);
-                }
-            });
+        Entity entity = entityCache.get(id);
+        if (entity == null) {
+            entity = loadEntity(id);
         }
-        Entity entity = ref.get();
         if (entity == defaultEntity) {
             entity = null;
         }
         return entity;
     }
 
+    /**
+     * 根据ID列表从数据库查询实体对象列表（按单条SQL最大参数数量分组执行where id in (...)）
+     * @param ids 实体ID列表
+     * @return 实体对象列表（按ID列表顺序排列，去除重复ID，不包含不存在的实体）
+     * @throws NullPointerException NullPointerException
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public List<Entity> findAllWithNoCache(Collection<ID> ids) throws NullPointerException, SQLite3Exception {
+        return new ArrayList<>(findMapWithNoCache(ids).values());
+    }
+
+    /**
+     * 根据ID列表从缓存或数据库查询实体对象列表（缓存命中的实体不再查询数据库）
+     * @param ids 实体ID列表
+     * @return 实体对象列表（按ID列表顺序排列，去除重复ID，不包含不存在的实体）
+     * @throws NullPointerException NullPointerException
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public List<Entity> findAll(Collection<ID> ids) throws NullPointerException, SQLite3Exception {
+        return new ArrayList<>(findMap(ids).values());
+    }
+
+    /**
+     * 根据ID列表从数据库查询实体对象（按单条SQL最大参数数量分组执行where id in (...)）
+     * @param ids 实体ID列表
+     * @return ID与实体对象映射（按ID列表顺序排列，不包含不存在的实体）
+     * @throws NullPointerException NullPointerException
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public Map<ID, Entity> findMapWithNoCache(Collection<ID> ids) throws NullPointerException, SQLite3Exception {
+        List<ID> idList = distinctIDs(ids);
+        Map<ID, Entity> entityMap = new HashMap<>();
+        TableModel tableModel = SQLite3Utils.getClassTableModel(getEntityClass());
+        for (int fromIndex = 0; fromIndex < idList.size(); fromIndex += TableModel.MAX_VARIABLE_NUMBER) {
+            int offset = fromIndex;
+            int count = Math.min(TableModel.MAX_VARIABLE_NUMBER, idList.size() - fromIndex);
+            getJdbcTemplate().queryForList(tableModel.sqlOfSelectByIds(count), statement -> {
+                castIDsForStatement(statement, idList, offset, count);
+            }, getEntityClass()).forEach(entity -> {
+                entityMap.put(getIdFieldValue(entity), entity);
+            });
+        }
+        Map<ID, Entity> retMap = new LinkedHashMap<>();
+        for (ID id: idList) {
+            Entity entity = entityMap.get(id);
+            if (entity != null) {
+                retMap.put(id, entity);
+            }
+        }
+        return retMap;
+    }
+
+    /**
+     * 根据ID列表从缓存或数据库查询实体对象（缓存命中的实体不再查询数据库，未命中的实体批量查询后回填缓存）
+     * @param ids 实体ID列表
+     * @return ID与实体对象映射（按ID列表顺序排列，不包含不存在的实体）
+     * @throws NullPointerException NullPointerException
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public Map<ID, Entity> findMap(Collection<ID> ids) throws NullPointerException, SQLite3Exception {
+        if (!cacheEnabled) {
+            return findMapWithNoCache(ids);
+        }
+        List<ID> idList = distinctIDs(ids);
+        Map<ID, Entity> cachedMap = new HashMap<>();
+        List<ID> missIdList = new ArrayList<>();
+        for (ID id: idList) {
+            Entity entity = entityCache.get(id);
+            if (entity == null) {
+                missIdList.add(id);
+            } else {
+                cachedMap.put(id, entity);
+            }
+        }
+        if (!missIdList.isEmpty()) {
+            long[] generations = new long[missIdList.size()];
+            for (int i = 0; i < generations.length; i++) {
+                generations[i] = getCacheGeneration(missIdList.get(i));
+            }
+            Map<ID, Entity> loadedMap = findMapWithNoCache(missIdList);
+            for (int i = 0; i < generations.length; i++) {
+                ID id = missIdList.get(i);
+                long generation = generations[i];
+                Entity entity = loadedMap.get(id);
+                if (entity == null) {
+                    // 不存在的实体同样缓存，避免重复查询数据库
+                    entity = defaultEntity;
+                }
+                // 加载期间该ID已被写入或删除则不回填缓存，避免覆盖新数据
+                entityCache.putIf(id, entity, () -> getCacheGeneration(id) == generation);
+                cachedMap.put(id, entity);
+            }
+        }
+        Map<ID, Entity> retMap = new LinkedHashMap<>();
+        for (ID id: idList) {
+            Entity entity = cachedMap.get(id);
+            if (entity != defaultEntity) {
+                retMap.put(id, entity);
+            }
+        }
+        return retMap;
+    }
+
+    /**
+     * ID列表去重（保持原有顺序）
+     * @param ids 实体ID列表
+     * @return 去重后ID列表
+     * @throws NullPointerException ID列表或ID为null
+     */
+    private List<ID> distinctIDs(Collection<ID> ids) throws NullPointerException {
+        if (ids == null) {
+            throw new NullPointerException();
+        }
+        Set<ID> idSet = new LinkedHashSet<>(ids.size());
+        for (ID id: ids) {
+            if (id == null) {
+                throw new NullPointerException();
+            }
+            idSet.add(id);
+        }
+        return new ArrayList<>(idSet);
+    }
+
+    /**
+     * 缓存未命中时从数据库加载实体对象（不持有全局锁，同一ID并发加载仅执行一次查询，其余线程等待共享结果）
+     * @param id 实体ID
+     * @return 实体对象（不存在则返回默认实体对象）
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    private Entity loadEntity(ID id) throws SQLite3Exception {
+        CompletableFuture<Entity> future = new CompletableFuture<>();
+        CompletableFuture<Entity> loadingFuture = entityLoadingMap.putIfAbsent(id, future);
+        if (loadingFuture != null) {
+            return joinLoading(loadingFuture);
+        }
+        try {
+            Entity entity = entityCache.peek(id);
+            if (entity == null) {
+                long generation = getCacheGeneration(id);
+                entity = findWithNoCache(id);
+                if (entity == null) {
+                    // 不存在的实体同样缓存，避免重复查询数据库
+                    entity = defaultEntity;
+                }
+                // 加载期间该ID已被写入或删除则不回填缓存，避免覆盖新数据
+                entityCache.putIf(id, entity, () -> getCacheGeneration(id) == generation);
+            }
+            future.complete(entity);
+            return entity;
+        } catch (RuntimeException | Error throwable) {
+            future.completeExceptionally(throwable);
+            throw throwable;
+        } finally {
+            entityLoadingMap.remove(id, future);
+        }
+    }
+
+    /**
+     * 等待其他线程加载实体对象
+     * @param future 加载结果
+     * @return 实体对象
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    private Entity joinLoading(CompletableFuture<Entity> future) throws SQLite3Exception {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new SQLite3Exception("load entity failed", cause);
+        }
+    }
+
+    /**
+     * 获取实体ID对应缓存写入代数
+     * @param id 实体ID
+     * @return 缓存写入代数
+     */
+    private long getCacheGeneration(ID id) {
+        return cacheGenerations.get(cacheGenerationIndex(id));
+    }
+
+    /**
+     * 实体ID对应缓存写入代数分段下标
+     * @param id 实体ID
+     * @return 分段下标
+     */
+    private int cacheGenerationIndex(ID id) {
+        int hash = id.hashCode();
+        return (hash ^ (hash >>> 16)) & (CACHE_GENERATION_STRIPES - 1);
+    }
+
+    /**
+     * 数据库写入完成后失效缓存（递增写入代数，使进行中的加载不回填旧数据；
+     * 不直接写入实体对象，避免同一ID并发写入时缓存更新顺序与提交顺序不一致，下次读取时从数据库加载已提交数据）
+     * @param id 实体ID
+     */
+    private void invalidateCache(ID id) {
+        cacheGenerations.incrementAndGet(cacheGenerationIndex(id));
+        entityLoadingMap.remove(id);
+        entityCache.remove(id);
+    }
+
     /**
      * 向数据库插入实体模型
      * @param entity 实体模型
@@ -377,15 +758,12 @@ public abstract class SQLite3Service<Entity, ID> {
      * @throws NullPointerException NullPointerException
      * @throws SQLite3Exception SQLite3Exception
      */
-    @Deprecated
     public Entity insert(Entity entity) throws NullPointerException, SQLite3Exception {
         if (!cacheEnabled) {
             return insertWithNoCache(entity);
         }
-        entityCacheWriteLock(() -> {
-            insertWithNoCache(entity);
-            getEntityCacheMap().put(getIdFieldValue(entity), entity);
-        });
+        insertWithNoCache(entity);
+        invalidateCache(getIdFieldValue(entity));
         return entity;
     }
 
@@ -416,19 +794,16 @@ public abstract class SQLite3Service<Entity, ID> {
      * @throws NullPointerException NullPointerException
      * @throws SQLite3Exception SQLite3Exception
      */
-    @Deprecated
     public List<Entity> insert(List<Entity> entities) throws NullPointerException, SQLite3Exception {
         if (!cacheEnabled) {
             return insertWithNoCache(entities);
         }
-        entityCacheWriteLock(() -> {
-            Map<ID, Entity> map = new HashMap<>();
-            entities.forEach(entity -> {
-                map.put(getIdFieldValue(entity), entity);
-            });
-            insertWithNoCache(entities);
-            getEntityCacheMap().putAll(map);
+        List<ID> idList = new ArrayList<>(entities.size());
+        entities.forEach(entity -> {
+            idList.add(getIdFieldValue(entity));
         });
+        insertWithNoCache(entities);
+        idList.forEach(this::invalidateCache);
         return entities;
     }
 
@@ -454,16 +829,13 @@ public abstract class SQLite3Service<Entity, ID> {
      * @throws NullPointerException NullPointerException
      * @throws SQLite3Exception SQLite3Exception
      */
-    @Deprecated
     public Entity update(Entity entity) throws NullPointerException, SQLite3Exception {
         if (!cacheEnabled) {
             return updateWithNoCache(entity);
         }
-        entityCacheWriteLock(() -> {
-            ID id = getIdFieldValue(entity);
-            updateWithNoCache(entity);
-            getEntityCacheMap().put(id, entity);
-        });
+        ID id = getIdFieldValue(entity);
+        updateWithNoCache(entity);
+        invalidateCache(id);
         return entity;
     }
 
@@ -494,19 +866,88 @@ public abstract class SQLite3Service<Entity, ID> {
      * @throws NullPointerException NullPointerException
      * @throws SQLite3Exception SQLite3Exception
      */
-    @Deprecated
     public List<Entity> update(List<Entity> entities) throws NullPointerException, SQLite3Exception {
         if (!cacheEnabled) {
             return updateWithNoCache(entities);
         }
-        entityCacheWriteLock(() -> {
-            Map<ID, Entity> map = new HashMap<>();
-            entities.forEach(entity -> {
-                map.put(getIdFieldValue(entity), entity);
-            });
-            updateWithNoCache(entities);
-            getEntityCacheMap().putAll(map);
+        List<ID> idList = new ArrayList<>(entities.size());
+        entities.forEach(entity -> {
+            idList.add(getIdFieldValue(entity));
+        });
+        updateWithNoCache(entities);
+        idList.forEach(this::invalidateCache);
+        return entities;
+    }
+
+    /**
+     * 向数据库插入或更新实体模型（主键冲突时更新，单条sql完成，无需先查询）
+     * @param entity 实体模型
+     * @return 实体模型
+     * @throws NullPointerException NullPointerException
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public Entity upsertWithNoCache(Entity entity) throws NullPointerException, SQLite3Exception {
+        if (entity == null) {
+            throw new NullPointerException();
+        }
+        getJdbcTemplate().upsert(entity);
+        return entity;
+    }
+
+    /**
+     * 向数据库插入或更新实体模型（同时更新缓存）
+     * @param entity 实体模型
+     * @return 实体模型
+     * @throws NullPointerException NullPointerException
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public Entity upsert(Entity entity) throws NullPointerException, SQLite3Exception {
+        if (!cacheEnabled) {
+            return upsertWithNoCache(entity);
+        }
+        ID id = getIdFieldValue(entity);
+        upsertWithNoCache(entity);
+        invalidateCache(id);
+        return entity;
+    }
+
+    /**
+     * 向数据库插入或更新实体模型列表（主键冲突时更新，批量执行）
+     * @param entities 实体模型列表
+     * @return 实体模型列表
+     * @throws NullPointerException NullPointerException
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public List<Entity> upsertWithNoCache(List<Entity> entities) throws NullPointerException, SQLite3Exception {
+        if (entities == null) {
+            throw new NullPointerException();
+        }
+        entities.forEach(entity -> {
+            if (entity == null) {
+                throw new NullPointerException();
+            }
+        });
+        getJdbcTemplate().upsert(entities);
+        return entities;
+    }
+
+    /**
+     * 向数据库插入或更新实体模型列表（同时更新缓存）
+     * @param entities 实体模型列表
+     * @return 实体模型列表
+     * @throws NullPointerException NullPointerException
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public List<Entity> upsert(List<Entity> entities) throws NullPointerException, SQLite3Exception {
+        if (!cacheEnabled) {
+            return upsertWithNoCache(entities);
+        }
+        List<ID> idList = new ArrayList<>(entities.size());
+        entities.forEach(entity -> {
+            idList.add(getIdFieldValue(entity));
         });
+        upsertWithNoCache(entities);
+        idList.forEach(this::invalidateCache);
         return entities;
     }
 
@@ -597,7 +1038,7 @@ public abstract class SQLite3Service<Entity, ID> {
     }
 
     /**
-     * 根据ID列表从数据库删除实体模型
+     * 根据ID列表从数据库删除实体模型（按单条SQL最大参数数量分组执行where id in (...)，同一事务中完成）
      * @param idList 实体模型ID列表
      * @return 删除成功条数
      * @throws NullPointerException NullPointerException
@@ -612,9 +1053,27 @@ public abstract class SQLite3Service<Entity, ID> {
                 throw new NullPointerException();
             }
         });
+        if (idList.isEmpty()) {
+            return 0;
+        }
         TableModel tableModel = SQLite3Utils.getClassTableModel(getEntityClass());
-        return jdbcTemplate.batchUpdate(tableModel.sqlOfDeleteById(), idList.size(), (index, statement) -> {
-            castIDForStatement(statement, 1, idList.get(index));
+        int chunkSize = TableModel.MAX_VARIABLE_NUMBER;
+        int fullChunkCount = idList.size() / chunkSize;
+        int remainCount = idList.size() % chunkSize;
+        return jdbcTemplate.doTransaction(() -> {
+            int effectedRowCount = 0;
+            if (fullChunkCount > 0) {
+                // 完整分组复用同一预编译语句
+                effectedRowCount += jdbcTemplate.batchUpdate(tableModel.sqlOfDeleteByIds(chunkSize), fullChunkCount, (index, statement) -> {
+                    castIDsForStatement(statement, idList, index * chunkSize, chunkSize);
+                });
+            }
+            if (remainCount > 0) {
+                effectedRowCount += jdbcTemplate.batchUpdate(tableModel.sqlOfDeleteByIds(remainCount), 1, (index, statement) -> {
+                    castIDsForStatement(statement, idList, fullChunkCount * chunkSize, remainCount);
+                });
+            }
+            return effectedRowCount;
         });
     }
 
@@ -625,17 +1084,13 @@ public abstract class SQLite3Service<Entity, ID> {
      * @throws NullPointerException NullPointerException
      * @throws SQLite3Exception SQLite3Exception
      */
-    @Deprecated
     public int deleteById(List<ID> idList) throws NullPointerException, SQLite3Exception {
         if (!cacheEnabled) {
             return deleteByIdWithNoCache(idList);
         }
-        AtomicReference<Integer> ref = new AtomicReference<>();
-        entityCacheWriteLock(() -> {
-            ref.set(deleteByIdWithNoCache(idList));
-            idList.forEach(getEntityCacheMap()::remove);
-        });
-        return ref.get();
+        int effectedRowCount = deleteByIdWithNoCache(idList);
+        idList.forEach(this::invalidateCache);
+        return effectedRowCount;
     }
 
     /**
@@ -657,6 +1112,19 @@ public abstract class SQLite3Service<Entity, ID> {
         }
     }
 
+    /**
+     * SQL预处理时对数据模型ID列表强制转型（参数序号从1开始）
+     * @param statement SQLite3PreparedStatement
+     * @param idList 数据模型ID列表
+     * @param fromIndex ID列表起始下标
+     * @param count 赋值ID数量
+     */
+    private void castIDsForStatement(SQLite3PreparedStatement statement, List<ID> idList, int fromIndex, int count) {
+        for (int i = 0; i < count; i++) {
+            castIDForStatement(statement, i + 1, idList.get(fromIndex + i));
+        }
+    }
+
     /**
      * 获取实体ID字段值
      * @param entity 实体对象
@@ -0,0 +1,178 @@
+package io.github.jiashunx.sdk.sqlite3.mapping.util;
+
+import io.github.jiashunx.sdk.sqlite3.core.exception.SQLite3Exception;
+import io.github.jiashunx.sdk.sqlite3.core.function.ColumnExtractor;
+import io.github.jiashunx.sdk.sqlite3.core.function.RowMapper;
+import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3ResultSetMetadata;
+import io.github.jiashunx.sdk.sqlite3.metadata.FieldAccessor;
+import io.github.jiashunx.sdk.sqlite3.metadata.QueryRetColumnModel;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * SQLite3 模型实例行映射（按查询结果元数据预先计算列与模型字段映射计划，按列下标直接读取结果集并赋值模型字段）
+ * @param <R> 模型类型
+ * @author jiashunx
+ */
+public class SQLite3EntityMapper<R> implements RowMapper<R> {
+
+    /**
+     * 字段值转换：不转换
+     */
+    private static final int CONVERT_NONE = 0;
+
+    /**
+     * 字段值转换：BigDecimal
+     */
+    private static final int CONVERT_DECIMAL = 1;
+
+    /**
+     * 字段值转换：字符（取字符串首字符）
+     */
+    private static final int CONVERT_CHAR = 2;
+
+    /**
+     * 映射计划对应的查询结果元数据
+     */
+    private final SQLite3ResultSetMetadata metadata;
+
+    /**
+     * 模型Class对象
+     */
+    private final Class<R> klass;
+
+    /**
+     * 模型无参构造方法MethodHandle: ()Object
+     */
+    private final MethodHandle constructor;
+
+    /**
+     * 映射列下标（从1开始）
+     */
+    private final int[] columnIndexes;
+
+    /**
+     * 映射列值读取方式
+     */
+    private final ColumnExtractor[] extractors;
+
+    /**
+     * 映射模型字段访问器
+     */
+    private final FieldAccessor[] accessors;
+
+    /**
+     * 映射模型字段值转换方式
+     */
+    private final int[] converters;
+
+    /**
+     * 映射模型字段是否为基本类型（列值为NULL时保留字段默认值，与编译期生成的模型映射一致）
+     */
+    private final boolean[] primitives;
+
+    /**
+     * 构造方法（计算映射计划：仅映射模型中存在对应@SQLite3Column字段的列）
+     * @param metadata 查询结果元数据
+     * @param klass 模型Class对象
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public SQLite3EntityMapper(SQLite3ResultSetMetadata metadata, Class<R> klass) throws SQLite3Exception {
+        this.metadata = Objects.requireNonNull(metadata);
+        this.klass = Objects.requireNonNull(klass);
+        try {
+            Constructor<R> $constructor = klass.getDeclaredConstructor();
+            $constructor.setAccessible(true);
+            this.constructor = MethodHandles.lookup().unreflectConstructor($constructor).asType(MethodType.methodType(Object.class));
+        } catch (Throwable throwable) {
+            throw new SQLite3Exception(String.format("class[%s] has no accessible no-arg constructor.", klass.getName()), throwable);
+        }
+        Map<String, QueryRetColumnModel> retColumnModelMap = SQLite3Utils.getClassQueryRetModel(klass).getRetColumnModelMap();
+        List<Integer> planList = new ArrayList<>();
+        for (int index = 0, count = metadata.getColumnCount(); index < count; index++) {
+            if (retColumnModelMap.containsKey(metadata.getColumnName(index))) {
+                planList.add(index);
+            }
+        }
+        int size = planList.size();
+        this.columnIndexes = new int[size];
+        this.extractors = new ColumnExtractor[size];
+        this.accessors = new FieldAccessor[size];
+        this.converters = new int[size];
+        this.primitives = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            int index = planList.get(i);
+            QueryRetColumnModel retColumnModel = retColumnModelMap.get(metadata.getColumnName(index));
+            this.columnIndexes[i] = metadata.getColumnIndex(index);
+            this.extractors[i] = metadata.getExtractor(index);
+            this.accessors[i] = retColumnModel.getFieldAccessor();
+            Class<?> fieldType = retColumnModel.getFieldType();
+            if (fieldType == BigDecimal.class) {
+                this.converters[i] = CONVERT_DECIMAL;
+            } else if (fieldType == char.class || fieldType == Character.class) {
+                this.converters[i] = CONVERT_CHAR;
+            } else {
+                this.converters[i] = CONVERT_NONE;
+            }
+            this.primitives[i] = fieldType.isPrimitive();
+        }
+    }
+
+    /**
+     * 映射单行数据为模型实例
+     * @param resultSet 查询结果集（已定位至当前行）
+     * @param rowNum 行号（从0开始）
+     * @return 模型实例
+     * @throws SQLException SQLException
+     */
+    @Override
+    public R mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+        Object instance;
+        try {
+            instance = constructor.invokeExact();
+        } catch (Throwable throwable) {
+            throw new SQLite3Exception(String.format("create class[%s] instance failed.", klass.getName()), throwable);
+        }
+        for (int i = 0; i < columnIndexes.length; i++) {
+            Object value = extractors[i].extract(resultSet, columnIndexes[i]);
+            if (value != null && !primitives[i] && resultSet.wasNull()) {
+                // 数值类列读取方式对NULL返回0，包装类型字段需映射为null
+                value = null;
+            }
+            if (converters[i] == CONVERT_DECIMAL && value != null && !(value instanceof BigDecimal)) {
+                value = BigDecimal.valueOf(Double.parseDouble(String.valueOf(value)));
+            } else if (converters[i] == CONVERT_CHAR) {
+                value = SQLite3Utils.convertColumnValue(value, Character.class);
+            }
+            if (value == null && primitives[i]) {
+                continue;
+            }
+            try {
+                accessors[i].set(instance, value);
+            } catch (Throwable throwable) {
+                throw new SQLite3Exception(String.format("set class[%s] field[%s] value failed."
+                        , klass.getName(), accessors[i].getField().getName()), throwable);
+            }
+        }
+        return klass.cast(instance);
+    }
+
+    public SQLite3ResultSetMetadata getMetadata() {
+        return metadata;
+    }
+
+    public Class<R> getKlass() {
+        return klass;
+    }
+
+}
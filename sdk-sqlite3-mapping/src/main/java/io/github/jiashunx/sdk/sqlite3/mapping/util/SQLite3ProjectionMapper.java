@@ -0,0 +1,79 @@
+package io.github.jiashunx.sdk.sqlite3.mapping.util;
+
+import io.github.jiashunx.sdk.sqlite3.core.function.ColumnExtractor;
+import io.github.jiashunx.sdk.sqlite3.core.function.RowMapper;
+import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3ResultSetMetadata;
+import io.github.jiashunx.sdk.sqlite3.metadata.QueryRetProjectionModel;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * SQLite3 不可变投影行映射（按查询结果元数据预先解析投影参数对应列下标，逐行读取参数值后一次性创建投影实例）
+ * @param <R> 投影类型
+ * @author jiashunx
+ */
+public class SQLite3ProjectionMapper<R> implements RowMapper<R> {
+
+    /**
+     * 投影模型信息
+     */
+    private final QueryRetProjectionModel projectionModel;
+
+    /**
+     * 投影Class对象
+     */
+    private final Class<R> klass;
+
+    /**
+     * 投影参数对应列下标（从1开始，查询结果不包含该列则为0）
+     */
+    private final int[] columnIndexes;
+
+    /**
+     * 投影参数对应列值读取方式
+     */
+    private final ColumnExtractor[] extractors;
+
+    /**
+     * 构造方法
+     * @param metadata 查询结果元数据
+     * @param projectionModel 投影模型信息
+     * @param klass 投影Class对象
+     */
+    public SQLite3ProjectionMapper(SQLite3ResultSetMetadata metadata, QueryRetProjectionModel projectionModel, Class<R> klass) {
+        this.projectionModel = Objects.requireNonNull(projectionModel);
+        this.klass = Objects.requireNonNull(klass);
+        this.columnIndexes = SQLite3Utils.resolveColumnIndexes(metadata, projectionModel.getColumnNames());
+        this.extractors = SQLite3Utils.resolveColumnExtractors(metadata, projectionModel.getColumnNames());
+    }
+
+    /**
+     * 映射单行数据为投影实例
+     * @param resultSet 查询结果集（已定位至当前行）
+     * @param rowNum 行号（从0开始）
+     * @return 投影实例
+     * @throws SQLException SQLException
+     */
+    @Override
+    public R mapRow(ResultSet resultSet, int rowNum) throws SQLException {
+        Class<?>[] parameterTypes = projectionModel.getParameterTypes();
+        Object[] defaultValues = projectionModel.getDefaultValues();
+        Object[] values = new Object[columnIndexes.length];
+        for (int i = 0; i < columnIndexes.length; i++) {
+            Object value = null;
+            if (columnIndexes[i] != 0) {
+                Object columnValue = extractors[i].extract(resultSet, columnIndexes[i]);
+                if (columnValue != null && !parameterTypes[i].isPrimitive() && resultSet.wasNull()) {
+                    // 数值类列读取方式对NULL返回0，包装类型参数需映射为null
+                    columnValue = null;
+                }
+                value = SQLite3Utils.convertColumnValue(columnValue, parameterTypes[i]);
+            }
+            values[i] = value == null ? defaultValues[i] : value;
+        }
+        return klass.cast(projectionModel.newInstance(values));
+    }
+
+}
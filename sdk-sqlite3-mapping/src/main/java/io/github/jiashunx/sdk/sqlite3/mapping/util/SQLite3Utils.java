@@ -1,32 +1,64 @@
 package io.github.jiashunx.sdk.sqlite3.mapping.util;
 
 import io.github.jiashunx.sdk.sqlite3.core.exception.SQLite3Exception;
+import io.github.jiashunx.sdk.sqlite3.core.exception.SQLite3SqlException;
+import io.github.jiashunx.sdk.sqlite3.core.function.ColumnExtractor;
+import io.github.jiashunx.sdk.sqlite3.core.function.ParameterBinder;
 import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3PreparedStatement;
+import io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3ResultSetMetadata;
+import io.github.jiashunx.sdk.sqlite3.mapping.SQLite3GeneratedMapping;
 import io.github.jiashunx.sdk.sqlite3.metadata.ColumnMetadata;
 import io.github.jiashunx.sdk.sqlite3.metadata.QueryResult;
 import io.github.jiashunx.sdk.sqlite3.metadata.QueryRetClassModel;
 import io.github.jiashunx.sdk.sqlite3.metadata.QueryRetColumnModel;
+import io.github.jiashunx.sdk.sqlite3.metadata.QueryRetProjectionModel;
 import io.github.jiashunx.sdk.sqlite3.metadata.TableColumnModel;
 import io.github.jiashunx.sdk.sqlite3.metadata.TableModel;
+import io.github.jiashunx.sdk.sqlite3.metadata.TrackableEntity;
 import io.github.jiashunx.sdk.sqlite3.metadata.annotation.SQLite3Column;
 import io.github.jiashunx.sdk.sqlite3.metadata.annotation.SQLite3Id;
 import io.github.jiashunx.sdk.sqlite3.metadata.annotation.SQLite3Table;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Proxy;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.NClob;
+import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * SQLite3工具类
@@ -34,15 +66,148 @@ import java.util.function.Consumer;
  */
 public class SQLite3Utils extends io.github.jiashunx.sdk.sqlite3.core.util.SQLite3Utils {
 
+    private static final Logger logger = LoggerFactory.getLogger(SQLite3Utils.class);
+
+    /**
+     * Class对象与对应查询结果映射类模型信息缓存（按Class对象缓存，各类独立构建，无全局锁；构建失败不缓存）
+     */
+    private static final ClassValue<QueryRetClassModel> QUERY_RET_CLASS_MODEL = new ClassValue<QueryRetClassModel>() {
+        @Override
+        protected QueryRetClassModel computeValue(Class<?> klass) {
+            return buildClassQueryRetModel(klass);
+        }
+    };
+
+    /**
+     * Class对象与对应数据表模型信息缓存（按Class对象缓存，各类独立构建，无全局锁；构建失败不缓存）
+     */
+    private static final ClassValue<TableModel> CLASS_TABLE_MODEL = new ClassValue<TableModel>() {
+        @Override
+        protected TableModel computeValue(Class<?> klass) {
+            return buildClassTableModel(klass);
+        }
+    };
+
+    /**
+     * 键集分页延续标识版本
+     */
+    private static final byte KEYSET_TOKEN_VERSION = 1;
+
+    /**
+     * 键集分页延续标识值类型：字符串
+     */
+    private static final byte KEYSET_VALUE_STRING = 'S';
+
+    /**
+     * 键集分页延续标识值类型：整数
+     */
+    private static final byte KEYSET_VALUE_LONG = 'L';
+
+    /**
+     * 键集分页延续标识值类型：浮点数
+     */
+    private static final byte KEYSET_VALUE_DOUBLE = 'D';
+
+    /**
+     * 键集分页延续标识值类型：BigDecimal
+     */
+    private static final byte KEYSET_VALUE_DECIMAL = 'N';
+
+    /**
+     * 键集分页延续标识值类型：字节数组
+     */
+    private static final byte KEYSET_VALUE_BYTES = 'B';
+
+    /**
+     * 键集分页延续标识值类型：NULL（仅排序列）
+     */
+    private static final byte KEYSET_VALUE_NULL = 'Z';
+
+    /**
+     * 模型Class对象与编译期生成的模型映射缓存（未生成则为null）
+     */
+    private static final ClassValue<SQLite3GeneratedMapping<?>> GENERATED_MAPPING = new ClassValue<SQLite3GeneratedMapping<?>>() {
+        @Override
+        protected SQLite3GeneratedMapping<?> computeValue(Class<?> klass) {
+            return loadGeneratedMapping(klass);
+        }
+    };
+
+    /**
+     * Class对象与查询结果不可变投影模型信息缓存（非投影类型为null）
+     */
+    private static final ClassValue<QueryRetProjectionModel> QUERY_RET_PROJECTION_MODEL = new ClassValue<QueryRetProjectionModel>() {
+        @Override
+        protected QueryRetProjectionModel computeValue(Class<?> klass) {
+            return buildClassProjectionModel(klass);
+        }
+    };
+
+    /**
+     * 预处理参数赋值方式（按模型字段类型，基本类型直接赋值，null值按对应SQL类型赋null）
+     */
+    private static final ParameterBinder STRING_BINDER = nullable(Types.VARCHAR, (statement, index, value, columnMetadata) -> statement.setString(index, (String) value));
+    private static final ParameterBinder CHAR_BINDER = nullable(Types.CHAR, (statement, index, value, columnMetadata) -> statement.setString(index, String.valueOf(value)));
+    private static final ParameterBinder BOOLEAN_BINDER = nullable(Types.BOOLEAN, (statement, index, value, columnMetadata) -> statement.setBoolean(index, (Boolean) value));
+    private static final ParameterBinder BYTE_BINDER = nullable(Types.TINYINT, (statement, index, value, columnMetadata) -> statement.setByte(index, ((Number) value).byteValue()));
+    private static final ParameterBinder SHORT_BINDER = nullable(Types.SMALLINT, (statement, index, value, columnMetadata) -> statement.setShort(index, ((Number) value).shortValue()));
+    private static final ParameterBinder INT_BINDER = nullable(Types.INTEGER, (statement, index, value, columnMetadata) -> statement.setInt(index, ((Number) value).intValue()));
+    private static final ParameterBinder LONG_BINDER = nullable(Types.BIGINT, (statement, index, value, columnMetadata) -> statement.setLong(index, ((Number) value).longValue()));
+    private static final ParameterBinder FLOAT_BINDER = nullable(Types.FLOAT, (statement, index, value, columnMetadata) -> statement.setFloat(index, ((Number) value).floatValue()));
+    private static final ParameterBinder DOUBLE_BINDER = nullable(Types.DOUBLE, (statement, index, value, columnMetadata) -> statement.setDouble(index, ((Number) value).doubleValue()));
+    private static final ParameterBinder BIG_DECIMAL_BINDER = nullable(Types.DECIMAL, (statement, index, value, columnMetadata) -> statement.setBigDecimal(index, (BigDecimal) value));
+    private static final ParameterBinder BYTES_BINDER = nullable(Types.VARBINARY, (statement, index, value, columnMetadata) -> statement.setBytes(index, (byte[]) value));
+    private static final ParameterBinder INPUT_STREAM_BINDER = nullable(Types.BLOB, (statement, index, value, columnMetadata) -> statement.setBlob(index, (InputStream) value));
+    private static final ParameterBinder BLOB_BINDER = nullable(Types.BLOB, (statement, index, value, columnMetadata) -> statement.setBlob(index, (Blob) value));
+    private static final ParameterBinder READER_BINDER = nullable(Types.CLOB, (statement, index, value, columnMetadata) -> statement.setClob(index, (Reader) value));
+    private static final ParameterBinder CLOB_BINDER = nullable(Types.CLOB, (statement, index, value, columnMetadata) -> statement.setClob(index, (Clob) value));
+    private static final ParameterBinder NCLOB_BINDER = nullable(Types.NCLOB, (statement, index, value, columnMetadata) -> statement.setNClob(index, (NClob) value));
+    private static final ParameterBinder DATE_BINDER = nullable(Types.DATE, (statement, index, value, columnMetadata) -> statement.setDate(index, (java.sql.Date) value));
+    private static final ParameterBinder TIME_BINDER = nullable(Types.TIME, (statement, index, value, columnMetadata) -> statement.setTime(index, (java.sql.Time) value));
+    private static final ParameterBinder TIMESTAMP_BINDER = nullable(Types.TIMESTAMP, (statement, index, value, columnMetadata) -> statement.setTimestamp(index, (java.sql.Timestamp) value));
+    private static final ParameterBinder OBJECT_BINDER = nullable(Types.NULL, (statement, index, value, columnMetadata) -> statement.setObject(index, value));
+    private static final ParameterBinder UTIL_DATE_BINDER = (statement, index, value, columnMetadata) -> {
+        // java.util.Date按数据表字段定义类型赋值
+        switch (columnMetadata == null ? "" : columnMetadata.getColumnTypeName()) {
+            case "DATE":
+                DATE_BINDER.bind(statement, index, transferDate((java.util.Date) value), columnMetadata);
+                break;
+            case "TIME":
+                TIME_BINDER.bind(statement, index, transferTime((java.util.Date) value), columnMetadata);
+                break;
+            case "TIMESTAMP":
+                TIMESTAMP_BINDER.bind(statement, index, transferTimestamp((java.util.Date) value), columnMetadata);
+                break;
+            default:
+                OBJECT_BINDER.bind(statement, index, value, columnMetadata);
+                break;
+        }
+    };
+
     /**
-     * className与对应查询结果映射类模型信息缓存
+     * 模型字段类型与对应预处理参数赋值方式缓存
      */
-    private static final Map<String, QueryRetClassModel> QUERY_RET_CLASS_MAP = new HashMap<>();
+    private static final ClassValue<ParameterBinder> FIELD_TYPE_PARAMETER_BINDER = new ClassValue<ParameterBinder>() {
+        @Override
+        protected ParameterBinder computeValue(Class<?> fieldType) {
+            return resolveParameterBinder(fieldType);
+        }
+    };
 
     /**
-     * className与对应数据表模型映射关系缓存
+     * 模型Class对象与数据表模型各字段（与TableModel.getColumnModelList()顺序一致）预处理参数赋值方式缓存
      */
-    private static final Map<String, TableModel> CLASS_TABLE_MAP = new HashMap<>();
+    private static final ClassValue<ParameterBinder[]> TABLE_PARAMETER_BINDERS = new ClassValue<ParameterBinder[]>() {
+        @Override
+        protected ParameterBinder[] computeValue(Class<?> klass) {
+            List<TableColumnModel> columnModelList = getClassTableModel(klass).getColumnModelList();
+            ParameterBinder[] binders = new ParameterBinder[columnModelList.size()];
+            for (int index = 0; index < binders.length; index++) {
+                binders[index] = getParameterBinder(columnModelList.get(index).getFieldType());
+            }
+            return binders;
+        }
+    };
 
     /**
      * 私有构造方法
@@ -62,10 +227,14 @@ public class SQLite3Utils extends io.github.jiashunx.sdk.sqlite3.core.util.SQLit
         if (queryResult == null || klass == null) {
             throw new NullPointerException();
         }
+        QueryRetProjectionModel projectionModel = getClassProjectionModel(klass);
+        if (projectionModel != null) {
+            return parseQueryResult(queryResult, projectionModel, klass);
+        }
         String klassName = klass.getName();
         QueryRetClassModel retClassModel = getClassQueryRetModel(klass);
         Map<String, QueryRetColumnModel> retColumnModelMap = retClassModel.getRetColumnModelMap();
-        List<Map<String, Object>> retMapList = queryResult.getRetMapList();
+        List<Map<String, Object>> retMapList = queryResult.getRowMapViewList();
         Map<String, ColumnMetadata> columnMetadataMap = queryResult.getColumnMetadataMap();
         List<R> retObjList = null;
         if (retMapList != null) {
@@ -101,6 +270,35 @@ public class SQLite3Utils extends io.github.jiashunx.sdk.sqlite3.core.util.SQLit
         return retObjList;
     }
 
+    /**
+     * 解析并映射查询结果为不可变投影实例
+     * @param queryResult 查询结果封装
+     * @param projectionModel 投影模型信息
+     * @param klass 投影class对象
+     * @param <R> 返回结果类型
+     * @return 查询结果List
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    private static <R> List<R> parseQueryResult(QueryResult queryResult, QueryRetProjectionModel projectionModel, Class<R> klass) throws SQLite3Exception {
+        List<Map<String, Object>> retMapList = queryResult.getRowMapViewList();
+        if (retMapList == null) {
+            return null;
+        }
+        String[] columnNames = projectionModel.getColumnNames();
+        Class<?>[] parameterTypes = projectionModel.getParameterTypes();
+        Object[] defaultValues = projectionModel.getDefaultValues();
+        List<R> retObjList = new ArrayList<>(retMapList.size());
+        for (Map<String, Object> rowMap: retMapList) {
+            Object[] values = new Object[columnNames.length];
+            for (int i = 0; i < columnNames.length; i++) {
+                Object value = convertColumnValue(rowMap.get(columnNames[i]), parameterTypes[i]);
+                values[i] = value == null ? defaultValues[i] : value;
+            }
+            retObjList.add(klass.cast(projectionModel.newInstance(values)));
+        }
+        return retObjList;
+    }
+
     /**
      * 根据class获取对应查询结果映射类模型信息
      * @param klass 待映射class对象
@@ -112,56 +310,57 @@ public class SQLite3Utils extends io.github.jiashunx.sdk.sqlite3.core.util.SQLit
         if (klass == null) {
             throw new NullPointerException();
         }
+        return QUERY_RET_CLASS_MODEL.get(klass);
+    }
+
+    /**
+     * 构建查询结果映射类模型信息
+     * @param klass 待映射class对象
+     * @return 查询结果映射类模型信息
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    private static QueryRetClassModel buildClassQueryRetModel(Class<?> klass) throws SQLite3Exception {
         String klassName = klass.getName();
-        QueryRetClassModel retClassModel = QUERY_RET_CLASS_MAP.get(klassName);
-        if (retClassModel == null) {
-            synchronized (SQLite3Utils.class) {
-                retClassModel = QUERY_RET_CLASS_MAP.get(klassName);
-                if (retClassModel == null) {
-                    try {
-                        Field[] fields = klass.getDeclaredFields();
-                        if (fields.length == 0) {
-                            throw new SQLite3Exception(String.format("class[%s] has no declared fields", klassName));
-                        }
-                        Map<String, QueryRetColumnModel> retColumnModelMap = new HashMap<>();
-                        for (Field field: fields) {
-                            String fieldName = field.getName();
-                            SQLite3Column columnAnnotation = field.getAnnotation(SQLite3Column.class);
-                            if (columnAnnotation != null) {
-                                String columnName = columnAnnotation.columnName().trim();
-                                if (columnName.isEmpty()) {
-                                    throw new SQLite3Exception(String.format(
-                                            "class[%s] field [%s] has @SQLite3Column annotation, but columnName is empty"
-                                            , klassName, fieldName));
-                                }
-                                QueryRetColumnModel retColumnModel = new QueryRetColumnModel();
-                                retColumnModel.setKlassName(klassName);
-                                retColumnModel.setColumnName(columnName);
-                                retColumnModel.setField(field);
-                                retColumnModel.setFieldName(fieldName);
-                                retColumnModel.setFieldType(field.getType());
-                                retColumnModelMap.put(columnName, retColumnModel);
-                            }
-                        }
-                        if (retColumnModelMap.isEmpty()) {
-                            throw new SQLite3Exception(String.format("class[%s] has no field with annotation: @SQLite3Column", klassName));
-                        }
-                        retClassModel = new QueryRetClassModel();
-                        retClassModel.setKlass(klass);
-                        retClassModel.setRetColumnModelMap(retColumnModelMap);
-                        QUERY_RET_CLASS_MAP.put(klassName, retClassModel);
-                    } catch (SecurityException exception) {
-                        throw new SQLite3Exception(String.format("visit class[%s] fields failed.", klassName), exception);
-                    } catch (Throwable throwable) {
-                        if (throwable instanceof SQLite3Exception) {
-                            throw (SQLite3Exception) throwable;
-                        }
-                        throw new SQLite3Exception(throwable);
+        try {
+            Field[] fields = klass.getDeclaredFields();
+            if (fields.length == 0) {
+                throw new SQLite3Exception(String.format("class[%s] has no declared fields", klassName));
+            }
+            Map<String, QueryRetColumnModel> retColumnModelMap = new HashMap<>();
+            for (Field field: fields) {
+                String fieldName = field.getName();
+                SQLite3Column columnAnnotation = field.getAnnotation(SQLite3Column.class);
+                if (columnAnnotation != null) {
+                    String columnName = columnAnnotation.columnName().trim();
+                    if (columnName.isEmpty()) {
+                        throw new SQLite3Exception(String.format(
+                                "class[%s] field [%s] has @SQLite3Column annotation, but columnName is empty"
+                                , klassName, fieldName));
                     }
+                    QueryRetColumnModel retColumnModel = new QueryRetColumnModel();
+                    retColumnModel.setKlassName(klassName);
+                    retColumnModel.setColumnName(columnName);
+                    retColumnModel.setField(field);
+                    retColumnModel.setFieldName(fieldName);
+                    retColumnModel.setFieldType(field.getType());
+                    retColumnModelMap.put(columnName, retColumnModel);
                 }
             }
+            if (retColumnModelMap.isEmpty()) {
+                throw new SQLite3Exception(String.format("class[%s] has no field with annotation: @SQLite3Column", klassName));
+            }
+            QueryRetClassModel retClassModel = new QueryRetClassModel();
+            retClassModel.setKlass(klass);
+            retClassModel.setRetColumnModelMap(retColumnModelMap);
+            return retClassModel;
+        } catch (SecurityException exception) {
+            throw new SQLite3Exception(String.format("visit class[%s] fields failed.", klassName), exception);
+        } catch (Throwable throwable) {
+            if (throwable instanceof SQLite3Exception) {
+                throw (SQLite3Exception) throwable;
+            }
+            throw new SQLite3Exception(throwable);
         }
-        return retClassModel;
     }
 
     /**
@@ -175,100 +374,100 @@ public class SQLite3Utils extends io.github.jiashunx.sdk.sqlite3.core.util.SQLit
         if (klass == null) {
             throw new NullPointerException();
         }
+        return CLASS_TABLE_MODEL.get(klass);
+    }
+
+    /**
+     * 构建数据表模型信息
+     * @param klass 待映射class对象
+     * @return 数据表模型信息
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    private static TableModel buildClassTableModel(Class<?> klass) throws SQLite3Exception {
         String klassName = klass.getName();
-        TableModel tableModel = CLASS_TABLE_MAP.get(klassName);
-        if (tableModel == null) {
-            synchronized (SQLite3Utils.class) {
-                tableModel = CLASS_TABLE_MAP.get(klassName);
-                if (tableModel == null) {
-                    try {
-                        SQLite3Table tableAnnotation = klass.getAnnotation(SQLite3Table.class);
-                        if (tableAnnotation == null) {
-                            throw new SQLite3Exception(String.format("class[%s] doesn't have @SQLite3Table annotation", klassName));
-                        }
-                        String tableName = tableAnnotation.tableName().trim();
-                        if (tableName.isEmpty()) {
-                            throw new SQLite3Exception(String.format("class[%s] has @SQLite3Table annotation, but tableName is empty", klassName));
-                        }
-                        Field[] fields = klass.getDeclaredFields();
-                        if (fields.length == 0) {
-                            throw new SQLite3Exception(String.format("class[%s] has no declared fields", klassName));
-                        }
-                        TableColumnModel idColumnModel = null;
-                        Map<String, TableColumnModel> columnModelMap = new HashMap<>();
-                        for (Field field: fields) {
-                            String fieldName = field.getName();
-                            SQLite3Column columnAnnotation = field.getAnnotation(SQLite3Column.class);
-                            SQLite3Id idAnnotation = field.getAnnotation(SQLite3Id.class);
-                            if (idAnnotation != null && columnAnnotation == null) {
-                                throw new SQLite3Exception(String.format(
-                                        "class[%s] field [%s] has @SQLite3Id annotation, but has no @SQLite3Column annotation"
-                                        , klassName, fieldName));
-                            }
-                            if (columnAnnotation != null) {
-                                String columnName = columnAnnotation.columnName().trim();
-                                if (columnName.isEmpty()) {
-                                    throw new SQLite3Exception(String.format(
-                                            "class[%s] field [%s] has @SQLite3Column annotation, but columnName is empty"
-                                            , klassName, fieldName));
-                                }
-                                TableColumnModel columnModel = new TableColumnModel();
-                                columnModel.setKlassName(klassName);
-                                columnModel.setTableName(tableName);
-                                columnModel.setColumnName(columnName);
-                                columnModel.setField(field);
-                                columnModel.setFieldName(fieldName);
-                                columnModel.setFieldType(field.getType());
-                                columnModel.setIdColumn(false);
-                                if (columnModelMap.containsKey(columnName)) {
-                                    throw new SQLite3Exception(String.format(
-                                            "class[%s] has more than one field mapping to table column: %s"
-                                            , klassName, columnName));
-                                }
-                                if (idAnnotation != null) {
-                                    if (idColumnModel != null) {
-                                        throw new SQLite3Exception(String.format(
-                                                "class[%s] has more than one field with @SQLite3Id annotation, such as %s, %s"
-                                                , klassName, idColumnModel.getFieldName(), fieldName));
-                                    }
-                                    columnModel.setIdColumn(true);
-                                    idColumnModel = columnModel;
-                                }
-                                columnModelMap.put(columnName, columnModel);
-                            }
-                        }
-                        if (idColumnModel == null) {
-                            throw new SQLite3Exception(String.format("class[%s] has no field with annotation: @SQLite3Id", klassName));
-                        }
-                        List<TableColumnModel> columnModelList = new ArrayList<>(columnModelMap.size());
-                        columnModelMap.values().forEach(columnModel -> {
-                            if (columnModel.isIdColumn()) {
-                                return;
-                            }
-                            columnModelList.add(columnModel);
-                        });
-                        columnModelList.add(idColumnModel);
-                        tableModel = new TableModel();
-                        tableModel.setKlass(klass);
-                        tableModel.setKlassName(klassName);
-                        tableModel.setTableName(tableName);
-                        tableModel.setIdColumnModel(idColumnModel);
-                        tableModel.setColumnModelMap(columnModelMap);
-                        tableModel.setColumnModelList(columnModelList);
-                        CLASS_TABLE_MAP.put(klassName, tableModel);
-                    } catch (SecurityException exception) {
-                        throw new SQLite3Exception(String.format("visit class[%s] fields failed.", klassName), exception);
-                    } catch (Throwable throwable) {
-                        if (throwable instanceof SQLite3Exception) {
-                            throw (SQLite3Exception) throwable;
+        try {
+            SQLite3Table tableAnnotation = klass.getAnnotation(SQLite3Table.class);
+            if (tableAnnotation == null) {
+                throw new SQLite3Exception(String.format("class[%s] doesn't have @SQLite3Table annotation", klassName));
+            }
+            String tableName = tableAnnotation.tableName().trim();
+            if (tableName.isEmpty()) {
+                throw new SQLite3Exception(String.format("class[%s] has @SQLite3Table annotation, but tableName is empty", klassName));
+            }
+            Field[] fields = klass.getDeclaredFields();
+            if (fields.length == 0) {
+                throw new SQLite3Exception(String.format("class[%s] has no declared fields", klassName));
+            }
+            TableColumnModel idColumnModel = null;
+            Map<String, TableColumnModel> columnModelMap = new HashMap<>();
+            for (Field field: fields) {
+                String fieldName = field.getName();
+                SQLite3Column columnAnnotation = field.getAnnotation(SQLite3Column.class);
+                SQLite3Id idAnnotation = field.getAnnotation(SQLite3Id.class);
+                if (idAnnotation != null && columnAnnotation == null) {
+                    throw new SQLite3Exception(String.format(
+                            "class[%s] field [%s] has @SQLite3Id annotation, but has no @SQLite3Column annotation"
+                            , klassName, fieldName));
+                }
+                if (columnAnnotation != null) {
+                    String columnName = columnAnnotation.columnName().trim();
+                    if (columnName.isEmpty()) {
+                        throw new SQLite3Exception(String.format(
+                                "class[%s] field [%s] has @SQLite3Column annotation, but columnName is empty"
+                                , klassName, fieldName));
+                    }
+                    TableColumnModel columnModel = new TableColumnModel();
+                    columnModel.setKlassName(klassName);
+                    columnModel.setTableName(tableName);
+                    columnModel.setColumnName(columnName);
+                    columnModel.setField(field);
+                    columnModel.setFieldName(fieldName);
+                    columnModel.setFieldType(field.getType());
+                    columnModel.setIdColumn(false);
+                    if (columnModelMap.containsKey(columnName)) {
+                        throw new SQLite3Exception(String.format(
+                                "class[%s] has more than one field mapping to table column: %s"
+                                , klassName, columnName));
+                    }
+                    if (idAnnotation != null) {
+                        if (idColumnModel != null) {
+                            throw new SQLite3Exception(String.format(
+                                    "class[%s] has more than one field with @SQLite3Id annotation, such as %s, %s"
+                                    , klassName, idColumnModel.getFieldName(), fieldName));
                         }
-                        throw new SQLite3Exception(throwable);
+                        columnModel.setIdColumn(true);
+                        idColumnModel = columnModel;
                     }
+                    columnModelMap.put(columnName, columnModel);
                 }
             }
+            if (idColumnModel == null) {
+                throw new SQLite3Exception(String.format("class[%s] has no field with annotation: @SQLite3Id", klassName));
+            }
+            List<TableColumnModel> columnModelList = new ArrayList<>(columnModelMap.size());
+            columnModelMap.values().forEach(columnModel -> {
+                if (columnModel.isIdColumn()) {
+                    return;
+                }
+                columnModelList.add(columnModel);
+            });
+            columnModelList.add(idColumnModel);
+            TableModel tableModel = new TableModel();
+            tableModel.setKlass(klass);
+            tableModel.setKlassName(klassName);
+            tableModel.setTableName(tableName);
+            tableModel.setIdColumnModel(idColumnModel);
+            tableModel.setColumnModelMap(columnModelMap);
+            tableModel.setColumnModelList(columnModelList);
+            return tableModel;
+        } catch (SecurityException exception) {
+            throw new SQLite3Exception(String.format("visit class[%s] fields failed.", klassName), exception);
+        } catch (Throwable throwable) {
+            if (throwable instanceof SQLite3Exception) {
+                throw (SQLite3Exception) throwable;
+            }
+            throw new SQLite3Exception(throwable);
         }
-        return tableModel;
-
     }
 
     /**
@@ -292,10 +491,13 @@ public class SQLite3Utils extends io.github.jiashunx.sdk.sqlite3.core.util.SQLit
         if (object == null || tableModel == null) {
             throw new NullPointerException();
         }
+        ParameterBinder[] binders = TABLE_PARAMETER_BINDERS.get(tableModel.getKlass());
         return statement -> {
             String tableName = tableModel.getTableName();
             Map<String, ColumnMetadata> columnMetadataMap = tableModel.getColumnMetadata();
             List<TableColumnModel> columnModelList = tableModel.getColumnModelList();
+            // 参数序号仅按通过过滤的字段递增
+            int parameterIndex = 0;
             for (int index = 0, size = columnModelList.size(); index < size; index++) {
                 TableColumnModel columnModel = columnModelList.get(index);
                 String columnName = columnModel.getColumnName();
@@ -306,66 +508,752 @@ public class SQLite3Utils extends io.github.jiashunx.sdk.sqlite3.core.util.SQLit
                 if (!filter.test(columnModel, columnMetadata)) {
                     continue;
                 }
-                int insertIndex = index + 1;
-                Object value = columnModel.getFieldValue(object);
-                String stringValue = String.valueOf(value);
-                Class<?> fieldType = columnModel.getFieldType();
-                if (fieldType == String.class || fieldType == char.class || fieldType == Character.class) {
-                    statement.setString(insertIndex, (String) value);
-                } else if (fieldType == boolean.class || fieldType == Boolean.class) {
-                    statement.setBoolean(insertIndex, Boolean.parseBoolean(stringValue));
-                } else if (fieldType == byte.class || fieldType == Byte.class) {
-                    statement.setByte(insertIndex, Byte.parseByte(stringValue));
-                } else if (fieldType == short.class || fieldType == Short.class) {
-                    statement.setShort(insertIndex, Short.parseShort(stringValue));
-                } else if (fieldType == int.class || fieldType == Integer.class) {
-                    statement.setInt(insertIndex, Integer.parseInt(stringValue));
-                } else if (fieldType == float.class || fieldType == Float.class) {
-                    statement.setFloat(insertIndex, Float.parseFloat(stringValue));
-                } else if (fieldType == double.class || fieldType == Double.class) {
-                    statement.setDouble(insertIndex, Double.parseDouble(stringValue));
-                } else if (fieldType == long.class || fieldType == Long.class) {
-                    statement.setLong(insertIndex, Long.parseLong(stringValue));
-                } else if (fieldType == BigDecimal.class) {
-                    statement.setBigDecimal(insertIndex, (BigDecimal) value);
-                } else if (fieldType == byte[].class) {
-                    statement.setBytes(insertIndex, (byte[]) value);
-                } else if (InputStream.class.isAssignableFrom(fieldType)) {
-                    statement.setBlob(insertIndex, (InputStream) value);
-                } else if (fieldType == Blob.class) {
-                    statement.setBlob(insertIndex, (Blob) value);
-                } else if (Reader.class.isAssignableFrom(fieldType)) {
-                    statement.setClob(insertIndex, (Reader) value);
-                } else if (fieldType == Clob.class) {
-                    statement.setClob(insertIndex, (Clob) value);
-                } else if (fieldType == NClob.class) {
-                    statement.setNClob(insertIndex, (NClob) value);
-                } else if (fieldType == java.util.Date.class) {
-                    switch (columnMetadata.getColumnTypeName()) {
-                        case "DATE":
-                            statement.setDate(insertIndex, transferDate((java.util.Date) value));
-                            break;
-                        case "TIME":
-                            statement.setTime(insertIndex, transferTime((java.util.Date) value));
-                            break;
-                        case "TIMESTAMP":
-                            statement.setTimestamp(insertIndex, transferTimestamp((java.util.Date) value));
-                            break;
-                        default:
-                            statement.setObject(insertIndex, value);
-                            break;
+                binders[index].bind(statement, ++parameterIndex, columnModel.getFieldValue(object), columnMetadata);
+            }
+        };
+    }
+
+    /**
+     * 根据模型实例及数据表模型信息封装数据对象预处理赋值处理（仅处理掩码指定字段及主键字段，用于部分字段更新）
+     * @param object 模型实例
+     * @param tableModel 数据表模型信息
+     * @param columnMask 更新字段掩码（第i位对应columnModelList第i个非主键字段）
+     * @return 预处理赋值处理
+     */
+    public static Consumer<SQLite3PreparedStatement> buildTableConsumer(Object object, TableModel tableModel, long columnMask) {
+        List<TableColumnModel> columnModelList = tableModel.getColumnModelList();
+        Map<TableColumnModel, Boolean> selectedMap = new IdentityHashMap<>();
+        for (int index = 0, size = Math.min(columnModelList.size(), Long.SIZE); index < size; index++) {
+            if ((columnMask & (1L << index)) != 0) {
+                selectedMap.put(columnModelList.get(index), Boolean.TRUE);
+            }
+        }
+        return buildTableConsumer(object, tableModel, (tableColumnModel, columnMetadata) ->
+                tableColumnModel.isIdColumn() || selectedMap.containsKey(tableColumnModel));
+    }
+
+    /**
+     * 记录可跟踪模型实例表字段值快照（非TrackableEntity实例不处理）
+     * @param object 模型实例
+     * @param tableModel 数据表模型信息
+     */
+    public static void trackEntity(Object object, TableModel tableModel) {
+        if (!(object instanceof TrackableEntity)) {
+            return;
+        }
+        List<TableColumnModel> columnModelList = tableModel.getColumnModelList();
+        Object[] trackedValues = new Object[columnModelList.size()];
+        for (int index = 0; index < trackedValues.length; index++) {
+            Object value = columnModelList.get(index).getFieldValue(object);
+            trackedValues[index] = value instanceof byte[] ? ((byte[]) value).clone() : value;
+        }
+        ((TrackableEntity) object).setTrackedValues(trackedValues);
+    }
+
+    /**
+     * 计算可跟踪模型实例变更字段掩码
+     * @param entity 可跟踪模型实例
+     * @param tableModel 数据表模型信息
+     * @return 变更字段掩码（第i位对应columnModelList第i个非主键字段，0表示无变更，-1表示未记录快照或字段数超出掩码范围，需全部字段更新）
+     */
+    public static long getDirtyColumnMask(TrackableEntity entity, TableModel tableModel) {
+        Object[] trackedValues = entity.getTrackedValues();
+        List<TableColumnModel> columnModelList = tableModel.getColumnModelList();
+        int size = columnModelList.size();
+        if (trackedValues == null || trackedValues.length != size || size > Long.SIZE) {
+            return -1L;
+        }
+        long columnMask = 0L;
+        for (int index = 0; index < size; index++) {
+            TableColumnModel columnModel = columnModelList.get(index);
+            if (!columnModel.isIdColumn() && !Objects.deepEquals(trackedValues[index], columnModel.getFieldValue(entity))) {
+                columnMask |= 1L << index;
+            }
+        }
+        return columnMask;
+    }
+
+    /**
+     * 按模型字段类型进行预处理赋值
+     * @param statement SQLite3PreparedStatement
+     * @param insertIndex 参数序号
+     * @param fieldType 模型字段类型
+     * @param value 模型字段值
+     * @param columnMetadata 数据表字段定义信息（日期类型按字段定义类型赋值，为null则按对象赋值）
+     */
+    public static void setStatementValue(SQLite3PreparedStatement statement, int insertIndex, Class<?> fieldType, Object value, ColumnMetadata columnMetadata) {
+        getParameterBinder(fieldType).bind(statement, insertIndex, value, columnMetadata);
+    }
+
+    /**
+     * 根据模型字段类型获取预处理参数赋值方式（按字段类型缓存）
+     * @param fieldType 模型字段类型
+     * @return 预处理参数赋值方式
+     */
+    public static ParameterBinder getParameterBinder(Class<?> fieldType) {
+        return FIELD_TYPE_PARAMETER_BINDER.get(Objects.requireNonNull(fieldType));
+    }
+
+    /**
+     * 解析模型字段类型对应预处理参数赋值方式
+     * @param fieldType 模型字段类型
+     * @return 预处理参数赋值方式
+     */
+    private static ParameterBinder resolveParameterBinder(Class<?> fieldType) {
+        if (fieldType == String.class) {
+            return STRING_BINDER;
+        } else if (fieldType == char.class || fieldType == Character.class) {
+            return CHAR_BINDER;
+        } else if (fieldType == boolean.class || fieldType == Boolean.class) {
+            return BOOLEAN_BINDER;
+        } else if (fieldType == byte.class || fieldType == Byte.class) {
+            return BYTE_BINDER;
+        } else if (fieldType == short.class || fieldType == Short.class) {
+            return SHORT_BINDER;
+        } else if (fieldType == int.class || fieldType == Integer.class) {
+            return INT_BINDER;
+        } else if (fieldType == float.class || fieldType == Float.class) {
+            return FLOAT_BINDER;
+        } else if (fieldType == double.class || fieldType == Double.class) {
+            return DOUBLE_BINDER;
+        } else if (fieldType == long.class || fieldType == Long.class) {
+            return LONG_BINDER;
+        } else if (fieldType == BigDecimal.class) {
+            return BIG_DECIMAL_BINDER;
+        } else if (fieldType == byte[].class) {
+            return BYTES_BINDER;
+        } else if (InputStream.class.isAssignableFrom(fieldType)) {
+            return INPUT_STREAM_BINDER;
+        } else if (fieldType == Blob.class) {
+            return BLOB_BINDER;
+        } else if (Reader.class.isAssignableFrom(fieldType)) {
+            return READER_BINDER;
+        } else if (fieldType == Clob.class) {
+            return CLOB_BINDER;
+        } else if (fieldType == NClob.class) {
+            return NCLOB_BINDER;
+        } else if (fieldType == java.util.Date.class) {
+            return UTIL_DATE_BINDER;
+        } else if (fieldType == java.sql.Date.class) {
+            return DATE_BINDER;
+        } else if (fieldType == java.sql.Time.class) {
+            return TIME_BINDER;
+        } else if (fieldType == java.sql.Timestamp.class) {
+            return TIMESTAMP_BINDER;
+        }
+        return OBJECT_BINDER;
+    }
+
+    /**
+     * 值为null时按指定SQL类型赋null，否则按指定方式赋值
+     * @param sqlType SQL类型（java.sql.Types）
+     * @param binder 非null值赋值方式
+     * @return 预处理参数赋值方式
+     */
+    private static ParameterBinder nullable(int sqlType, ParameterBinder binder) {
+        return (statement, parameterIndex, value, columnMetadata) -> {
+            if (value == null) {
+                statement.setNull(parameterIndex, sqlType);
+            } else {
+                binder.bind(statement, parameterIndex, value, columnMetadata);
+            }
+        };
+    }
+
+    /**
+     * 获取编译期生成的模型映射（由sdk-sqlite3-processor注解处理器生成）
+     * @param klass 模型Class对象
+     * @param <T> 模型类型
+     * @return 模型映射（未生成则返回null）
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> SQLite3GeneratedMapping<T> getGeneratedMapping(Class<T> klass) {
+        return (SQLite3GeneratedMapping<T>) GENERATED_MAPPING.get(Objects.requireNonNull(klass));
+    }
+
+    /**
+     * 加载编译期生成的模型映射
+     * @param klass 模型Class对象
+     * @return 模型映射（未生成或加载失败则返回null）
+     */
+    private static SQLite3GeneratedMapping<?> loadGeneratedMapping(Class<?> klass) {
+        String mappingClassName = klass.getName() + SQLite3GeneratedMapping.CLASS_NAME_SUFFIX;
+        try {
+            Class<?> mappingClass = Class.forName(mappingClassName, true, klass.getClassLoader());
+            if (!SQLite3GeneratedMapping.class.isAssignableFrom(mappingClass)) {
+                return null;
+            }
+            SQLite3GeneratedMapping<?> mapping = (SQLite3GeneratedMapping<?>) mappingClass.getDeclaredConstructor().newInstance();
+            return mapping.getEntityClass() == klass ? mapping : null;
+        } catch (ClassNotFoundException | LinkageError exception) {
+            return null;
+        } catch (Throwable throwable) {
+            logger.warn("load generated mapping [{}] failed, use reflection mapping instead.", mappingClassName, throwable);
+            return null;
+        }
+    }
+
+    /**
+     * 获取查询结果不可变投影模型信息（record、全部参数均有@SQLite3Column注解的构造方法、仅包含无参取值方法的接口）
+     * @param klass 待映射class对象
+     * @return 投影模型信息（非投影类型则返回null）
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    public static QueryRetProjectionModel getClassProjectionModel(Class<?> klass) throws SQLite3Exception {
+        return QUERY_RET_PROJECTION_MODEL.get(Objects.requireNonNull(klass));
+    }
+
+    /**
+     * 构建查询结果不可变投影模型信息
+     * @param klass 待映射class对象
+     * @return 投影模型信息（非投影类型则返回null）
+     * @throws SQLite3Exception SQLite3Exception
+     */
+    private static QueryRetProjectionModel buildClassProjectionModel(Class<?> klass) throws SQLite3Exception {
+        if (klass.isPrimitive() || klass.isArray() || klass.isAnnotation() || klass.isEnum()) {
+            return null;
+        }
+        String klassName = klass.getName();
+        try {
+            if (klass.isInterface()) {
+                return buildInterfaceProjectionModel(klass);
+            }
+            if (klass.getSuperclass() != null && "java.lang.Record".equals(klass.getSuperclass().getName())) {
+                return buildRecordProjectionModel(klass);
+            }
+            return buildConstructorProjectionModel(klass);
+        } catch (SecurityException exception) {
+            throw new SQLite3Exception(String.format("visit class[%s] projection failed.", klassName), exception);
+        } catch (Throwable throwable) {
+            if (throwable instanceof SQLite3Exception) {
+                throw (SQLite3Exception) throwable;
+            }
+            throw new SQLite3Exception(String.format("resolve class[%s] projection failed.", klassName), throwable);
+        }
+    }
+
+    /**
+     * 构建接口投影模型信息（按方法名称排序的无参抽象取值方法，JDK动态代理实现）
+     * @param klass 接口Class对象
+     * @return 投影模型信息（接口存在非取值抽象方法则返回null）
+     * @throws Throwable Throwable
+     */
+    private static QueryRetProjectionModel buildInterfaceProjectionModel(Class<?> klass) throws Throwable {
+        List<Method> getterList = new ArrayList<>();
+        Map<Method, MethodHandle> defaultMethodMap = new HashMap<>();
+        for (Method method: klass.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || isObjectMethod(method)) {
+                continue;
+            }
+            if (method.isDefault()) {
+                defaultMethodMap.put(method, MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup())
+                        .unreflectSpecial(method, method.getDeclaringClass()));
+                continue;
+            }
+            if (method.getParameterCount() != 0 || method.getReturnType() == void.class) {
+                return null;
+            }
+            getterList.add(method);
+        }
+        if (getterList.isEmpty()) {
+            return null;
+        }
+        getterList.sort(Comparator.comparing(Method::getName));
+        int size = getterList.size();
+        String[] columnNames = new String[size];
+        Class<?>[] types = new Class<?>[size];
+        Map<Method, Integer> getterIndexMap = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            Method method = getterList.get(i);
+            columnNames[i] = getProjectionColumnName(klass, method.getAnnotation(SQLite3Column.class), getPropertyName(method));
+            types[i] = method.getReturnType();
+            getterIndexMap.put(method, i);
+        }
+        ClassLoader classLoader = klass.getClassLoader();
+        Class<?>[] interfaces = new Class<?>[] { klass };
+        return newProjectionModel(klass, columnNames, types, values -> Proxy.newProxyInstance(classLoader, interfaces
+                , new ProjectionInvocationHandler(klass, getterIndexMap, defaultMethodMap, values)));
+    }
+
+    /**
+     * 构建record投影模型信息（使用规范构造方法，运行时通过反射读取record组件以兼容JDK11编译）
+     * @param klass record Class对象
+     * @return 投影模型信息
+     * @throws Throwable Throwable
+     */
+    private static QueryRetProjectionModel buildRecordProjectionModel(Class<?> klass) throws Throwable {
+        Object[] components = (Object[]) Class.class.getMethod("getRecordComponents").invoke(klass);
+        int size = components.length;
+        String[] columnNames = new String[size];
+        Class<?>[] types = new Class<?>[size];
+        for (int i = 0; i < size; i++) {
+            Object component = components[i];
+            String name = (String) component.getClass().getMethod("getName").invoke(component);
+            types[i] = (Class<?>) component.getClass().getMethod("getType").invoke(component);
+            columnNames[i] = getProjectionColumnName(klass, klass.getDeclaredField(name).getAnnotation(SQLite3Column.class), name);
+        }
+        return newProjectionModel(klass, columnNames, types, spreadInstantiator(klass, klass.getDeclaredConstructor(types)));
+    }
+
+    /**
+     * 构建构造方法投影模型信息（类无无参构造方法时，使用全部参数均有@SQLite3Column注解且参数最多的构造方法）
+     * @param klass 待映射class对象
+     * @return 投影模型信息（无可用构造方法则返回null）
+     * @throws Throwable Throwable
+     */
+    private static QueryRetProjectionModel buildConstructorProjectionModel(Class<?> klass) throws Throwable {
+        if (Modifier.isAbstract(klass.getModifiers())) {
+            return null;
+        }
+        Constructor<?> projectionConstructor = null;
+        for (Constructor<?> constructor: klass.getDeclaredConstructors()) {
+            if (constructor.getParameterCount() == 0) {
+                // 存在无参构造方法则按字段赋值方式映射
+                return null;
+            }
+            boolean annotated = true;
+            for (Parameter parameter: constructor.getParameters()) {
+                annotated &= parameter.isAnnotationPresent(SQLite3Column.class);
+            }
+            if (annotated && (projectionConstructor == null || constructor.getParameterCount() > projectionConstructor.getParameterCount())) {
+                projectionConstructor = constructor;
+            }
+        }
+        if (projectionConstructor == null) {
+            return null;
+        }
+        Parameter[] parameters = projectionConstructor.getParameters();
+        String[] columnNames = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            columnNames[i] = getProjectionColumnName(klass, parameters[i].getAnnotation(SQLite3Column.class), parameters[i].getName());
+        }
+        return newProjectionModel(klass, columnNames, projectionConstructor.getParameterTypes(), spreadInstantiator(klass, projectionConstructor));
+    }
+
+    /**
+     * 创建投影模型信息（参数类型转换为包装类型，基本类型默认值为对应零值）
+     * @param klass 投影Class对象
+     * @param columnNames 投影参数对应列名称
+     * @param types 投影参数类型
+     * @param instantiator 投影实例创建方法
+     * @return 投影模型信息
+     */
+    private static QueryRetProjectionModel newProjectionModel(Class<?> klass, String[] columnNames, Class<?>[] types, Function<Object[], Object> instantiator) {
+        Class<?>[] parameterTypes = new Class<?>[types.length];
+        Object[] defaultValues = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            parameterTypes[i] = MethodType.methodType(types[i]).wrap().returnType();
+            defaultValues[i] = types[i].isPrimitive() ? Array.get(Array.newInstance(types[i], 1), 0) : null;
+        }
+        QueryRetProjectionModel projectionModel = new QueryRetProjectionModel();
+        projectionModel.setKlass(klass);
+        projectionModel.setColumnNames(columnNames);
+        projectionModel.setParameterTypes(parameterTypes);
+        projectionModel.setDefaultValues(defaultValues);
+        projectionModel.setInstantiator(instantiator);
+        return projectionModel;
+    }
+
+    /**
+     * 创建构造方法实例创建方法（参数数组展开为构造方法参数）
+     * @param klass 投影Class对象
+     * @param constructor 构造方法
+     * @return 实例创建方法
+     * @throws IllegalAccessException IllegalAccessException
+     */
+    private static Function<Object[], Object> spreadInstantiator(Class<?> klass, Constructor<?> constructor) throws IllegalAccessException {
+        constructor.setAccessible(true);
+        int parameterCount = constructor.getParameterCount();
+        MethodHandle handle = MethodHandles.lookup().unreflectConstructor(constructor)
+                .asType(MethodType.genericMethodType(parameterCount))
+                .asSpreader(Object[].class, parameterCount)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        return values -> {
+            try {
+                return handle.invokeExact(values);
+            } catch (Throwable throwable) {
+                throw new SQLite3Exception(String.format("create class[%s] instance failed.", klass.getName()), throwable);
+            }
+        };
+    }
+
+    /**
+     * 获取投影参数对应列名称（@SQLite3Column注解优先，否则使用参数/组件/属性名称）
+     * @param klass 投影Class对象
+     * @param columnAnnotation 列注解
+     * @param defaultName 默认列名称
+     * @return 列名称
+     */
+    private static String getProjectionColumnName(Class<?> klass, SQLite3Column columnAnnotation, String defaultName) {
+        if (columnAnnotation == null) {
+            return defaultName;
+        }
+        String columnName = columnAnnotation.columnName().trim();
+        if (columnName.isEmpty()) {
+            throw new SQLite3Exception(String.format(
+                    "class[%s] projection [%s] has @SQLite3Column annotation, but columnName is empty", klass.getName(), defaultName));
+        }
+        return columnName;
+    }
+
+    /**
+     * 获取取值方法对应属性名称（去除get/is前缀并首字母小写）
+     * @param method 取值方法
+     * @return 属性名称
+     */
+    private static String getPropertyName(Method method) {
+        String name = method.getName();
+        int prefixLength = 0;
+        if (name.length() > 3 && name.startsWith("get")) {
+            prefixLength = 3;
+        } else if (name.length() > 2 && name.startsWith("is") && (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class)) {
+            prefixLength = 2;
+        }
+        if (prefixLength == 0 || !Character.isUpperCase(name.charAt(prefixLength))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(prefixLength)) + name.substring(prefixLength + 1);
+    }
+
+    /**
+     * 判断是否为Object方法(equals/hashCode/toString)
+     * @param method 方法
+     * @return 是否为Object方法
+     */
+    private static boolean isObjectMethod(Method method) {
+        switch (method.getName()) {
+            case "equals":
+                return method.getParameterCount() == 1 && method.getParameterTypes()[0] == Object.class;
+            case "hashCode":
+            case "toString":
+                return method.getParameterCount() == 0;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 接口投影代理调用处理（取值方法返回对应参数值，默认方法调用接口实现，equals/hashCode/toString按参数值计算）
+     */
+    private static class ProjectionInvocationHandler implements InvocationHandler {
+
+        private final Class<?> klass;
+        private final Map<Method, Integer> getterIndexMap;
+        private final Map<Method, MethodHandle> defaultMethodMap;
+        private final Object[] values;
+
+        private ProjectionInvocationHandler(Class<?> klass, Map<Method, Integer> getterIndexMap, Map<Method, MethodHandle> defaultMethodMap, Object[] values) {
+            this.klass = klass;
+            this.getterIndexMap = getterIndexMap;
+            this.defaultMethodMap = defaultMethodMap;
+            this.values = values;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Integer index = getterIndexMap.get(method);
+            if (index != null) {
+                return values[index];
+            }
+            MethodHandle defaultMethod = defaultMethodMap.get(method);
+            if (defaultMethod != null) {
+                return defaultMethod.bindTo(proxy).invokeWithArguments(args == null ? new Object[0] : args);
+            }
+            switch (method.getName()) {
+                case "equals":
+                    if (proxy == args[0]) {
+                        return true;
+                    }
+                    if (args[0] == null || !Proxy.isProxyClass(args[0].getClass())) {
+                        return false;
+                    }
+                    InvocationHandler handler = Proxy.getInvocationHandler(args[0]);
+                    return handler instanceof ProjectionInvocationHandler
+                            && ((ProjectionInvocationHandler) handler).klass == klass
+                            && Arrays.deepEquals(((ProjectionInvocationHandler) handler).values, values);
+                case "hashCode":
+                    return klass.hashCode() * 31 + Arrays.deepHashCode(values);
+                case "toString":
+                    String[] names = new String[values.length];
+                    getterIndexMap.forEach((getter, i) -> names[i] = getter.getName());
+                    StringBuilder builder = new StringBuilder(klass.getSimpleName()).append('{');
+                    for (int i = 0; i < values.length; i++) {
+                        builder.append(i == 0 ? "" : ", ").append(names[i]).append('=')
+                                .append(values[i] instanceof byte[] ? Arrays.toString((byte[]) values[i]) : String.valueOf(values[i]));
+                    }
+                    return builder.append('}').toString();
+                default:
+                    throw new UnsupportedOperationException(String.format("class[%s] projection method[%s] unsupported.", klass.getName(), method.getName()));
+            }
+        }
+    }
+
+    /**
+     * 按列名称解析查询结果列下标（用于生成的模型映射）
+     * @param metadata 查询结果元数据
+     * @param columnNames 列名称数组
+     * @return 列下标数组（从1开始，查询结果不包含该列则为0）
+     */
+    public static int[] resolveColumnIndexes(SQLite3ResultSetMetadata metadata, String[] columnNames) {
+        int[] columnIndexes = new int[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            for (int index = 0, count = metadata.getColumnCount(); index < count; index++) {
+                if (columnNames[i].equals(metadata.getColumnName(index))) {
+                    columnIndexes[i] = metadata.getColumnIndex(index);
+                    break;
+                }
+            }
+        }
+        return columnIndexes;
+    }
+
+    /**
+     * 按列名称解析查询结果列值读取方式（用于生成的模型映射）
+     * @param metadata 查询结果元数据
+     * @param columnNames 列名称数组
+     * @return 列值读取方式数组（查询结果不包含该列则为null）
+     */
+    public static ColumnExtractor[] resolveColumnExtractors(SQLite3ResultSetMetadata metadata, String[] columnNames) {
+        ColumnExtractor[] extractors = new ColumnExtractor[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            for (int index = 0, count = metadata.getColumnCount(); index < count; index++) {
+                if (columnNames[i].equals(metadata.getColumnName(index))) {
+                    extractors[i] = metadata.getExtractor(index);
+                    break;
+                }
+            }
+        }
+        return extractors;
+    }
+
+    /**
+     * 列值按模型字段类型转换（数值类型按字段类型转换，BigDecimal、字符及日期时间类型特殊处理，其余类型直接强转）
+     * @param value 列值
+     * @param type 模型字段类型（基本类型需传入包装类型）
+     * @param <V> 模型字段类型
+     * @return 转换后字段值
+     * @throws ClassCastException 类型无法转换
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> V convertColumnValue(Object value, Class<V> type) throws ClassCastException {
+        if (value == null || type.isInstance(value)) {
+            return (V) value;
+        }
+        Object retValue = value;
+        if (type == BigDecimal.class) {
+            retValue = BigDecimal.valueOf(Double.parseDouble(String.valueOf(value)));
+        } else if (type == Character.class) {
+            String stringValue = String.valueOf(value);
+            retValue = stringValue.isEmpty() ? null : stringValue.charAt(0);
+        } else if (type == String.class) {
+            retValue = String.valueOf(value);
+        } else if (java.util.Date.class.isAssignableFrom(type)) {
+            retValue = convertDateValue(value, type);
+        } else if (value instanceof Number) {
+            Number number = (Number) value;
+            if (type == Long.class) {
+                retValue = number.longValue();
+            } else if (type == Integer.class) {
+                retValue = number.intValue();
+            } else if (type == Double.class) {
+                retValue = number.doubleValue();
+            } else if (type == Float.class) {
+                retValue = number.floatValue();
+            } else if (type == Short.class) {
+                retValue = number.shortValue();
+            } else if (type == Byte.class) {
+                retValue = number.byteValue();
+            } else if (type == Boolean.class) {
+                retValue = number.intValue() != 0;
+            }
+        }
+        return type.cast(retValue);
+    }
+
+    /**
+     * 列值转换为日期时间类型（SQLite日期时间列存储为毫秒数，聚合查询等直接取值时返回数值或文本）
+     * @param value 列值
+     * @param type 日期时间类型（java.util.Date及其子类）
+     * @return 日期时间值
+     * @throws ClassCastException 列值无法转换为日期时间
+     */
+    private static Object convertDateValue(Object value, Class<?> type) throws ClassCastException {
+        long millis;
+        if (value instanceof Number) {
+            millis = ((Number) value).longValue();
+        } else if (value instanceof java.util.Date) {
+            millis = ((java.util.Date) value).getTime();
+        } else {
+            String stringValue = String.valueOf(value).trim();
+            try {
+                millis = Long.parseLong(stringValue);
+            } catch (NumberFormatException exception) {
+                try {
+                    millis = java.sql.Timestamp.valueOf(stringValue).getTime();
+                } catch (IllegalArgumentException illegalArgumentException) {
+                    throw new ClassCastException(String.format("can not convert value [%s] to %s", stringValue, type.getName()));
+                }
+            }
+        }
+        if (type == java.sql.Timestamp.class) {
+            return new java.sql.Timestamp(millis);
+        } else if (type == java.sql.Date.class) {
+            return new java.sql.Date(millis);
+        } else if (type == java.sql.Time.class) {
+            return new java.sql.Time(millis);
+        }
+        return new java.util.Date(millis);
+    }
+
+    /**
+     * 生成键集分页延续标识（记录排序列、排序方向及上一页末行定位值，Base64编码）
+     * @param orderColumnName 排序列名称
+     * @param descending 是否倒序
+     * @param values 定位值（排序列值[,主键值]），排序列值可为null，主键值不可为null
+     * @return 键集分页延续标识
+     * @throws SQLite3Exception 主键值为null或定位值类型不支持
+     */
+    public static String encodeKeysetToken(String orderColumnName, boolean descending, Object... values) throws SQLite3Exception {
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            DataOutputStream dataOutput = new DataOutputStream(outputStream);
+            dataOutput.writeByte(KEYSET_TOKEN_VERSION);
+            dataOutput.writeUTF(orderColumnName);
+            dataOutput.writeBoolean(descending);
+            dataOutput.writeByte(values.length);
+            for (int index = 0; index < values.length; index++) {
+                Object value = values[index];
+                if (value == null) {
+                    if (index == values.length - 1) {
+                        throw new SQLite3Exception(String.format("keyset id value of column [%s] must not be null", orderColumnName));
                     }
-                } else if (fieldType == java.sql.Date.class) {
-                    statement.setDate(insertIndex, (java.sql.Date) value);
-                } else if (fieldType == java.sql.Time.class) {
-                    statement.setTime(insertIndex, (java.sql.Time) value);
-                } else if (fieldType == java.sql.Timestamp.class) {
-                    statement.setTimestamp(insertIndex, (java.sql.Timestamp) value);
+                    dataOutput.writeByte(KEYSET_VALUE_NULL);
+                } else if (value instanceof String || value instanceof Character) {
+                    byte[] bytes = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+                    dataOutput.writeByte(KEYSET_VALUE_STRING);
+                    dataOutput.writeInt(bytes.length);
+                    dataOutput.write(bytes);
+                } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                    dataOutput.writeByte(KEYSET_VALUE_LONG);
+                    dataOutput.writeLong(((Number) value).longValue());
+                } else if (value instanceof Double || value instanceof Float) {
+                    dataOutput.writeByte(KEYSET_VALUE_DOUBLE);
+                    dataOutput.writeDouble(((Number) value).doubleValue());
+                } else if (value instanceof BigDecimal) {
+                    dataOutput.writeByte(KEYSET_VALUE_DECIMAL);
+                    dataOutput.writeUTF(value.toString());
+                } else if (value instanceof Boolean) {
+                    dataOutput.writeByte(KEYSET_VALUE_LONG);
+                    dataOutput.writeLong((Boolean) value ? 1L : 0L);
+                } else if (value instanceof java.util.Date) {
+                    // 日期类型默认以毫秒数存储
+                    dataOutput.writeByte(KEYSET_VALUE_LONG);
+                    dataOutput.writeLong(((java.util.Date) value).getTime());
+                } else if (value instanceof byte[]) {
+                    dataOutput.writeByte(KEYSET_VALUE_BYTES);
+                    dataOutput.writeInt(((byte[]) value).length);
+                    dataOutput.write((byte[]) value);
                 } else {
-                    statement.setObject(insertIndex, value);
+                    throw new SQLite3Exception(String.format("keyset column [%s] value type [%s] not supported"
+                            , orderColumnName, value.getClass().getName()));
                 }
             }
-        };
+            dataOutput.flush();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(outputStream.toByteArray());
+        } catch (IOException exception) {
+            throw new SQLite3Exception("encode keyset token failed", exception);
+        }
+    }
+
+    /**
+     * 解析键集分页延续标识（排序列及排序方向需与生成时一致）
+     * @param token 键集分页延续标识
+     * @param orderColumnName 排序列名称
+     * @param descending 是否倒序
+     * @return 定位值（排序列值[,主键值]）
+     * @throws SQLite3Exception 延续标识无效或与当前排序不匹配
+     */
+    public static Object[] decodeKeysetToken(String token, String orderColumnName, boolean descending) throws SQLite3Exception {
+        Object[] values;
+        try {
+            DataInputStream dataInput = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)));
+            if (dataInput.readByte() != KEYSET_TOKEN_VERSION
+                    || !dataInput.readUTF().equals(orderColumnName)
+                    || dataInput.readBoolean() != descending) {
+                throw new SQLite3Exception(String.format("keyset token doesn't match order column [%s]", orderColumnName));
+            }
+            values = new Object[dataInput.readByte()];
+            for (int index = 0; index < values.length; index++) {
+                byte type = dataInput.readByte();
+                switch (type) {
+                    case KEYSET_VALUE_STRING:
+                    case KEYSET_VALUE_BYTES:
+                        byte[] bytes = new byte[dataInput.readInt()];
+                        dataInput.readFully(bytes);
+                        values[index] = type == KEYSET_VALUE_STRING ? new String(bytes, StandardCharsets.UTF_8) : bytes;
+                        break;
+                    case KEYSET_VALUE_LONG:
+                        values[index] = dataInput.readLong();
+                        break;
+                    case KEYSET_VALUE_DOUBLE:
+                        values[index] = dataInput.readDouble();
+                        break;
+                    case KEYSET_VALUE_DECIMAL:
+                        values[index] = new BigDecimal(dataInput.readUTF());
+                        break;
+                    case KEYSET_VALUE_NULL:
+                        values[index] = null;
+                        break;
+                    default:
+                        throw new SQLite3Exception(String.format("invalid keyset token: %s", token));
+                }
+            }
+        } catch (IOException | RuntimeException exception) {
+            if (exception instanceof SQLite3Exception) {
+                throw (SQLite3Exception) exception;
+            }
+            throw new SQLite3Exception(String.format("invalid keyset token: %s", token), exception);
+        }
+        return values;
+    }
+
+    /**
+     * 键集分页定位值预处理赋值（定位条件位于sql末尾，从最后若干个参数位置开始赋值，值为null的排序列以IS NULL定位，不占用参数）
+     * @param statement SQLite3PreparedStatement
+     * @param values 定位值（由decodeKeysetToken解析）
+     * @throws SQLite3SqlException SQLite3SqlException
+     */
+    public static void bindKeysetValues(SQLite3PreparedStatement statement, Object[] values) throws SQLite3SqlException {
+        int parameterCount;
+        try {
+            parameterCount = statement.getParameterMetaData().getParameterCount();
+        } catch (SQLException exception) {
+            throw new SQLite3SqlException(exception);
+        }
+        int bindCount = 0;
+        for (Object value: values) {
+            if (value != null) {
+                bindCount++;
+            }
+        }
+        int parameterIndex = parameterCount - bindCount + 1;
+        for (Object value: values) {
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof String) {
+                statement.setString(parameterIndex, (String) value);
+            } else if (value instanceof Long) {
+                statement.setLong(parameterIndex, (Long) value);
+            } else if (value instanceof Double) {
+                statement.setDouble(parameterIndex, (Double) value);
+            } else if (value instanceof BigDecimal) {
+                statement.setBigDecimal(parameterIndex, (BigDecimal) value);
+            } else {
+                statement.setBytes(parameterIndex, (byte[]) value);
+            }
+            parameterIndex++;
+        }
     }
 
 }
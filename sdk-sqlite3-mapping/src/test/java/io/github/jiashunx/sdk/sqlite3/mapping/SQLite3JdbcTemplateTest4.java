@@ -2,6 +2,7 @@ package io.github.jiashunx.sdk.sqlite3.mapping;
 
 import io.github.jiashunx.sdk.sqlite3.mapping.service.SQLite3Service;
 import io.github.jiashunx.sdk.sqlite3.mapping.util.SQLite3SQLHelper;
+import io.github.jiashunx.sdk.sqlite3.mapping.util.SQLite3Utils;
 import io.github.jiashunx.sdk.sqlite3.metadata.annotation.SQLite3Column;
 import io.github.jiashunx.sdk.sqlite3.metadata.annotation.SQLite3Id;
 import io.github.jiashunx.sdk.sqlite3.metadata.annotation.SQLite3Table;
@@ -143,6 +144,14 @@ public class SQLite3JdbcTemplateTest4 {
         assertEquals("fuckY", new String(entity1.getFieldVarbinary(), StandardCharsets.UTF_8));
         assertEquals("fuckZ", new String(entity1.getFieldLongvarbinary(), StandardCharsets.UTF_8));
 
+        // 日期时间列聚合查询按模型字段类型转换
+        Date maxTimestamp = service.max("field_timestamp", builder -> builder.append(" WHERE field_id=?"), statement -> statement.setString(1, id0));
+        Date minDate = service.min("field_date", builder -> builder.append(" WHERE field_id=?"), statement -> statement.setString(1, id0));
+        assertEquals(entity0.getFieldTimestamp().getTime(), maxTimestamp.getTime());
+        assertEquals(entity0.getFieldDate().getTime(), minDate.getTime());
+        assertEquals(new java.sql.Timestamp(minDate.getTime()), SQLite3Utils.convertColumnValue(minDate.getTime(), java.sql.Timestamp.class));
+        assertEquals(new java.sql.Date(minDate.getTime()), SQLite3Utils.convertColumnValue(String.valueOf(minDate.getTime()), java.sql.Date.class));
+
         List<AAA> aaaList1 = service.selectWithPage(1, 10);
         assertTrue(aaaList1.size() > 0);
         List<AAA> aaaList2 = service.selectFieldsWithPage(List.of("field_id", "field_varchar"), 1, 10);
@@ -0,0 +1,908 @@
+package io.github.jiashunx.sdk.sqlite3.mapping;
+
+import io.github.jiashunx.sdk.sqlite3.core.exception.SQLite3Exception;
+import io.github.jiashunx.sdk.sqlite3.mapping.service.SQLite3EntityCache;
+import io.github.jiashunx.sdk.sqlite3.mapping.service.SQLite3Service;
+import io.github.jiashunx.sdk.sqlite3.mapping.util.SQLite3Utils;
+import io.github.jiashunx.sdk.sqlite3.metadata.KeysetPage;
+import io.github.jiashunx.sdk.sqlite3.metadata.TableModel;
+import io.github.jiashunx.sdk.sqlite3.metadata.TrackableEntity;
+import io.github.jiashunx.sdk.sqlite3.metadata.annotation.SQLite3Column;
+import io.github.jiashunx.sdk.sqlite3.metadata.annotation.SQLite3Id;
+import io.github.jiashunx.sdk.sqlite3.metadata.annotation.SQLite3Table;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * SQLite3JdbcTemplate单元测试（模型映射服务）
+ * @author jiashunx
+ */
+public class SQLite3JdbcTemplateTest5 {
+
+    private SQLite3JdbcTemplate jdbcTemplate;
+
+    private BBBService service;
+
+    @Before
+    public void setUp() {
+        jdbcTemplate = new SQLite3JdbcTemplate("/app/test/sdk-sqlite3/test9.db");
+        jdbcTemplate.executeUpdate("CREATE TABLE IF NOT EXISTS bbb(id INTEGER PRIMARY KEY, name VARCHAR(64) NOT NULL, score INT NOT NULL)");
+        jdbcTemplate.executeUpdate("CREATE INDEX IF NOT EXISTS index_bbb_score ON bbb(score, id)");
+        jdbcTemplate.executeUpdate("DELETE FROM bbb");
+        service = new BBBService(jdbcTemplate);
+        List<BBB> entityList = new ArrayList<>();
+        for (int i = 1; i <= 25; i++) {
+            entityList.add(new BBB(i, "name-" + i, i % 5));
+        }
+        service.insertWithNoCache(entityList);
+    }
+
+    @Test
+    public void test_keyset_page() {
+        // 按主键升序翻页
+        List<Long> idList = new ArrayList<>();
+        String token = null;
+        int pageCount = 0;
+        do {
+            KeysetPage<BBB> page = service.selectWithKeyset(token, 10);
+            page.getDataList().forEach(entity -> idList.add(entity.getId()));
+            token = page.getNextToken();
+            pageCount++;
+        } while (token != null);
+        assertEquals(3, pageCount);
+        assertEquals(25, idList.size());
+        for (int i = 0; i < idList.size(); i++) {
+            assertEquals(i + 1, idList.get(i).longValue());
+        }
+
+        // 按(score,id)倒序翻页，附带查询条件
+        List<BBB> entityList = new ArrayList<>();
+        token = null;
+        do {
+            KeysetPage<BBB> page = service.selectWithKeyset("score", true, token, 4
+                    , builder -> builder.append("WHERE name<>?"), statement -> statement.setString(1, "name-25"));
+            entityList.addAll(page.getDataList());
+            token = page.getNextToken();
+        } while (token != null);
+        assertEquals(24, entityList.size());
+        for (int i = 1; i < entityList.size(); i++) {
+            BBB prev = entityList.get(i - 1);
+            BBB curr = entityList.get(i);
+            assertTrue(prev.getScore() > curr.getScore()
+                    || (prev.getScore() == curr.getScore() && prev.getId() > curr.getId()));
+        }
+
+        // 数据条数为分页大小整数倍时最后一页无延续标识
+        KeysetPage<BBB> page = service.selectWithKeyset(null, 25);
+        assertEquals(25, page.getDataList().size());
+        assertFalse(page.hasNext());
+        assertNull(page.getNextToken());
+
+        // 延续标识与排序列不匹配
+        String idToken = service.selectWithKeyset(null, 10).getNextToken();
+        try {
+            service.selectWithKeyset("score", false, idToken, 10, builder -> {}, statement -> {});
+            fail();
+        } catch (SQLite3Exception exception) {
+            // expected
+        }
+    }
+
+    @Test
+    public void test_keyset_page_nullable_column() {
+        jdbcTemplate.executeUpdate("CREATE TABLE IF NOT EXISTS eee(id INTEGER PRIMARY KEY, primitive_value INT, boxed_value INT"
+                + ", char_value CHAR(1), date_value TIMESTAMP, decimal_value DECIMAL)");
+        jdbcTemplate.executeUpdate("DELETE FROM eee WHERE id BETWEEN 21 AND 32");
+        List<Long> ascIdList = new ArrayList<>();
+        List<Long> descIdList = new ArrayList<>();
+        // 排序列包含NULL：SQLite3升序时NULL行位于最前，倒序时位于最后
+        for (long id = 21; id <= 32; id++) {
+            long $id = id;
+            Integer boxedValue = id % 4 == 0 ? null : (int) (id % 3);
+            jdbcTemplate.executeUpdate("INSERT INTO eee(id, boxed_value) VALUES(?, ?)", statement -> {
+                statement.setLong(1, $id);
+                statement.setObject(2, boxedValue);
+            });
+        }
+        for (int boxedValue = -1; boxedValue <= 2; boxedValue++) {
+            for (long id = 21; id <= 32; id++) {
+                if ((id % 4 == 0 ? -1 : (int) (id % 3)) == boxedValue) {
+                    ascIdList.add(id);
+                }
+            }
+        }
+        for (int boxedValue = 2; boxedValue >= -1; boxedValue--) {
+            for (long id = 32; id >= 21; id--) {
+                if ((id % 4 == 0 ? -1 : (int) (id % 3)) == boxedValue) {
+                    descIdList.add(id);
+                }
+            }
+        }
+        EEEService eeeService = new EEEService(jdbcTemplate);
+        for (boolean descending: new boolean[]{ false, true }) {
+            List<Long> idList = new ArrayList<>();
+            String token = null;
+            do {
+                KeysetPage<EEE> page = eeeService.selectWithKeyset("boxed_value", descending, token, 3
+                        , builder -> builder.append("WHERE id BETWEEN ? AND ?"), statement -> {
+                            statement.setLong(1, 21L);
+                            statement.setLong(2, 32L);
+                        });
+                page.getDataList().forEach(entity -> idList.add(entity.id));
+                token = page.getNextToken();
+            } while (token != null);
+            assertEquals(descending ? descIdList : ascIdList, idList);
+        }
+    }
+
+    @Test
+    public void test_entity_mapping() {
+        // 测试用例编译时由sdk-sqlite3-processor生成模型映射（BBB字段非私有，生成类直接读写字段）
+        assertNotNull(SQLite3Utils.getGeneratedMapping(BBB.class));
+        assertEquals("INSERT INTO bbb(name,score,id) VALUES(?,?,?)", SQLite3Utils.getGeneratedMapping(BBB.class).sqlOfInsert());
+        String sql = "select id, name, score, score * 2 as score2 from bbb where id<=? order by id";
+        for (int i = 0; i < 2; i++) {
+            List<BBB> entityList = jdbcTemplate.queryForList(sql, statement -> statement.setInt(1, 3), BBB.class);
+            assertEquals(3, entityList.size());
+            assertEquals(3L, entityList.get(2).getId());
+            assertEquals("name-3", entityList.get(2).getName());
+            assertEquals(3, entityList.get(2).getScore());
+        }
+        // 仅查询部分字段
+        BBB entity = jdbcTemplate.queryForObj("select name from bbb where id=5", BBB.class);
+        assertEquals("name-5", entity.getName());
+        assertEquals(0L, entity.getId());
+    }
+
+    @Test
+    public void test_class_model_cache() throws Exception {
+        // 多线程并发获取模型信息，各线程获取到同一实例
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<TableModel>> futureList = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                futureList.add(executorService.submit(() -> SQLite3Utils.getClassTableModel(BBB.class)));
+            }
+            TableModel tableModel = futureList.get(0).get();
+            for (Future<TableModel> future: futureList) {
+                assertSame(tableModel, future.get());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        assertSame(SQLite3Utils.getClassQueryRetModel(BBB.class), SQLite3Utils.getClassQueryRetModel(BBB.class));
+        // 模型信息构建失败不缓存，每次获取均抛出异常
+        for (int i = 0; i < 2; i++) {
+            try {
+                SQLite3Utils.getClassTableModel(BBBService.class);
+                fail();
+            } catch (SQLite3Exception exception) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void test_reflection_binding() {
+        // CCC字段不可访问，未生成模型映射，使用反射映射及预解析的参数赋值方式
+        assertNull(SQLite3Utils.getGeneratedMapping(CCC.class));
+        jdbcTemplate.executeUpdate("CREATE TABLE IF NOT EXISTS ccc(id INTEGER PRIMARY KEY, label VARCHAR(64), amount INT)");
+        jdbcTemplate.executeUpdate("DELETE FROM ccc");
+        assertEquals(2, jdbcTemplate.insert(Arrays.asList(new CCC(1L, "a", 10), new CCC(2L, null, null))));
+        assertEquals(1L, jdbcTemplate.queryForLong("select count(1) from ccc where label is null and amount is null"));
+        assertEquals(1, jdbcTemplate.update(new CCC(1L, "b", null)));
+        assertEquals(2L, jdbcTemplate.queryForLong("select count(1) from ccc where amount is null"));
+        // 根据主键删除，主键参数序号为1
+        assertEquals(1, jdbcTemplate.delete(new CCC(2L, null, null)));
+        assertEquals(1L, jdbcTemplate.queryForLong("select count(1) from ccc"));
+        // 不同模型交替出现时按连续分组执行
+        assertEquals(4, jdbcTemplate.insert(Arrays.asList(new CCC(3L, "c", 3), new CCC(4L, "d", 4)
+                , new BBB(100L, "name-100", 1), new CCC(5L, "e", 5))));
+        assertEquals(4L, jdbcTemplate.queryForLong("select count(1) from ccc"));
+        assertEquals(26L, jdbcTemplate.queryForLong("select count(1) from bbb"));
+    }
+
+    @Test
+    public void test_upsert() {
+        // 当前驱动内置SQLite3版本低于3.24.0时先UPDATE，未更新的再INSERT
+        List<BBB> entityList = new ArrayList<>();
+        entityList.add(new BBB(1L, "name-1-upsert", 100));
+        entityList.add(new BBB(200L, "name-200", 200));
+        service.upsertWithNoCache(entityList);
+        assertEquals(26L, jdbcTemplate.queryForLong("select count(1) from bbb"));
+        BBB entity = service.findWithNoCache(1L);
+        assertEquals("name-1-upsert", entity.getName());
+        assertEquals(100, entity.getScore());
+        assertEquals("name-200", service.findWithNoCache(200L).getName());
+        // 反射映射模型
+        jdbcTemplate.executeUpdate("CREATE TABLE IF NOT EXISTS ccc(id INTEGER PRIMARY KEY, label VARCHAR(64), amount INT)");
+        jdbcTemplate.executeUpdate("DELETE FROM ccc");
+        assertEquals(1, jdbcTemplate.upsert(new CCC(1L, "a", 1)));
+        assertEquals(1, jdbcTemplate.upsert(new CCC(1L, "b", 2)));
+        assertEquals("b", jdbcTemplate.queryForString("select label from ccc where id=1"));
+        // 主键冲突时仅更新模型映射字段，不删除原记录（未映射字段保留原值）
+        jdbcTemplate.executeUpdate("ALTER TABLE ccc ADD COLUMN note VARCHAR(64)");
+        try {
+            jdbcTemplate.executeUpdate("UPDATE ccc SET note='kept' WHERE id=1");
+            assertEquals(2, jdbcTemplate.upsert(Arrays.asList(new CCC(1L, "c", 3), new CCC(2L, "d", 4))));
+            assertEquals("c", jdbcTemplate.queryForString("select label from ccc where id=1"));
+            assertEquals("kept", jdbcTemplate.queryForString("select note from ccc where id=1"));
+            assertEquals("d", jdbcTemplate.queryForString("select label from ccc where id=2"));
+        } finally {
+            jdbcTemplate.executeUpdate("DROP TABLE ccc");
+        }
+        assertTrue(jdbcTemplate.isSQLiteVersionAtLeast("3.0") && !jdbcTemplate.isSQLiteVersionAtLeast("99"));
+    }
+
+    @Test
+    public void test_generated_and_reflective_mapping() {
+        // EEE由生成类映射，EEEReflective字段私有使用反射映射，两者映射同一数据表，行为需一致
+        assertNotNull(SQLite3Utils.getGeneratedMapping(EEE.class));
+        assertNull(SQLite3Utils.getGeneratedMapping(EEEReflective.class));
+        jdbcTemplate.executeUpdate("CREATE TABLE IF NOT EXISTS eee(id INTEGER PRIMARY KEY, primitive_value INT, boxed_value INT"
+                + ", char_value CHAR(1), date_value TIMESTAMP, decimal_value DECIMAL)");
+        jdbcTemplate.executeUpdate("DELETE FROM eee");
+        // NULL列映射至基本类型及包装类型字段
+        jdbcTemplate.executeUpdate("INSERT INTO eee(id) VALUES(1)");
+        String sql = "select * from eee where id=?";
+        EEE generated = jdbcTemplate.queryForObj(sql, statement -> statement.setLong(1, 1L), EEE.class);
+        EEEReflective reflective = jdbcTemplate.queryForObj(sql, statement -> statement.setLong(1, 1L), EEEReflective.class);
+        assertEquals(0, generated.primitiveValue);
+        assertNull(generated.boxedValue);
+        assertNull(generated.dateValue);
+        assertNull(generated.decimalValue);
+        assertSameValues(generated, reflective);
+        // 两种映射写入结果一致
+        Date date = new Date(1600000000123L);
+        EEE entity = new EEE();
+        entity.id = 2L;
+        entity.primitiveValue = 7;
+        entity.boxedValue = 8;
+        entity.charValue = 'x';
+        entity.dateValue = date;
+        entity.decimalValue = new BigDecimal("12.34");
+        jdbcTemplate.insert(entity);
+        jdbcTemplate.insert(new EEEReflective(3L, 7, 8, 'x', date, new BigDecimal("12.34")));
+        EEE generated2 = jdbcTemplate.queryForObj(sql, statement -> statement.setLong(1, 2L), EEE.class);
+        EEEReflective reflective2 = jdbcTemplate.queryForObj(sql, statement -> statement.setLong(1, 3L), EEEReflective.class);
+        assertEquals('x', generated2.charValue);
+        assertEquals(date.getTime(), generated2.dateValue.getTime());
+        assertEquals(new BigDecimal("12.34"), generated2.decimalValue);
+        assertSameValues(generated2, reflective2);
+        // 交叉读取
+        assertSameValues(jdbcTemplate.queryForObj(sql, statement -> statement.setLong(1, 3L), EEE.class), reflective2);
+        // 包装类型及对象字段为null时写入NULL
+        entity.boxedValue = null;
+        entity.dateValue = null;
+        entity.decimalValue = null;
+        jdbcTemplate.update(entity);
+        jdbcTemplate.update(new EEEReflective(3L, 7, null, 'x', null, null));
+        assertEquals(2L, jdbcTemplate.queryForLong("select count(1) from eee where id in (2, 3) and boxed_value is null and date_value is null and decimal_value is null"));
+        assertSameValues(jdbcTemplate.queryForObj(sql, statement -> statement.setLong(1, 2L), EEE.class)
+                , jdbcTemplate.queryForObj(sql, statement -> statement.setLong(1, 3L), EEEReflective.class));
+    }
+
+    private static void assertSameValues(EEE generated, EEEReflective reflective) {
+        assertEquals(reflective.getPrimitiveValue(), generated.primitiveValue);
+        assertEquals(reflective.getBoxedValue(), generated.boxedValue);
+        assertEquals(reflective.getCharValue(), generated.charValue);
+        assertEquals(reflective.getDateValue() == null ? null : reflective.getDateValue().getTime()
+                , generated.dateValue == null ? null : generated.dateValue.getTime());
+        assertEquals(reflective.getDecimalValue(), generated.decimalValue);
+    }
+
+    @Test
+    public void test_dirty_tracking() {
+        jdbcTemplate.executeUpdate("CREATE TABLE IF NOT EXISTS ddd(id INTEGER PRIMARY KEY, title VARCHAR(64), content TEXT, data BLOB)");
+        jdbcTemplate.executeUpdate("DELETE FROM ddd");
+        DDD entity = new DDD();
+        entity.setId(1L);
+        entity.setTitle("title");
+        entity.setContent("content");
+        entity.setData(new byte[]{1, 2});
+        jdbcTemplate.insert(entity);
+        DDD loaded = jdbcTemplate.queryForObj("select * from ddd where id=1", DDD.class);
+        assertNotNull(loaded.getTrackedValues());
+        // 外部修改content，仅更新title时不覆盖content
+        jdbcTemplate.executeUpdate("UPDATE ddd SET content='external' WHERE id=1");
+        loaded.setTitle("title-2");
+        assertEquals(1, jdbcTemplate.update(loaded));
+        assertEquals("title-2", jdbcTemplate.queryForString("select title from ddd where id=1"));
+        assertEquals("external", jdbcTemplate.queryForString("select content from ddd where id=1"));
+        // 无变更字段时不执行更新
+        assertEquals(0, jdbcTemplate.update(loaded));
+        // 字节数组原地修改可识别
+        loaded.getData()[0] = 9;
+        assertEquals(1, jdbcTemplate.update(loaded));
+        assertEquals("external", jdbcTemplate.queryForString("select content from ddd where id=1"));
+        assertEquals(9, jdbcTemplate.queryForObj("select * from ddd where id=1", DDD.class).getData()[0]);
+        TableModel tableModel = SQLite3Utils.getClassTableModel(DDD.class);
+        assertSame(tableModel.sqlOfUpdate(1L), tableModel.sqlOfUpdate(1L));
+        // 清除快照后按全部字段更新
+        loaded.clearTrackedValues();
+        assertEquals(1, jdbcTemplate.update(loaded));
+        assertEquals("content", jdbcTemplate.queryForString("select content from ddd where id=1"));
+        // 外层事务回滚后变更不丢失
+        loaded.setTitle("title-3");
+        try {
+            jdbcTemplate.doTransaction(() -> {
+                jdbcTemplate.update(loaded);
+                throw new IllegalStateException("rollback");
+            });
+            fail();
+        } catch (SQLite3Exception exception) {
+            // expected
+        }
+        assertEquals("title-2", jdbcTemplate.queryForString("select title from ddd where id=1"));
+        assertNull(loaded.getTrackedValues());
+        assertEquals(1, jdbcTemplate.update(loaded));
+        assertEquals("title-3", jdbcTemplate.queryForString("select title from ddd where id=1"));
+        assertNotNull(loaded.getTrackedValues());
+        // 无变更字段时upsert按全部字段更新，不误判记录不存在
+        assertEquals(1, jdbcTemplate.upsert(loaded));
+        assertEquals(1L, jdbcTemplate.queryForLong("select count(1) from ddd"));
+        assertNotNull(loaded.getTrackedValues());
+    }
+
+    @Test
+    public void test_delete_by_ids() {
+        List<BBB> entityList = new ArrayList<>();
+        for (int i = 26; i <= 2500; i++) {
+            entityList.add(new BBB(i, "name-" + i, i % 5));
+        }
+        service.insertWithNoCache(entityList);
+        List<Long> idList = new ArrayList<>();
+        for (long id = 2; id <= 2400; id += 1) {
+            idList.add(id);
+        }
+        // 不存在的ID不计入删除条数
+        idList.add(99999L);
+        assertEquals(2399, service.deleteByIdWithNoCache(idList));
+        assertEquals(101, jdbcTemplate.queryForInt("select count(1) from bbb"));
+        assertEquals(0, service.deleteByIdWithNoCache(new ArrayList<>()));
+        assertEquals("DELETE FROM bbb  WHERE id IN (?,?) ", SQLite3Utils.getClassTableModel(BBB.class).sqlOfDeleteByIds(2));
+    }
+
+    @Test
+    public void test_entity_cache() throws Exception {
+        BBBService cachedService = new BBBService(jdbcTemplate, 10, 0L);
+        SQLite3EntityCache<Long, BBB> cache = cachedService.getEntityCache();
+        for (int i = 0; i < 2; i++) {
+            for (long id = 1; id <= 3; id++) {
+                assertEquals("name-" + id, cachedService.find(id).getName());
+            }
+        }
+        assertEquals(3, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(0.5D, cache.getHitRate(), 0.0001D);
+        // 不存在的实体同样缓存
+        assertNull(cachedService.find(999L));
+        assertNull(cachedService.find(999L));
+        assertEquals(4, cache.getHitCount());
+        // 超出最大条目数时淘汰最久未访问实体
+        for (long id = 1; id <= 25; id++) {
+            cachedService.find(id);
+        }
+        assertEquals(10, cache.size());
+        assertTrue(cache.getEvictionCount() >= 15);
+        assertNull(cache.peek(1L));
+        assertNotNull(cache.peek(25L));
+        // 删除时移除缓存
+        cachedService.deleteById(25L);
+        assertNull(cache.peek(25L));
+        assertNull(cachedService.find(25L));
+        // 写入后过期
+        BBBService expiringService = new BBBService(jdbcTemplate, 10, 50L);
+        expiringService.find(1L);
+        expiringService.find(1L);
+        Thread.sleep(80L);
+        expiringService.find(1L);
+        assertEquals(1, expiringService.getEntityCache().getHitCount());
+        assertEquals(2, expiringService.getEntityCache().getMissCount());
+        assertEquals(1, expiringService.getEntityCache().getEvictionCount());
+    }
+
+    @Test
+    public void test_entity_cache_single_flight() throws Exception {
+        AtomicInteger loadCount = new AtomicInteger();
+        CountDownLatch loadLatch = new CountDownLatch(1);
+        BBBService cachedService = new BBBService(jdbcTemplate, 100, 0L) {
+            @Override
+            public BBB findWithNoCache(Long id) {
+                loadCount.incrementAndGet();
+                try {
+                    loadLatch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.findWithNoCache(id);
+            }
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<BBB>> futureList = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                long id = i < 6 ? 1L : i;
+                futureList.add(executor.submit(() -> cachedService.find(id)));
+            }
+            // 不同ID的加载互不阻塞，同一ID的并发未命中共享一次查询
+            long deadline = System.currentTimeMillis() + 5000L;
+            while (loadCount.get() < 3 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10L);
+            }
+            Thread.sleep(50L);
+            assertEquals(3, loadCount.get());
+            loadLatch.countDown();
+            for (int i = 0; i < futureList.size(); i++) {
+                assertEquals(i < 6 ? 1L : i, futureList.get(i).get().getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(3, loadCount.get());
+        // 写入后失效缓存，再次读取加载最新数据
+        BBB entity = cachedService.find(1L);
+        entity.setName("name-x");
+        cachedService.update(entity);
+        assertEquals("name-x", cachedService.find(1L).getName());
+        assertEquals(4, loadCount.get());
+    }
+
+    @Test(timeout = 10000L)
+    public void test_entity_cache_concurrent_write() throws Exception {
+        CountDownLatch committedLatch = new CountDownLatch(1);
+        CountDownLatch resumeLatch = new CountDownLatch(1);
+        BBBService cachedService = new BBBService(jdbcTemplate, 100, 0L) {
+            @Override
+            public BBB updateWithNoCache(BBB entity) {
+                BBB retEntity = super.updateWithNoCache(entity);
+                if ("name-a".equals(entity.getName())) {
+                    // 先提交的写入延后更新缓存
+                    committedLatch.countDown();
+                    try {
+                        resumeLatch.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException exception) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return retEntity;
+            }
+        };
+        assertEquals("name-1", cachedService.find(1L).getName());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<BBB> future = executor.submit(() -> cachedService.update(new BBB(1L, "name-a", 1)));
+            committedLatch.await(5, TimeUnit.SECONDS);
+            cachedService.update(new BBB(1L, "name-b", 1));
+            assertEquals("name-b", cachedService.find(1L).getName());
+            resumeLatch.countDown();
+            future.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        // 同一ID并发写入时缓存与最后提交的数据一致
+        assertEquals("name-b", cachedService.findWithNoCache(1L).getName());
+        assertEquals("name-b", cachedService.find(1L).getName());
+    }
+
+    @Test
+    public void test_find_all() {
+        List<BBB> entityList = new ArrayList<>();
+        for (int i = 26; i <= 1200; i++) {
+            entityList.add(new BBB(i, "name-" + i, i % 5));
+        }
+        service.insertWithNoCache(entityList);
+        List<Long> idList = new ArrayList<>();
+        for (long id = 1100; id >= 1; id--) {
+            idList.add(id);
+        }
+        idList.add(5000L);
+        idList.add(7L);
+        List<BBB> retList = service.findAll(idList);
+        assertEquals(1100, retList.size());
+        assertEquals(1100L, retList.get(0).getId());
+        assertEquals(1L, retList.get(1099).getId());
+        // 缓存命中的实体不再查询数据库
+        BBBService cachedService = new BBBService(jdbcTemplate, 2000, 0L);
+        assertEquals("name-3", cachedService.find(3L).getName());
+        Map<Long, BBB> retMap = cachedService.findMap(Arrays.asList(3L, 4L, 5000L, 3L));
+        assertEquals(Arrays.asList(3L, 4L), new ArrayList<>(retMap.keySet()));
+        assertEquals(1, cachedService.getEntityCache().getHitCount());
+        assertEquals(3, cachedService.getEntityCache().getMissCount());
+        assertSame(retMap.get(4L), cachedService.find(4L));
+        assertNull(cachedService.find(5000L));
+        assertEquals(3, cachedService.getEntityCache().getHitCount());
+    }
+
+    @Test
+    public void test_aggregate() {
+        assertEquals(25L, service.count());
+        assertEquals(5L, service.count(builder -> builder.append(" WHERE score=?"), statement -> statement.setInt(1, 3)));
+        assertTrue(service.exists(builder -> builder.append(" WHERE name=?"), statement -> statement.setString(1, "name-7")));
+        assertFalse(service.exists(builder -> builder.append(" WHERE name=?"), statement -> statement.setString(1, "name-x")));
+        Long minId = service.min("id", builder -> builder.append(" WHERE score=?"), statement -> statement.setInt(1, 3));
+        Integer maxScore = service.max("score", builder -> {}, statement -> {});
+        assertEquals(Long.valueOf(3L), minId);
+        assertEquals(Integer.valueOf(4), maxScore);
+        assertEquals("name-9", service.max("name", builder -> builder.append(" WHERE id<?"), statement -> statement.setInt(1, 10)));
+        assertEquals(50L, service.sum("score", builder -> {}, statement -> {}).longValue());
+        // 无匹配记录
+        assertNull(service.max("score", builder -> builder.append(" WHERE id<0"), statement -> {}));
+        assertNull(service.sum("score", builder -> builder.append(" WHERE id<0"), statement -> {}));
+        try {
+            service.sum("score) FROM bbb; --", builder -> {}, statement -> {});
+            fail();
+        } catch (IllegalArgumentException exception) {
+            // expected
+        }
+    }
+
+    @Test
+    public void test_stream() {
+        try (Stream<BBB> stream = service.stream(builder -> builder.append(" WHERE score=? ORDER BY id"), statement -> statement.setInt(1, 2))) {
+            assertEquals(Arrays.asList(2L, 7L, 12L, 17L, 22L), stream.map(BBB::getId).collect(Collectors.toList()));
+        }
+        // 提前终止后关闭Stream释放连接
+        for (int i = 0; i < 20; i++) {
+            try (Stream<BBB> stream = service.stream(builder -> builder.append(" ORDER BY id"), statement -> {})) {
+                assertEquals("name-1", stream.findFirst().get().getName());
+            }
+        }
+        assertEquals(25L, service.count());
+    }
+
+    @Test(timeout = 10000L)
+    public void test_stream_and_update() {
+        // 非WAL模式下Stream未关闭时更新直接失败，不永久阻塞
+        try (Stream<BBB> stream = service.stream(builder -> builder.append(" WHERE score=? ORDER BY id"), statement -> statement.setInt(1, 3))) {
+            stream.forEach(entity -> {
+                entity.setName("stream-" + entity.getId());
+                service.update(entity);
+            });
+            fail();
+        } catch (SQLite3Exception exception) {
+            // expected
+        }
+        assertEquals("name-3", service.findWithNoCache(3L).getName());
+        // 先收集再于Stream关闭后更新
+        List<BBB> entityList;
+        try (Stream<BBB> stream = service.stream(builder -> builder.append(" WHERE score=? ORDER BY id"), statement -> statement.setInt(1, 3))) {
+            entityList = stream.peek(entity -> entity.setName("stream-" + entity.getId())).collect(Collectors.toList());
+        }
+        entityList.forEach(service::update);
+        assertEquals(5, service.count(builder -> builder.append(" WHERE name LIKE 'stream-%'"), statement -> {}));
+    }
+
+    @Test
+    public void test_projection_mapping() {
+        String sql = "select id, name, score from bbb where id<=? order by id";
+        // 构造方法投影
+        List<BBBView> viewList = jdbcTemplate.queryForList(sql, statement -> statement.setInt(1, 3), BBBView.class);
+        assertEquals(3, viewList.size());
+        assertEquals(3L, viewList.get(2).id);
+        assertEquals("name-3", viewList.get(2).name);
+        assertEquals(3, viewList.get(2).score);
+        // 缺失列使用默认值
+        BBBView view = jdbcTemplate.queryForObj("select name from bbb where id=5", BBBView.class);
+        assertEquals("name-5", view.name);
+        assertEquals(0L, view.id);
+        // 接口投影
+        List<BBBProjection> projectionList = jdbcTemplate.queryForList(sql, statement -> statement.setInt(1, 2), BBBProjection.class);
+        assertEquals(2, projectionList.size());
+        assertEquals(2L, projectionList.get(1).getId());
+        assertEquals("name-2", projectionList.get(1).getName());
+        assertEquals(2, projectionList.get(1).score());
+        assertEquals("name-2:2", projectionList.get(1).describe());
+        assertEquals(projectionList.get(1), jdbcTemplate.queryForObj("select * from bbb where id=2", BBBProjection.class));
+        assertFalse(projectionList.get(0).equals(projectionList.get(1)));
+        // 投影模型按类缓存
+        assertSame(SQLite3Utils.getClassProjectionModel(BBBView.class), SQLite3Utils.getClassProjectionModel(BBBView.class));
+        assertNull(SQLite3Utils.getClassProjectionModel(BBB.class));
+    }
+
+    @Test
+    public void test_projection_nullable_value() {
+        jdbcTemplate.executeUpdate("CREATE TABLE IF NOT EXISTS eee(id INTEGER PRIMARY KEY, primitive_value INT, boxed_value INT"
+                + ", char_value CHAR(1), date_value TIMESTAMP, decimal_value DECIMAL)");
+        jdbcTemplate.executeUpdate("DELETE FROM eee WHERE id IN (11, 12)");
+        jdbcTemplate.executeUpdate("INSERT INTO eee(id, primitive_value, boxed_value) VALUES(11, 5, 6)");
+        jdbcTemplate.executeUpdate("INSERT INTO eee(id) VALUES(12)");
+        String sql = "select id, primitive_value, boxed_value from eee where id=?";
+        // NULL列映射至包装类型参数为null，基本类型参数使用默认值
+        EEEView view = jdbcTemplate.queryForObj(sql, statement -> statement.setLong(1, 12L), EEEView.class);
+        assertEquals(12L, view.id);
+        assertEquals(0, view.primitiveValue);
+        assertNull(view.boxedValue);
+        EEEProjection projection = jdbcTemplate.queryForObj(sql, statement -> statement.setLong(1, 12L), EEEProjection.class);
+        assertEquals(0, projection.getPrimitiveValue());
+        assertNull(projection.getBoxedValue());
+        // 非NULL列正常映射
+        view = jdbcTemplate.queryForObj(sql, statement -> statement.setLong(1, 11L), EEEView.class);
+        assertEquals(5, view.primitiveValue);
+        assertEquals(Integer.valueOf(6), view.boxedValue);
+        projection = jdbcTemplate.queryForObj(sql, statement -> statement.setLong(1, 11L), EEEProjection.class);
+        assertEquals(Integer.valueOf(6), projection.getBoxedValue());
+    }
+
+    public static class BBBService extends SQLite3Service<BBB, Long> {
+
+        public BBBService(SQLite3JdbcTemplate jdbcTemplate) {
+            super(jdbcTemplate, false);
+        }
+
+        public BBBService(SQLite3JdbcTemplate jdbcTemplate, int cacheMaxEntries, long cacheTtlMillis) {
+            super(jdbcTemplate, cacheMaxEntries, cacheTtlMillis);
+        }
+
+        @Override
+        protected Class<BBB> getEntityClass() {
+            return BBB.class;
+        }
+    }
+
+    public static class EEEService extends SQLite3Service<EEE, Long> {
+
+        public EEEService(SQLite3JdbcTemplate jdbcTemplate) {
+            super(jdbcTemplate, false);
+        }
+
+        @Override
+        protected Class<EEE> getEntityClass() {
+            return EEE.class;
+        }
+    }
+
+    @SQLite3Table(tableName = "bbb")
+    public static class BBB {
+
+        @SQLite3Id
+        @SQLite3Column(columnName = "id")
+        long id;
+        @SQLite3Column(columnName = "name")
+        String name;
+        @SQLite3Column(columnName = "score")
+        int score;
+
+        public BBB() {}
+
+        public BBB(long id, String name, int score) {
+            this.id = id;
+            this.name = name;
+            this.score = score;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public void setScore(int score) {
+            this.score = score;
+        }
+    }
+
+    @SQLite3Table(tableName = "ccc")
+    public static class CCC {
+
+        @SQLite3Id
+        @SQLite3Column(columnName = "id")
+        private Long id;
+        @SQLite3Column(columnName = "label")
+        private String label;
+        @SQLite3Column(columnName = "amount")
+        private Integer amount;
+
+        public CCC() {}
+
+        public CCC(Long id, String label, Integer amount) {
+            this.id = id;
+            this.label = label;
+            this.amount = amount;
+        }
+    }
+
+    @SQLite3Table(tableName = "eee")
+    public static class EEE {
+
+        @SQLite3Id
+        @SQLite3Column(columnName = "id")
+        long id;
+        @SQLite3Column(columnName = "primitive_value")
+        int primitiveValue;
+        @SQLite3Column(columnName = "boxed_value")
+        Integer boxedValue;
+        @SQLite3Column(columnName = "char_value")
+        char charValue;
+        @SQLite3Column(columnName = "date_value")
+        Date dateValue;
+        @SQLite3Column(columnName = "decimal_value")
+        BigDecimal decimalValue;
+    }
+
+    @SQLite3Table(tableName = "eee")
+    public static class EEEReflective {
+
+        @SQLite3Id
+        @SQLite3Column(columnName = "id")
+        private long id;
+        @SQLite3Column(columnName = "primitive_value")
+        private int primitiveValue;
+        @SQLite3Column(columnName = "boxed_value")
+        private Integer boxedValue;
+        @SQLite3Column(columnName = "char_value")
+        private char charValue;
+        @SQLite3Column(columnName = "date_value")
+        private Date dateValue;
+        @SQLite3Column(columnName = "decimal_value")
+        private BigDecimal decimalValue;
+
+        public EEEReflective() {}
+
+        public EEEReflective(long id, int primitiveValue, Integer boxedValue, char charValue, Date dateValue, BigDecimal decimalValue) {
+            this.id = id;
+            this.primitiveValue = primitiveValue;
+            this.boxedValue = boxedValue;
+            this.charValue = charValue;
+            this.dateValue = dateValue;
+            this.decimalValue = decimalValue;
+        }
+
+        public int getPrimitiveValue() {
+            return primitiveValue;
+        }
+
+        public Integer getBoxedValue() {
+            return boxedValue;
+        }
+
+        public char getCharValue() {
+            return charValue;
+        }
+
+        public Date getDateValue() {
+            return dateValue;
+        }
+
+        public BigDecimal getDecimalValue() {
+            return decimalValue;
+        }
+    }
+
+    public static class BBBView {
+
+        private final long id;
+        private final String name;
+        private final int score;
+
+        public BBBView(@SQLite3Column(columnName = "id") long id
+                , @SQLite3Column(columnName = "name") String name
+                , @SQLite3Column(columnName = "score") int score) {
+            this.id = id;
+            this.name = name;
+            this.score = score;
+        }
+    }
+
+    public interface BBBProjection {
+
+        long getId();
+
+        String getName();
+
+        @SQLite3Column(columnName = "score")
+        int score();
+
+        default String describe() {
+            return getName() + ":" + score();
+        }
+    }
+
+    public static class EEEView {
+
+        private final long id;
+        private final int primitiveValue;
+        private final Integer boxedValue;
+
+        public EEEView(@SQLite3Column(columnName = "id") long id
+                , @SQLite3Column(columnName = "primitive_value") int primitiveValue
+                , @SQLite3Column(columnName = "boxed_value") Integer boxedValue) {
+            this.id = id;
+            this.primitiveValue = primitiveValue;
+            this.boxedValue = boxedValue;
+        }
+    }
+
+    public interface EEEProjection {
+
+        @SQLite3Column(columnName = "primitive_value")
+        int getPrimitiveValue();
+
+        @SQLite3Column(columnName = "boxed_value")
+        Integer getBoxedValue();
+    }
+
+    @SQLite3Table(tableName = "ddd")
+    public static class DDD extends TrackableEntity {
+
+        @SQLite3Id
+        @SQLite3Column(columnName = "id")
+        private long id;
+        @SQLite3Column(columnName = "title")
+        private String title;
+        @SQLite3Column(columnName = "content")
+        private String content;
+        @SQLite3Column(columnName = "data")
+        private byte[] data;
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public String getContent() {
+            return content;
+        }
+
+        public void setContent(String content) {
+            this.content = content;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+
+        public void setData(byte[] data) {
+            this.data = data;
+        }
+    }
+
+}
@@ -6,6 +6,7 @@ package io.github.jiashunx.sdk.sqlite3.metadata;
  */
 public class ColumnMetadata {
 
+    private int columnIndex;
     private String catalogName;
     private String columnClassName;
     private int columnDisplaySize;
@@ -27,6 +28,14 @@ public class ColumnMetadata {
     private boolean searchable;
     private boolean signed;
 
+    public int getColumnIndex() {
+        return columnIndex;
+    }
+
+    public void setColumnIndex(int columnIndex) {
+        this.columnIndex = columnIndex;
+    }
+
     public String getCatalogName() {
         return catalogName;
     }
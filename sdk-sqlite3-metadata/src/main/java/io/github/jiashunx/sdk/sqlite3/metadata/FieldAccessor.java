@@ -0,0 +1,138 @@
+package io.github.jiashunx.sdk.sqlite3.metadata;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Objects;
+
+/**
+ * 模型字段访问器（构建时解析字段MethodHandle并缓存，读写字段时不再进行反射访问检查）
+ * @author jiashunx
+ */
+public class FieldAccessor {
+
+    /**
+     * 字段读取MethodHandle类型: (Object)Object
+     */
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * 字段赋值MethodHandle类型: (Object,Object)void
+     */
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * 模型字段对象
+     */
+    private final Field field;
+
+    /**
+     * 模型字段类型（基本类型转换为包装类型）
+     */
+    private final Class<?> boxedType;
+
+    /**
+     * 字段读取MethodHandle
+     */
+    private final MethodHandle getter;
+
+    /**
+     * 字段赋值MethodHandle（final字段为null）
+     */
+    private final MethodHandle setter;
+
+    /**
+     * 构造方法
+     * @param field 模型字段对象
+     * @throws RuntimeException 字段无法访问
+     */
+    public FieldAccessor(Field field) {
+        this.field = Objects.requireNonNull(field);
+        this.boxedType = box(field.getType());
+        try {
+            field.setAccessible(true);
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle getterHandle = lookup.unreflectGetter(field);
+            MethodHandle setterHandle = Modifier.isFinal(field.getModifiers()) ? null : lookup.unreflectSetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                // 静态字段忽略实例参数
+                getterHandle = MethodHandles.dropArguments(getterHandle, 0, Object.class);
+                if (setterHandle != null) {
+                    setterHandle = MethodHandles.dropArguments(setterHandle, 0, Object.class);
+                }
+            }
+            this.getter = getterHandle.asType(GETTER_TYPE);
+            this.setter = setterHandle == null ? null : setterHandle.asType(SETTER_TYPE);
+        } catch (Throwable throwable) {
+            throw new RuntimeException(String.format("create field [%s] accessor failed.", field), throwable);
+        }
+    }
+
+    /**
+     * 获取模型字段值
+     * @param object 模型实例
+     * @return 模型字段值
+     * @throws Throwable 字段读取异常
+     */
+    public Object get(Object object) throws Throwable {
+        return (Object) getter.invokeExact(object);
+    }
+
+    /**
+     * 设置模型字段值（数值类型按字段类型转换，如Integer赋值给long字段）
+     * @param object 模型实例
+     * @param value 模型字段值
+     * @throws Throwable 字段赋值异常
+     */
+    public void set(Object object, Object value) throws Throwable {
+        if (setter == null) {
+            throw new IllegalAccessException(String.format("field [%s] is final.", field));
+        }
+        setter.invokeExact(object, coerce(value));
+    }
+
+    /**
+     * 数值类型转换（非数值或类型一致时原样返回）
+     * @param value 字段值
+     * @return 转换后字段值
+     */
+    private Object coerce(Object value) {
+        if (!(value instanceof Number) || boxedType.isInstance(value)) {
+            return value;
+        }
+        Number number = (Number) value;
+        if (boxedType == Long.class) {
+            return number.longValue();
+        } else if (boxedType == Integer.class) {
+            return number.intValue();
+        } else if (boxedType == Double.class) {
+            return number.doubleValue();
+        } else if (boxedType == Float.class) {
+            return number.floatValue();
+        } else if (boxedType == Short.class) {
+            return number.shortValue();
+        } else if (boxedType == Byte.class) {
+            return number.byteValue();
+        }
+        return value;
+    }
+
+    /**
+     * 获取基本类型对应包装类型
+     * @param type 字段类型
+     * @return 包装类型（非基本类型原样返回）
+     */
+    private static Class<?> box(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+}
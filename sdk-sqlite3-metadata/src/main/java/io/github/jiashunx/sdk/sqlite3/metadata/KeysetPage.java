@@ -0,0 +1,45 @@
+package io.github.jiashunx.sdk.sqlite3.metadata;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 键集分页（seek分页）查询结果
+ * <p>下一页查询时传入nextToken，按排序列定位起始位置，查询代价与页码深度无关。</p>
+ * @param <T> 数据类型
+ * @author jiashunx
+ */
+public class KeysetPage<T> {
+
+    /**
+     * 当前页数据列表
+     */
+    private final List<T> dataList;
+
+    /**
+     * 下一页延续标识（不透明字符串，无下一页时为null）
+     */
+    private final String nextToken;
+
+    public KeysetPage(List<T> dataList, String nextToken) {
+        this.dataList = dataList == null ? Collections.emptyList() : Collections.unmodifiableList(dataList);
+        this.nextToken = nextToken;
+    }
+
+    /**
+     * 是否存在下一页
+     * @return true-存在下一页，false-当前页为最后一页
+     */
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+
+    public List<T> getDataList() {
+        return dataList;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+}
@@ -1,11 +1,23 @@
 package io.github.jiashunx.sdk.sqlite3.metadata;
 
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * 查询返回结果
+ * <p>紧凑模式：列名称表头共享，每行数据以Object[]存储（下标与列名称数组下标一致）；
+ * getRetMapList()返回可修改的Map列表（各行Map读取行数据，首次修改时才复制该行），getRowMapViewList()返回与行数据共享存储的Map视图（不复制数据）</p>
  * @author jiashunx
  */
 public class QueryResult {
@@ -16,21 +28,340 @@ public class QueryResult {
     private final Map<String, ColumnMetadata> columnMetadataMap;
 
     /**
-     * 查询返回结果List
+     * 查询返回结果列字段名称（按列顺序）
      */
-    private final List<Map<String, Object>> retMapList;
+    private final String[] columnNames;
+
+    /**
+     * 列字段名称与列下标（从0开始）映射map（各行共享）
+     */
+    private final Map<String, Integer> columnIndexMap;
+
+    /**
+     * 查询返回结果行数据List（紧凑模式）
+     */
+    private final List<Object[]> rowList;
+
+    /**
+     * 查询返回结果List（紧凑模式下首次获取时由行数据构造）
+     */
+    private volatile List<Map<String, Object>> retMapList;
 
     public QueryResult(Map<String, ColumnMetadata> columnMetadataMap, List<Map<String, Object>> retMapList) {
         this.columnMetadataMap = Objects.requireNonNull(columnMetadataMap);
+        this.columnNames = columnMetadataMap.keySet().toArray(new String[0]);
+        this.columnIndexMap = buildColumnIndexMap(this.columnNames);
+        this.rowList = null;
         this.retMapList = retMapList;
     }
 
+    /**
+     * 紧凑模式构造方法
+     * @param columnMetadataMap 列字段名称与列字段元数据信息映射map
+     * @param columnNames 列字段名称（按列顺序，与行数据下标一致）
+     * @param rowList 行数据List
+     */
+    public QueryResult(Map<String, ColumnMetadata> columnMetadataMap, String[] columnNames, List<Object[]> rowList) {
+        this.columnMetadataMap = Objects.requireNonNull(columnMetadataMap);
+        this.columnNames = Objects.requireNonNull(columnNames);
+        this.columnIndexMap = buildColumnIndexMap(columnNames);
+        this.rowList = Objects.requireNonNull(rowList);
+    }
+
+    private static Map<String, Integer> buildColumnIndexMap(String[] columnNames) {
+        Map<String, Integer> columnIndexMap = new HashMap<>(columnNames.length * 2);
+        for (int index = 0; index < columnNames.length; index++) {
+            columnIndexMap.putIfAbsent(columnNames[index], index);
+        }
+        return columnIndexMap;
+    }
+
     public Map<String, ColumnMetadata> getColumnMetadataMap() {
         return columnMetadataMap;
     }
 
+    /**
+     * 获取查询返回结果List（紧凑模式下首次获取时为每行构造写时复制Map，List及各行Map均可修改，修改不影响行数据）
+     * @return 查询返回结果List
+     */
     public List<Map<String, Object>> getRetMapList() {
+        List<Map<String, Object>> $retMapList = retMapList;
+        if ($retMapList == null && rowList != null) {
+            synchronized (this) {
+                $retMapList = retMapList;
+                if ($retMapList == null) {
+                    $retMapList = new ArrayList<>(rowList.size());
+                    for (Object[] row: rowList) {
+                        $retMapList.add(new CopyOnWriteRowMap(row));
+                    }
+                    retMapList = $retMapList;
+                }
+            }
+        }
+        return $retMapList;
+    }
+
+    /**
+     * 获取行数据Map视图List（紧凑模式下不复制数据，List只读，Map与行数据共享存储且仅可修改已有列的值）
+     * @return 行数据Map视图List
+     */
+    public List<Map<String, Object>> getRowMapViewList() {
+        if (rowList != null) {
+            return new RowMapList();
+        }
         return retMapList;
     }
 
+    /**
+     * 获取列字段名称（按列顺序）
+     * @return 列字段名称数组（不可修改）
+     */
+    public String[] getColumnNames() {
+        return columnNames.clone();
+    }
+
+    /**
+     * 获取列字段下标
+     * @param columnName 列字段名称
+     * @return 列字段下标（从0开始，不存在则返回-1）
+     */
+    public int getColumnIndex(String columnName) {
+        Integer index = columnIndexMap.get(columnName);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * 获取行数据List（紧凑模式直接返回，否则由Map列表转换）
+     * @return 行数据List（每行下标与列字段名称数组下标一致）
+     */
+    public List<Object[]> getRowList() {
+        if (rowList != null) {
+            return Collections.unmodifiableList(rowList);
+        }
+        List<Object[]> $rowList = new ArrayList<>();
+        if (retMapList != null) {
+            for (Map<String, Object> rowMap: retMapList) {
+                Object[] row = new Object[columnNames.length];
+                for (int index = 0; index < columnNames.length; index++) {
+                    row[index] = rowMap.get(columnNames[index]);
+                }
+                $rowList.add(row);
+            }
+        }
+        return $rowList;
+    }
+
+    /**
+     * 获取查询返回结果行数
+     * @return 查询返回结果行数
+     */
+    public int getRowCount() {
+        if (rowList != null) {
+            return rowList.size();
+        }
+        return retMapList == null ? 0 : retMapList.size();
+    }
+
+    /**
+     * 获取指定行指定列数据
+     * @param rowIndex 行下标（从0开始）
+     * @param columnIndex 列下标（从0开始）
+     * @return 数据
+     */
+    public Object getValue(int rowIndex, int columnIndex) {
+        if (rowList != null) {
+            return rowList.get(rowIndex)[columnIndex];
+        }
+        return retMapList.get(rowIndex).get(columnNames[columnIndex]);
+    }
+
+    /**
+     * 行数据Map视图列表（只读列表，按需为每行构造Map视图）
+     */
+    private class RowMapList extends AbstractList<Map<String, Object>> {
+        @Override
+        public Map<String, Object> get(int index) {
+            return new RowMap(rowList.get(index));
+        }
+        @Override
+        public int size() {
+            return rowList.size();
+        }
+    }
+
+    /**
+     * 行数据Map视图基类（按列下标读取行数据，重复列名称仅保留首列）
+     */
+    private abstract class AbstractRowMap extends AbstractMap<String, Object> {
+        final Object[] row;
+        private AbstractRowMap(Object[] row) {
+            this.row = row;
+        }
+        @Override
+        public int size() {
+            return columnIndexMap.size();
+        }
+        @Override
+        public boolean containsKey(Object key) {
+            return columnIndexMap.containsKey(key);
+        }
+        @Override
+        public Object get(Object key) {
+            Integer index = columnIndexMap.get(key);
+            return index == null ? null : row[index];
+        }
+
+        /**
+         * 修改指定列的值（由迭代Entry.setValue调用）
+         * @param index 列下标
+         * @param value 列值
+         */
+        abstract void setColumnValue(int index, Object value);
+
+        /**
+         * 删除指定列（由迭代器remove调用）
+         * @param index 列下标
+         */
+        void removeColumn(int index) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<Entry<String, Object>>() {
+                        private int index = nextIndex(0);
+                        private int lastIndex = -1;
+                        @Override
+                        public boolean hasNext() {
+                            return index < columnNames.length;
+                        }
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int $index = index;
+                            lastIndex = index;
+                            index = nextIndex(index + 1);
+                            return new SimpleEntry<String, Object>(columnNames[$index], row[$index]) {
+                                @Override
+                                public Object setValue(Object value) {
+                                    setColumnValue($index, value);
+                                    return super.setValue(value);
+                                }
+                            };
+                        }
+                        @Override
+                        public void remove() {
+                            if (lastIndex < 0) {
+                                throw new IllegalStateException();
+                            }
+                            removeColumn(lastIndex);
+                            lastIndex = -1;
+                        }
+                    };
+                }
+                @Override
+                public int size() {
+                    return AbstractRowMap.this.size();
+                }
+            };
+        }
+
+        /**
+         * 获取下一个有效列下标（重复列名称仅保留首列）
+         * @param from 起始下标
+         * @return 有效列下标
+         */
+        private int nextIndex(int from) {
+            int index = from;
+            while (index < columnNames.length && columnIndexMap.get(columnNames[index]) != index) {
+                index++;
+            }
+            return index;
+        }
+    }
+
+    /**
+     * 行数据Map视图（与行数据共享存储，仅可修改已有列的值）
+     */
+    private class RowMap extends AbstractRowMap {
+        private RowMap(Object[] row) {
+            super(row);
+        }
+        @Override
+        public Object put(String key, Object value) {
+            Integer index = columnIndexMap.get(key);
+            if (index == null) {
+                throw new UnsupportedOperationException(String.format("column [%s] not exists", key));
+            }
+            Object oldValue = row[index];
+            row[index] = value;
+            return oldValue;
+        }
+        @Override
+        void setColumnValue(int index, Object value) {
+            row[index] = value;
+        }
+    }
+
+    /**
+     * 写时复制行数据Map（修改前读取行数据，首次修改时复制为LinkedHashMap，此后读写均作用于副本，不影响行数据）
+     */
+    private class CopyOnWriteRowMap extends AbstractRowMap {
+        private Map<String, Object> copy;
+        private CopyOnWriteRowMap(Object[] row) {
+            super(row);
+        }
+        private Map<String, Object> copy() {
+            if (copy == null) {
+                Map<String, Object> $copy = new LinkedHashMap<>(columnIndexMap.size() * 2);
+                for (int index = 0; index < columnNames.length; index++) {
+                    $copy.putIfAbsent(columnNames[index], row[index]);
+                }
+                copy = $copy;
+            }
+            return copy;
+        }
+        @Override
+        public int size() {
+            return copy == null ? super.size() : copy.size();
+        }
+        @Override
+        public boolean containsKey(Object key) {
+            return copy == null ? super.containsKey(key) : copy.containsKey(key);
+        }
+        @Override
+        public Object get(Object key) {
+            return copy == null ? super.get(key) : copy.get(key);
+        }
+        @Override
+        public Object put(String key, Object value) {
+            return copy().put(key, value);
+        }
+        @Override
+        public Object remove(Object key) {
+            return copy().remove(key);
+        }
+        @Override
+        public void clear() {
+            copy().clear();
+        }
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return copy == null ? super.entrySet() : copy.entrySet();
+        }
+        @Override
+        void setColumnValue(int index, Object value) {
+            copy().put(columnNames[index], value);
+        }
+        @Override
+        void removeColumn(int index) {
+            copy().remove(columnNames[index]);
+        }
+    }
+
 }
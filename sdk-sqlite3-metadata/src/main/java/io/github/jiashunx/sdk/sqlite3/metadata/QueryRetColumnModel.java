@@ -33,6 +33,11 @@ public class QueryRetColumnModel {
      */
     private Field field;
 
+    /**
+     * 模型字段访问器（设置模型字段对象时创建）
+     */
+    private FieldAccessor fieldAccessor;
+
     /**
      * 设置模型字段值
      * @param object 模型实例
@@ -40,8 +45,7 @@ public class QueryRetColumnModel {
      */
     public void setFieldValue(Object object, Object value) {
         try {
-            field.setAccessible(true);
-            field.set(object, value);
+            fieldAccessor.set(object, value);
         } catch (Throwable throwable) {
             throw new RuntimeException(String.format(
                     "set class[%s] field[%s] value faile.", klassName, fieldName), throwable);
@@ -86,5 +90,10 @@ public class QueryRetColumnModel {
 
     public void setField(Field field) {
         this.field = field;
+        this.fieldAccessor = field == null ? null : new FieldAccessor(field);
+    }
+
+    public FieldAccessor getFieldAccessor() {
+        return fieldAccessor;
     }
 }
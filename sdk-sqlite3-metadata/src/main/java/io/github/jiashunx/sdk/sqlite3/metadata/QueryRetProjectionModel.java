@@ -0,0 +1,84 @@
+package io.github.jiashunx.sdk.sqlite3.metadata;
+
+import java.util.function.Function;
+
+/**
+ * 查询返回结果不可变投影模型信息（record、@SQLite3Column注解参数的构造方法、接口投影）
+ * @author jiashunx
+ */
+public class QueryRetProjectionModel {
+
+    /**
+     * 查询返回结果映射Class对象
+     */
+    private Class<?> klass;
+
+    /**
+     * 投影参数对应列名称（按构造参数顺序）
+     */
+    private String[] columnNames;
+
+    /**
+     * 投影参数类型（基本类型转换为包装类型）
+     */
+    private Class<?>[] parameterTypes;
+
+    /**
+     * 投影参数默认值（列不存在或列值为null时使用，基本类型为对应零值）
+     */
+    private Object[] defaultValues;
+
+    /**
+     * 投影实例创建方法（输入-按构造参数顺序的参数值数组）
+     */
+    private Function<Object[], Object> instantiator;
+
+    /**
+     * 创建投影实例
+     * @param values 按构造参数顺序的参数值数组
+     * @return 投影实例
+     */
+    public Object newInstance(Object[] values) {
+        return instantiator.apply(values);
+    }
+
+    public Class<?> getKlass() {
+        return klass;
+    }
+
+    public void setKlass(Class<?> klass) {
+        this.klass = klass;
+    }
+
+    public String[] getColumnNames() {
+        return columnNames;
+    }
+
+    public void setColumnNames(String[] columnNames) {
+        this.columnNames = columnNames;
+    }
+
+    public Class<?>[] getParameterTypes() {
+        return parameterTypes;
+    }
+
+    public void setParameterTypes(Class<?>[] parameterTypes) {
+        this.parameterTypes = parameterTypes;
+    }
+
+    public Object[] getDefaultValues() {
+        return defaultValues;
+    }
+
+    public void setDefaultValues(Object[] defaultValues) {
+        this.defaultValues = defaultValues;
+    }
+
+    public Function<Object[], Object> getInstantiator() {
+        return instantiator;
+    }
+
+    public void setInstantiator(Function<Object[], Object> instantiator) {
+        this.instantiator = instantiator;
+    }
+}
@@ -43,10 +43,14 @@ public class TableColumnModel {
      */
     private Field field;
 
+    /**
+     * 模型字段访问器（设置模型字段对象时创建）
+     */
+    private FieldAccessor fieldAccessor;
+
     public Object getFieldValue(Object object) {
         try {
-            field.setAccessible(true);
-            return field.get(object);
+            return fieldAccessor.get(object);
         } catch (Throwable throwable) {
             throw new RuntimeException(String.format(
                     "get field %s[class: %s, table: %s] value failed.", fieldName, klassName, tableName), throwable);
@@ -107,5 +111,10 @@ public class TableColumnModel {
 
     public void setField(Field field) {
         this.field = field;
+        this.fieldAccessor = field == null ? null : new FieldAccessor(field);
+    }
+
+    public FieldAccessor getFieldAccessor() {
+        return fieldAccessor;
     }
 }
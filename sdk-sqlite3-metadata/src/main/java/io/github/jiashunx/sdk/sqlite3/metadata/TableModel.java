@@ -1,8 +1,8 @@
 package io.github.jiashunx.sdk.sqlite3.metadata;
 
-import java.lang.reflect.Field;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 /**
@@ -11,6 +11,11 @@ import java.util.function.Consumer;
  */
 public class TableModel {
 
+    /**
+     * 单条SQL最大参数数量（SQLite默认SQLITE_MAX_VARIABLE_NUMBER）.
+     */
+    public static final int MAX_VARIABLE_NUMBER = 999;
+
     /**
      * class对象.
      */
@@ -42,9 +47,14 @@ public class TableModel {
     private List<TableColumnModel> columnModelList;
 
     /**
-     * 数据表字段定义信息.
+     * 数据表字段定义信息（首次使用时加载，多线程共享模型实例，需保证可见性）.
+     */
+    private volatile Map<String, ColumnMetadata> columnMetadata;
+
+    /**
+     * 部分字段更新SQL缓存（key-更新字段掩码）.
      */
-    private Map<String, ColumnMetadata> columnMetadata;
+    private final Map<Long, String> updateSqlCache = new ConcurrentHashMap<>();
 
     /**
      * 获取单条插入SQL（包括所有实体字段）
@@ -66,6 +76,53 @@ public class TableModel {
         return builder.toString();
     }
 
+    /**
+     * 获取单条更新SQL（根据主键更新）（仅包括掩码指定字段，按掩码缓存）
+     * @param columnMask 更新字段掩码（第i位对应columnModelList第i个非主键字段）
+     * @return 单条更新SQL: update table_name set field1=?,field3=? where id=?
+     * @throws IllegalArgumentException 掩码未包含任何字段
+     */
+    public String sqlOfUpdate(long columnMask) throws IllegalArgumentException {
+        if (columnMask == 0) {
+            throw new IllegalArgumentException("update column mask is empty");
+        }
+        return updateSqlCache.computeIfAbsent(columnMask, mask -> {
+            StringBuilder builder = new StringBuilder("UPDATE ");
+            builder.append(tableName).append(" SET ");
+            for (int index = 0, size = Math.min(columnModelList.size(), Long.SIZE); index < size; index++) {
+                TableColumnModel columnModel = columnModelList.get(index);
+                if (!columnModel.isIdColumn() && (mask & (1L << index)) != 0) {
+                    builder.append(columnModel.getColumnName()).append("=?,");
+                }
+            }
+            builder.deleteCharAt(builder.length() - 1);
+            builder.append(" WHERE ");
+            builder.append(idColumnModel.getColumnName()).append("=?");
+            return builder.toString();
+        });
+    }
+
+    /**
+     * 获取单条插入或更新SQL（主键冲突时更新非主键字段，需SQLite3 3.24.0及以上版本）（参数顺序与插入SQL一致）
+     * @return 单条插入或更新SQL: insert into table_name(field1,field2,id) values(?,?,?) on conflict(id) do update set field1=excluded.field1,field2=excluded.field2
+     */
+    public String sqlOfUpsert() {
+        StringBuilder builder = new StringBuilder(sqlOfInsert());
+        builder.append(" ON CONFLICT(").append(idColumnModel.getColumnName()).append(") DO ");
+        StringBuilder setBuilder = new StringBuilder();
+        columnModelList.forEach(columnModel -> {
+            if (!columnModel.isIdColumn()) {
+                String columnName = columnModel.getColumnName();
+                setBuilder.append(columnName).append("=excluded.").append(columnName).append(",");
+            }
+        });
+        if (setBuilder.length() == 0) {
+            return builder.append("NOTHING").toString();
+        }
+        setBuilder.deleteCharAt(setBuilder.length() - 1);
+        return builder.append("UPDATE SET ").append(setBuilder).toString();
+    }
+
     /**
      * 获取单条更新SQL（根据主键更新）（包括所有实体字段）
      * @return 单条更新SQL: update table_name set field1=?,field2=?,field3=?,... where id=?
@@ -94,6 +151,31 @@ public class TableModel {
         });
     }
 
+    /**
+     * 获取批量删除SQL（根据主键列表删除）
+     * @param idCount 主键数量（不超过{@link #MAX_VARIABLE_NUMBER}）
+     * @return 批量删除SQL（根据主键列表删除）: delete from table_name where id in (?,?,?)
+     */
+    public String sqlOfDeleteByIds(int idCount) {
+        return sqlOfDelete(builder -> appendIdInCondition(builder, idCount));
+    }
+
+    /**
+     * 拼接主键列表查询条件: where id in (?,?,?)
+     * @param builder StringBuilder
+     * @param idCount 主键数量（不超过{@link #MAX_VARIABLE_NUMBER}）
+     */
+    private void appendIdInCondition(StringBuilder builder, int idCount) {
+        if (idCount <= 0 || idCount > MAX_VARIABLE_NUMBER) {
+            throw new IllegalArgumentException(String.format("invalid id count: %d", idCount));
+        }
+        builder.append(" WHERE ").append(idColumnModel.getColumnName()).append(" IN (");
+        for (int i = 0; i < idCount; i++) {
+            builder.append(i == 0 ? "?" : ",?");
+        }
+        builder.append(") ");
+    }
+
     /**
      * 获取删除SQL（自行拼接删除条件）
      * @param consumer 拼接删除条件: 拼接: where field1=? and field2=?
@@ -145,6 +227,84 @@ public class TableModel {
         return sqlOfSelectAll(consumer) + String.format(" LIMIT %d,%d ", (pageIndex - 1) * pageSize, pageSize);
     }
 
+    /**
+     * 获取键集分页查询SQL（按主键排序，seek定位，查询代价与页码深度无关）
+     * @param consumer 拼接查询条件（仅限where条件）: 拼接: where field1=? and field2=?
+     * @param seek 是否按上一页末行定位（true-追加定位条件，参数位于用户参数之后）
+     * @param descending 是否倒序
+     * @param limit 查询条数
+     * @return 查询SQL: select * from (select * from table_name where field1=?) where id&gt;? order by id limit n
+     */
+    public String sqlOfSelectWithKeyset(Consumer<StringBuilder> consumer, boolean seek, boolean descending, int limit) {
+        return sqlOfSelectWithKeyset(consumer, idColumnModel.getColumnName(), seek, descending, limit);
+    }
+
+    /**
+     * 获取键集分页查询SQL（按指定排序列+主键排序，排序列需有(排序列,主键)索引，seek定位，查询代价与页码深度无关）
+     * @param consumer 拼接查询条件（仅限where条件）: 拼接: where field1=? and field2=?
+     * @param orderColumnName 排序列名称（主键列或模型映射列）
+     * @param seek 是否按上一页末行定位（true-追加定位条件，参数位于用户参数之后：排序列值[,主键值]）
+     * @param descending 是否倒序
+     * @param limit 查询条数
+     * @return 查询SQL: select * from (select * from table_name where field1=?) where (col,id)&gt;(?,?) order by col,id limit n
+     */
+    public String sqlOfSelectWithKeyset(Consumer<StringBuilder> consumer, String orderColumnName, boolean seek, boolean descending, int limit) {
+        return sqlOfSelectWithKeyset(consumer, orderColumnName, seek, false, descending, limit);
+    }
+
+    /**
+     * 获取键集分页查询SQL（按指定排序列+主键排序，排序列需有(排序列,主键)索引，seek定位，查询代价与页码深度无关）
+     * <p>排序列可为null：SQLite3中NULL小于任何值，升序时NULL行位于最前，倒序时位于最后，定位条件按此追加IS NULL分支。</p>
+     * @param consumer 拼接查询条件（仅限where条件）: 拼接: where field1=? and field2=?
+     * @param orderColumnName 排序列名称（主键列或模型映射列）
+     * @param seek 是否按上一页末行定位（true-追加定位条件，参数位于用户参数之后：排序列值[,主键值]）
+     * @param seekNull 上一页末行排序列值是否为null（true-排序列以IS NULL定位，参数仅为主键值）
+     * @param descending 是否倒序
+     * @param limit 查询条数
+     * @return 查询SQL: select * from (select * from table_name where field1=?) where (col,id)&gt;(?,?) order by col,id limit n
+     */
+    public String sqlOfSelectWithKeyset(Consumer<StringBuilder> consumer, String orderColumnName, boolean seek, boolean seekNull
+            , boolean descending, int limit) {
+        if (orderColumnName == null || !columnModelMap.containsKey(orderColumnName)) {
+            throw new IllegalArgumentException(String.format("table [%s] has no mapped column: %s", tableName, orderColumnName));
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException(String.format("invalid keyset page limit: %d", limit));
+        }
+        String idColumnName = idColumnModel.getColumnName();
+        boolean orderById = orderColumnName.equals(idColumnName);
+        String direction = descending ? " DESC" : " ASC";
+        // 子查询仅包含where条件，SQLite会将其展开，定位条件与排序可直接使用索引
+        StringBuilder builder = new StringBuilder("SELECT * FROM (").append(sqlOfSelectAll(consumer)).append(") ");
+        if (seek) {
+            String operator = descending ? "<" : ">";
+            if (orderById) {
+                builder.append("WHERE ").append(idColumnName).append(operator).append("? ");
+            } else if (seekNull) {
+                // 上一页末行排序列为NULL：升序时其后为同为NULL的剩余行及全部非NULL行，倒序时仅剩同为NULL的剩余行
+                builder.append("WHERE (").append(orderColumnName).append(" IS NULL AND ").append(idColumnName).append(operator).append("?)");
+                if (!descending) {
+                    builder.append(" OR ").append(orderColumnName).append(" IS NOT NULL");
+                }
+                builder.append(" ");
+            } else {
+                builder.append("WHERE (").append(orderColumnName).append(",").append(idColumnName).append(")")
+                        .append(operator).append("(?,?)");
+                // 行值比较不包含NULL行，倒序时NULL行位于非NULL行之后
+                if (descending) {
+                    builder.append(" OR ").append(orderColumnName).append(" IS NULL");
+                }
+                builder.append(" ");
+            }
+        }
+        builder.append("ORDER BY ").append(orderColumnName).append(direction);
+        if (!orderById) {
+            builder.append(",").append(idColumnName).append(direction);
+        }
+        builder.append(" LIMIT ").append(limit).append(" ");
+        return builder.toString();
+    }
+
     /**
      * 获取查询SQL（查询指定字段）
      * @param fieldNames 待查询字段名称列表
@@ -199,6 +359,75 @@ public class TableModel {
         return sqlOfSelectFields(fieldNames, consumer) + String.format(" LIMIT %d,%d ", (pageIndex - 1) * pageSize, pageSize);
     }
 
+    /**
+     * 获取统计条数SQL
+     * @param consumer 拼接查询条件: 拼接: where field1=? and field2=?
+     * @return 统计条数SQL: select count(1) from table_name where field1=? and field2=?
+     */
+    public String sqlOfCount(Consumer<StringBuilder> consumer) {
+        StringBuilder builder = new StringBuilder("SELECT COUNT(1) FROM " + tableName + " ");
+        consumer.accept(builder);
+        return builder.toString();
+    }
+
+    /**
+     * 获取判断记录是否存在SQL（匹配到首条记录即返回）
+     * @param consumer 拼接查询条件: 拼接: where field1=? and field2=?
+     * @return 判断记录是否存在SQL: select exists(select 1 from table_name where field1=? and field2=? limit 1)
+     */
+    public String sqlOfExists(Consumer<StringBuilder> consumer) {
+        StringBuilder builder = new StringBuilder("SELECT EXISTS(SELECT 1 FROM " + tableName + " ");
+        consumer.accept(builder);
+        builder.append(" LIMIT 1)");
+        return builder.toString();
+    }
+
+    /**
+     * 获取最小值SQL
+     * @param columnName 列名称（需为模型映射列）
+     * @param consumer 拼接查询条件: 拼接: where field1=? and field2=?
+     * @return 最小值SQL: select min(column) from table_name where field1=? and field2=?
+     */
+    public String sqlOfMin(String columnName, Consumer<StringBuilder> consumer) {
+        return sqlOfAggregate("MIN", columnName, consumer);
+    }
+
+    /**
+     * 获取最大值SQL
+     * @param columnName 列名称（需为模型映射列）
+     * @param consumer 拼接查询条件: 拼接: where field1=? and field2=?
+     * @return 最大值SQL: select max(column) from table_name where field1=? and field2=?
+     */
+    public String sqlOfMax(String columnName, Consumer<StringBuilder> consumer) {
+        return sqlOfAggregate("MAX", columnName, consumer);
+    }
+
+    /**
+     * 获取求和SQL
+     * @param columnName 列名称（需为模型映射列）
+     * @param consumer 拼接查询条件: 拼接: where field1=? and field2=?
+     * @return 求和SQL: select sum(column) from table_name where field1=? and field2=?
+     */
+    public String sqlOfSum(String columnName, Consumer<StringBuilder> consumer) {
+        return sqlOfAggregate("SUM", columnName, consumer);
+    }
+
+    /**
+     * 获取聚合查询SQL（列名称需为模型映射列，避免拼接任意表达式）
+     * @param function 聚合函数
+     * @param columnName 列名称
+     * @param consumer 拼接查询条件: 拼接: where field1=? and field2=?
+     * @return 聚合查询SQL: select function(column) from table_name where field1=? and field2=?
+     */
+    private String sqlOfAggregate(String function, String columnName, Consumer<StringBuilder> consumer) {
+        if (!columnModelMap.containsKey(columnName)) {
+            throw new IllegalArgumentException(String.format("class[%s] has no column: %s", klassName, columnName));
+        }
+        StringBuilder builder = new StringBuilder("SELECT ").append(function).append("(").append(columnName).append(") FROM ").append(tableName).append(" ");
+        consumer.accept(builder);
+        return builder.toString();
+    }
+
     /**
      * 获取查询SQL（根据主键查询）
      * @return 查询SQL（根据主键查询）: select * from table_name where id=?
@@ -209,6 +438,15 @@ public class TableModel {
         });
     }
 
+    /**
+     * 获取批量查询SQL（根据主键列表查询）
+     * @param idCount 主键数量（不超过{@link #MAX_VARIABLE_NUMBER}）
+     * @return 批量查询SQL（根据主键列表查询）: select * from table_name where id in (?,?,?)
+     */
+    public String sqlOfSelectByIds(int idCount) {
+        return sqlOfSelect(builder -> appendIdInCondition(builder, idCount));
+    }
+
     /**
      * 获取查询SQL（自行拼接查询条件）
      * @param consumer 拼接查询条件: 拼接: where field1=? and field2=?
@@ -247,13 +485,7 @@ public class TableModel {
      * @return 主键字段值
      */
     public Object getIdFieldValue(Object object) {
-        Field idField = idColumnModel.getField();
-        try {
-            idField.setAccessible(true);
-            return idField.get(object);
-        } catch (Throwable throwable) {
-            throw new RuntimeException(String.format("get id field[%s] value faild.", idField), throwable);
-        }
+        return idColumnModel.getFieldValue(object);
     }
 
     public Class<?> getKlass() {
@@ -302,6 +534,7 @@ public class TableModel {
 
     public void setColumnModelList(List<TableColumnModel> columnModelList) {
         this.columnModelList = columnModelList;
+        this.updateSqlCache.clear();
     }
 
     public Map<String, ColumnMetadata> getColumnMetadata() {
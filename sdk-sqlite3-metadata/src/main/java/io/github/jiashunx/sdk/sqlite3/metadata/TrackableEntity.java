@@ -0,0 +1,40 @@
+package io.github.jiashunx.sdk.sqlite3.metadata;
+
+/**
+ * 可跟踪字段变更的模型基类（可选继承）
+ * <p>模型经映射层查询或更新后记录各表字段值快照，再次更新时仅更新与快照不一致的字段（UPDATE ... SET仅包含变更字段）。</p>
+ * <p>未记录快照（如新建实例）时按全部字段更新；数组类型字段快照记录副本，其余类型记录引用（可变对象原地修改无法识别）。</p>
+ * <p>外层事务（doTransaction）中执行的查询不记录快照、更新清除快照（事务可能回滚），下次更新时按全部字段更新。</p>
+ * @author jiashunx
+ */
+public abstract class TrackableEntity {
+
+    /**
+     * 表字段值快照（与TableModel.getColumnModelList()顺序一致，未记录为null）
+     */
+    private Object[] trackedValues;
+
+    /**
+     * 获取表字段值快照（由映射层使用）
+     * @return 表字段值快照（未记录为null）
+     */
+    public Object[] getTrackedValues() {
+        return trackedValues;
+    }
+
+    /**
+     * 设置表字段值快照（由映射层使用）
+     * @param trackedValues 表字段值快照
+     */
+    public void setTrackedValues(Object[] trackedValues) {
+        this.trackedValues = trackedValues;
+    }
+
+    /**
+     * 清除表字段值快照（下次更新时按全部字段更新）
+     */
+    public void clearTrackedValues() {
+        this.trackedValues = null;
+    }
+
+}
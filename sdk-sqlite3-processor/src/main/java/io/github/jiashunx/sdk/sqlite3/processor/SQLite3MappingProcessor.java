@@ -0,0 +1,475 @@
+package io.github.jiashunx.sdk.sqlite3.processor;
+
+import io.github.jiashunx.sdk.sqlite3.metadata.annotation.SQLite3Column;
+import io.github.jiashunx.sdk.sqlite3.metadata.annotation.SQLite3Id;
+import io.github.jiashunx.sdk.sqlite3.metadata.annotation.SQLite3Table;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * SQLite3 模型映射注解处理器（编译期为@SQLite3Table模型生成SQL、预处理赋值及行映射实现，运行时无需反射访问模型字段）
+ * <p>生成类与模型类位于同一包下，类名为模型类二进制名称（不含包名）+ "_SQLite3Mapping"，实现sdk-sqlite3-mapping中的SQLite3GeneratedMapping接口。</p>
+ * <p>生成类与反射映射一致，直接读写模型字段（不经过getter/setter），因此要求映射字段为非私有、非final字段。</p>
+ * <p>模型不满足生成条件（私有类、抽象类、非静态内部类、无可访问的无参构造方法、私有或final字段等）时输出警告并跳过，运行时仍使用反射映射。</p>
+ * @author jiashunx
+ */
+@SupportedAnnotationTypes("io.github.jiashunx.sdk.sqlite3.metadata.annotation.SQLite3Table")
+public class SQLite3MappingProcessor extends AbstractProcessor {
+
+    /**
+     * 生成类名后缀（与SQLite3GeneratedMapping.CLASS_NAME_SUFFIX一致）
+     */
+    private static final String CLASS_NAME_SUFFIX = "_SQLite3Mapping";
+
+    private static final String MAPPING_INTERFACE = "io.github.jiashunx.sdk.sqlite3.mapping.SQLite3GeneratedMapping";
+
+    private static final String MAPPING_UTILS = "io.github.jiashunx.sdk.sqlite3.mapping.util.SQLite3Utils";
+
+    private static final String PREPARED_STATEMENT = "io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3PreparedStatement";
+
+    private static final String RESULT_SET_METADATA = "io.github.jiashunx.sdk.sqlite3.core.sql.SQLite3ResultSetMetadata";
+
+    private static final String ROW_MAPPER = "io.github.jiashunx.sdk.sqlite3.core.function.RowMapper";
+
+    private static final String COLUMN_EXTRACTOR = "io.github.jiashunx.sdk.sqlite3.core.function.ColumnExtractor";
+
+    private static final String PARAMETER_BINDER = "io.github.jiashunx.sdk.sqlite3.core.function.ParameterBinder";
+
+    private static final String COLUMN_METADATA_MAP = "java.util.Map<String, io.github.jiashunx.sdk.sqlite3.metadata.ColumnMetadata>";
+
+    private Elements elements;
+
+    private Types types;
+
+    private Filer filer;
+
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element: roundEnv.getElementsAnnotatedWith(SQLite3Table.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            TypeElement typeElement = (TypeElement) element;
+            EntityModel entityModel = resolveEntityModel(typeElement);
+            if (entityModel != null) {
+                writeMapping(entityModel);
+            }
+        }
+        // 不独占@SQLite3Table注解
+        return false;
+    }
+
+    /**
+     * 解析模型信息
+     * @param typeElement 模型类型
+     * @return 模型信息（不满足生成条件则返回null）
+     */
+    private EntityModel resolveEntityModel(TypeElement typeElement) {
+        if (!isAccessibleType(typeElement)) {
+            warn(typeElement, "class is not accessible from its package (private/local/anonymous or non-static nested class)");
+            return null;
+        }
+        if (typeElement.getModifiers().contains(Modifier.ABSTRACT)) {
+            warn(typeElement, "class is abstract");
+            return null;
+        }
+        if (!typeElement.getTypeParameters().isEmpty()) {
+            warn(typeElement, "class is generic");
+            return null;
+        }
+        boolean hasConstructor = ElementFilter.constructorsIn(typeElement.getEnclosedElements()).stream()
+                .anyMatch(constructor -> constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE));
+        if (!hasConstructor) {
+            warn(typeElement, "class has no accessible no-arg constructor");
+            return null;
+        }
+        String tableName = typeElement.getAnnotation(SQLite3Table.class).tableName().trim();
+        if (tableName.isEmpty()) {
+            warn(typeElement, "@SQLite3Table tableName is empty");
+            return null;
+        }
+        PackageElement packageElement = elements.getPackageOf(typeElement);
+        EntityModel entityModel = new EntityModel();
+        entityModel.packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(typeElement).toString();
+        entityModel.mappingSimpleName = (entityModel.packageName.isEmpty() ? binaryName : binaryName.substring(entityModel.packageName.length() + 1)) + CLASS_NAME_SUFFIX;
+        entityModel.entityTypeName = typeElement.getQualifiedName().toString();
+        entityModel.tableName = tableName;
+        Set<String> columnNames = new HashSet<>();
+        ColumnModel idColumnModel = null;
+        for (VariableElement field: ElementFilter.fieldsIn(typeElement.getEnclosedElements())) {
+            SQLite3Column columnAnnotation = field.getAnnotation(SQLite3Column.class);
+            if (columnAnnotation == null) {
+                continue;
+            }
+            String columnName = columnAnnotation.columnName().trim();
+            if (columnName.isEmpty() || !columnNames.add(columnName)) {
+                warn(typeElement, "field [" + field.getSimpleName() + "] column name is empty or duplicated");
+                return null;
+            }
+            if (field.getModifiers().contains(Modifier.STATIC)) {
+                warn(typeElement, "field [" + field.getSimpleName() + "] is static");
+                return null;
+            }
+            ColumnModel columnModel = resolveColumnModel(field, columnName);
+            if (columnModel == null) {
+                warn(typeElement, "field [" + field.getSimpleName() + "] is not accessible (needs non-private and non-final field)");
+                return null;
+            }
+            if (field.getAnnotation(SQLite3Id.class) != null) {
+                if (idColumnModel != null) {
+                    warn(typeElement, "class has more than one field with @SQLite3Id annotation");
+                    return null;
+                }
+                idColumnModel = columnModel;
+            } else {
+                entityModel.columnModelList.add(columnModel);
+            }
+        }
+        if (idColumnModel == null) {
+            warn(typeElement, "class has no field with annotation: @SQLite3Id");
+            return null;
+        }
+        // 参数顺序：非主键字段（按声明顺序）+ 主键字段
+        entityModel.columnModelList.add(idColumnModel);
+        entityModel.idColumnModel = idColumnModel;
+        return entityModel;
+    }
+
+    /**
+     * 解析模型字段信息（与反射映射一致直接读写字段，私有或final字段不生成映射）
+     * @param field 模型字段
+     * @param columnName 列名称
+     * @return 模型字段信息（字段不可直接读写则返回null）
+     */
+    private ColumnModel resolveColumnModel(VariableElement field, String columnName) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)) {
+            return null;
+        }
+        TypeMirror fieldType = field.asType();
+        ColumnModel columnModel = new ColumnModel();
+        columnModel.columnName = columnName;
+        columnModel.fieldName = field.getSimpleName().toString();
+        columnModel.fieldType = fieldType;
+        columnModel.erasedTypeName = types.erasure(fieldType).toString();
+        return columnModel;
+    }
+
+    /**
+     * 判断模型类型是否可被同一包下的生成类访问
+     * @param typeElement 模型类型
+     * @return true-可访问
+     */
+    private boolean isAccessibleType(TypeElement typeElement) {
+        if (typeElement.getModifiers().contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        NestingKind nestingKind = typeElement.getNestingKind();
+        if (nestingKind == NestingKind.TOP_LEVEL) {
+            return true;
+        }
+        if (nestingKind != NestingKind.MEMBER || !typeElement.getModifiers().contains(Modifier.STATIC)) {
+            return false;
+        }
+        Element enclosingElement = typeElement.getEnclosingElement();
+        return enclosingElement instanceof TypeElement && isAccessibleType((TypeElement) enclosingElement);
+    }
+
+    /**
+     * 输出生成类源文件
+     * @param entityModel 模型信息
+     */
+    private void writeMapping(EntityModel entityModel) {
+        String qualifiedName = entityModel.packageName.isEmpty()
+                ? entityModel.mappingSimpleName
+                : entityModel.packageName + "." + entityModel.mappingSimpleName;
+        try {
+            JavaFileObject fileObject = filer.createSourceFile(qualifiedName);
+            try (Writer writer = fileObject.openWriter()) {
+                writer.write(generateSource(entityModel));
+            }
+        } catch (IOException exception) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "generate " + qualifiedName + " failed: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * 生成模型映射类源码
+     * @param entityModel 模型信息
+     * @return 源码
+     */
+    private String generateSource(EntityModel entityModel) {
+        String entity = entityModel.entityTypeName;
+        List<ColumnModel> columnModelList = entityModel.columnModelList;
+        ColumnModel idColumnModel = entityModel.idColumnModel;
+        String tableName = entityModel.tableName;
+        String idColumnName = idColumnModel.columnName;
+
+        StringBuilder insertColumns = new StringBuilder();
+        StringBuilder insertValues = new StringBuilder();
+        StringBuilder updateColumns = new StringBuilder();
+        StringBuilder upsertColumns = new StringBuilder();
+        StringBuilder columnNames = new StringBuilder();
+        for (ColumnModel columnModel: columnModelList) {
+            insertColumns.append(columnModel.columnName).append(",");
+            insertValues.append("?,");
+            if (columnModel != idColumnModel) {
+                updateColumns.append(columnModel.columnName).append("=?,");
+                upsertColumns.append(columnModel.columnName).append("=excluded.").append(columnModel.columnName).append(",");
+            }
+            columnNames.append(literal(columnModel.columnName)).append(", ");
+        }
+        insertColumns.setLength(insertColumns.length() - 1);
+        insertValues.setLength(insertValues.length() - 1);
+        columnNames.setLength(columnNames.length() - 2);
+        if (updateColumns.length() > 0) {
+            updateColumns.setLength(updateColumns.length() - 1);
+            upsertColumns.setLength(upsertColumns.length() - 1);
+        }
+
+        StringBuilder source = new StringBuilder();
+        if (!entityModel.packageName.isEmpty()) {
+            source.append("package ").append(entityModel.packageName).append(";\n\n");
+        }
+        source.append("/**\n * ").append(entity).append(" 模型映射（由").append(SQLite3MappingProcessor.class.getSimpleName()).append("编译期生成，请勿修改）\n */\n");
+        source.append("@javax.annotation.processing.Generated(\"").append(SQLite3MappingProcessor.class.getName()).append("\")\n");
+        source.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        source.append("public final class ").append(entityModel.mappingSimpleName)
+                .append(" implements ").append(MAPPING_INTERFACE).append("<").append(entity).append("> {\n\n");
+        source.append("    private static final String[] COLUMN_NAMES = {").append(columnNames).append("};\n\n");
+        for (int index = 0; index < columnModelList.size(); index++) {
+            ColumnModel columnModel = columnModelList.get(index);
+            if (directSetter(columnModel) == null) {
+                source.append("    private static final ").append(PARAMETER_BINDER).append(" BINDER_").append(index)
+                        .append(" = ").append(MAPPING_UTILS).append(".getParameterBinder(").append(columnModel.erasedTypeName).append(".class);\n\n");
+            }
+        }
+
+        method(source, "Class<" + entity + "> getEntityClass()", "        return " + entity + ".class;\n");
+        method(source, "String getTableName()", "        return " + literal(tableName) + ";\n");
+        method(source, "String getIdColumnName()", "        return " + literal(idColumnName) + ";\n");
+        method(source, "String sqlOfInsert()", "        return " + literal("INSERT INTO " + tableName + "(" + insertColumns + ") VALUES(" + insertValues + ")") + ";\n");
+        String upsertSql = "INSERT INTO " + tableName + "(" + insertColumns + ") VALUES(" + insertValues + ") ON CONFLICT(" + idColumnName + ") DO "
+                + (upsertColumns.length() == 0 ? "NOTHING" : "UPDATE SET " + upsertColumns);
+        method(source, "String sqlOfUpsert()", "        return " + literal(upsertSql) + ";\n");
+        method(source, "String sqlOfUpdate()", "        return " + literal("UPDATE " + tableName + " SET " + updateColumns + " WHERE " + idColumnName + "=?") + ";\n");
+        method(source, "String sqlOfDeleteById()", "        return " + literal("DELETE FROM " + tableName + "  WHERE " + idColumnName + "=? ") + ";\n");
+        method(source, "String sqlOfSelectAll()", "        return " + literal("SELECT * FROM " + tableName + " ") + ";\n");
+        method(source, "String sqlOfSelectById()", "        return " + literal("SELECT * FROM " + tableName + "  WHERE " + idColumnName + "=? ") + ";\n");
+        method(source, "Object getIdFieldValue(" + entity + " entity)", "        return " + readExpression(idColumnModel) + ";\n");
+
+        String bindParameters = entity + " entity, " + PREPARED_STATEMENT + " statement, " + COLUMN_METADATA_MAP + " columnMetadata";
+        StringBuilder bindBody = new StringBuilder();
+        for (int index = 0; index < columnModelList.size(); index++) {
+            bindBody.append(bindStatement(columnModelList.get(index), index, index + 1));
+        }
+        method(source, "void bindInsert(" + bindParameters + ")", bindBody.toString());
+        method(source, "void bindUpdate(" + bindParameters + ")", bindBody.toString());
+        method(source, "void bindDeleteById(" + bindParameters + ")", bindStatement(idColumnModel, columnModelList.size() - 1, 1));
+
+        StringBuilder mapperBody = new StringBuilder();
+        mapperBody.append("        int[] columnIndexes = ").append(MAPPING_UTILS).append(".resolveColumnIndexes(metadata, COLUMN_NAMES);\n");
+        mapperBody.append("        ").append(COLUMN_EXTRACTOR).append("[] extractors = ").append(MAPPING_UTILS).append(".resolveColumnExtractors(metadata, COLUMN_NAMES);\n");
+        mapperBody.append("        return (resultSet, rowNum) -> {\n");
+        mapperBody.append("            ").append(entity).append(" entity = new ").append(entity).append("();\n");
+        for (int index = 0; index < columnModelList.size(); index++) {
+            mapperBody.append(mapStatement(columnModelList.get(index), index));
+        }
+        mapperBody.append("            return entity;\n");
+        mapperBody.append("        };\n");
+        method(source, ROW_MAPPER + "<" + entity + "> newRowMapper(" + RESULT_SET_METADATA + " metadata)", mapperBody.toString());
+
+        source.setLength(source.length() - 1);
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private static void method(StringBuilder source, String signature, String body) {
+        source.append("    @Override\n    public ").append(signature).append(" {\n").append(body).append("    }\n\n");
+    }
+
+    /**
+     * 生成字段预处理赋值语句（基本类型、字符串及字节数组直接赋值，其余类型使用按字段类型预先解析的赋值方式）
+     */
+    private String bindStatement(ColumnModel columnModel, int columnIndex, int parameterIndex) {
+        String value = readExpression(columnModel);
+        String setter = directSetter(columnModel);
+        if (setter == null) {
+            return "        BINDER_" + columnIndex + ".bind(statement, " + parameterIndex + ", " + value
+                    + ", columnMetadata == null ? null : columnMetadata.get(" + literal(columnModel.columnName) + "));\n";
+        }
+        if (columnModel.fieldType.getKind() == TypeKind.CHAR) {
+            value = "String.valueOf(" + value + ")";
+        }
+        return "        statement." + setter + "(" + parameterIndex + ", " + value + ");\n";
+    }
+
+    /**
+     * 获取字段直接赋值方法名称
+     * @param columnModel 模型字段信息
+     * @return 赋值方法名称（需按字段类型赋值方式处理则返回null）
+     */
+    private static String directSetter(ColumnModel columnModel) {
+        switch (columnModel.fieldType.getKind()) {
+            case BOOLEAN: return "setBoolean";
+            case BYTE: return "setByte";
+            case SHORT: return "setShort";
+            case INT: return "setInt";
+            case LONG: return "setLong";
+            case FLOAT: return "setFloat";
+            case DOUBLE: return "setDouble";
+            case CHAR: return "setString";
+            default:
+                if ("java.lang.String".equals(columnModel.erasedTypeName)) {
+                    return "setString";
+                } else if ("byte[]".equals(columnModel.erasedTypeName)) {
+                    return "setBytes";
+                }
+                return null;
+        }
+    }
+
+    /**
+     * 生成查询结果列映射模型字段语句（查询结果不包含该列时跳过）
+     */
+    private String mapStatement(ColumnModel columnModel, int index) {
+        String columnIndex = "columnIndexes[" + index + "]";
+        String getter;
+        switch (columnModel.fieldType.getKind()) {
+            case BOOLEAN: getter = "getBoolean"; break;
+            case BYTE: getter = "getByte"; break;
+            case SHORT: getter = "getShort"; break;
+            case INT: getter = "getInt"; break;
+            case LONG: getter = "getLong"; break;
+            case FLOAT: getter = "getFloat"; break;
+            case DOUBLE: getter = "getDouble"; break;
+            case CHAR: getter = null; break;
+            default:
+                if ("java.lang.String".equals(columnModel.erasedTypeName)) {
+                    getter = "getString";
+                } else if ("byte[]".equals(columnModel.erasedTypeName)) {
+                    getter = "getBytes";
+                } else {
+                    getter = null;
+                }
+                break;
+        }
+        StringBuilder builder = new StringBuilder();
+        builder.append("            if (").append(columnIndex).append(" != 0) {\n");
+        if (getter != null) {
+            builder.append("                ").append(writeStatement(columnModel, "resultSet." + getter + "(" + columnIndex + ")"));
+        } else {
+            // 数值类列读取方式对NULL返回0，与反射映射一致按wasNull映射为null
+            String valueType = columnModel.fieldType.getKind() == TypeKind.CHAR ? "Character" : columnModel.erasedTypeName;
+            builder.append("                Object columnValue = extractors[").append(index).append("].extract(resultSet, ").append(columnIndex).append(");\n");
+            builder.append("                ").append(valueType).append(" value = resultSet.wasNull() ? null : ").append(MAPPING_UTILS)
+                    .append(".convertColumnValue(columnValue, ").append(valueType).append(".class);\n");
+            if (columnModel.fieldType.getKind() == TypeKind.CHAR) {
+                builder.append("                if (value != null) {\n");
+                builder.append("                    ").append(writeStatement(columnModel, "value"));
+                builder.append("                }\n");
+            } else {
+                builder.append("                ").append(writeStatement(columnModel, "value"));
+            }
+        }
+        builder.append("            }\n");
+        return builder.toString();
+    }
+
+    private static String readExpression(ColumnModel columnModel) {
+        return "entity." + columnModel.fieldName;
+    }
+
+    private static String writeStatement(ColumnModel columnModel, String value) {
+        return "entity." + columnModel.fieldName + " = " + value + ";\n";
+    }
+
+    /**
+     * 生成Java字符串字面量
+     */
+    private static String literal(String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c: value.toCharArray()) {
+            switch (c) {
+                case '"': builder.append("\\\""); break;
+                case '\\': builder.append("\\\\"); break;
+                case '\n': builder.append("\\n"); break;
+                case '\r': builder.append("\\r"); break;
+                case '\t': builder.append("\\t"); break;
+                default: builder.append(c); break;
+            }
+        }
+        return builder.append("\"").toString();
+    }
+
+    private void warn(TypeElement typeElement, String reason) {
+        messager.printMessage(Diagnostic.Kind.WARNING, String.format(
+                "class[%s] skip generating sqlite3 mapping: %s", typeElement.getQualifiedName(), reason), typeElement);
+    }
+
+    /**
+     * 模型信息
+     */
+    private static class EntityModel {
+        private String packageName;
+        private String mappingSimpleName;
+        private String entityTypeName;
+        private String tableName;
+        private ColumnModel idColumnModel;
+        private final List<ColumnModel> columnModelList = new ArrayList<>();
+    }
+
+    /**
+     * 模型字段信息
+     */
+    private static class ColumnModel {
+        private String columnName;
+        private String fieldName;
+        private TypeMirror fieldType;
+        private String erasedTypeName;
+    }
+
+}